@@ -0,0 +1,42 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.model.adapter.JsonTask;
+import com.todoapp.model.adapter.JsonToTodoAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Single-record JsonToTodoAdapter conversions with the default, quiet adapter
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBenchmark {
+    private final JsonToTodoAdapter adapter = new JsonToTodoAdapter();
+    private Todo todo;
+    private JsonTask task;
+
+    @Setup
+    public void setUp() {
+        todo = new Todo(42, "Prepare quarterly report", "Collect numbers from finance", "PENDING", "HIGH");
+        task = adapter.convertToJson(todo);
+    }
+
+    @Benchmark
+    public JsonTask toJson() {
+        return adapter.convertToJson(todo);
+    }
+
+    @Benchmark
+    public Todo fromJson() {
+        return adapter.convertToTodo(task);
+    }
+
+    @Benchmark
+    public Todo roundTrip() {
+        return adapter.convertToTodo(adapter.convertToJson(todo));
+    }
+}
@@ -0,0 +1,98 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.model.adapter.JsonErrorPolicy;
+import com.todoapp.model.adapter.JsonFormat;
+import com.todoapp.model.adapter.TodoBinaryReader;
+import com.todoapp.model.adapter.TodoBinaryWriter;
+import com.todoapp.model.adapter.TodoJsonReader;
+import com.todoapp.model.adapter.TodoJsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-store dumps in the binary format against NDJSON, in records per
+ * second (each invocation moves RECORDS todos). Setup prints the bytes per
+ * record of both encodings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+    static final int RECORDS = 10_000;
+
+    private List<Todo> todos;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        todos = new ArrayList<>(RECORDS);
+        for (int i = 1; i <= RECORDS; i++) {
+            todos.add(new Todo(i, "Task " + i, "Description for task " + i, i % 2 == 0 ? "COMPLETED" : "PENDING", "MEDIUM"));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TodoJsonWriter writer = TodoJsonWriter.open(out, JsonFormat.NDJSON)) {
+            writer.writeAll(todos);
+        }
+        json = out.toByteArray();
+        binary = TodoBinaryWriter.toBytes(todos);
+        System.out.printf("%nNDJSON %.1f bytes/record, binary %.1f bytes/record%n",
+                json.length / (double) RECORDS, binary.length / (double) RECORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void jsonWrite(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (TodoJsonWriter writer = TodoJsonWriter.open(out, JsonFormat.NDJSON)) {
+            writer.writeAll(todos);
+        }
+        bh.consume(out.size());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void binaryWrite(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length);
+        try (TodoBinaryWriter writer = TodoBinaryWriter.open(out)) {
+            writer.writeAll(todos);
+        }
+        bh.consume(out.size());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void jsonRead(Blackhole bh) throws IOException {
+        try (TodoJsonReader reader = TodoJsonReader.open(new ByteArrayInputStream(json), JsonErrorPolicy.FAIL_FAST)) {
+            while (reader.hasNext()) bh.consume(reader.next());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void binaryRead(Blackhole bh) throws IOException {
+        TodoBinaryReader reader = new TodoBinaryReader(ByteBuffer.wrap(binary));
+        for (Todo todo = reader.readTodo(); todo != null; todo = reader.readTodo()) bh.consume(todo);
+    }
+
+    // Through a channel and its refilling buffer, as when streaming from a FileChannel
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void binaryStreamRead(Blackhole bh) throws IOException {
+        try (TodoBinaryReader reader = TodoBinaryReader.open(new ByteArrayInputStream(binary))) {
+            for (Todo todo = reader.readTodo(); todo != null; todo = reader.readTodo()) bh.consume(todo);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.model.memento.TodoCareTaker;
+import com.todoapp.model.memento.TodoMemento;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// TodoCareTaker save and undo/redo cost at different history depths
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CareTakerBenchmark {
+
+    @Param({"10", "10000"})
+    int depth;
+
+    private TodoCareTaker careTaker;
+    private Todo todo;
+    private int edits;
+    private PrintStream originalOut;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        careTaker = new TodoCareTaker();
+        todo = new Todo(1, "Draft", "First version", "PENDING", "MEDIUM");
+        for (int i = 0; i < depth; i++) {
+            todo.setDescription("Revision " + i);
+            careTaker.saveState(todo.saveStateToMemento());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void saveState() {
+        todo.setDescription("Edit " + edits++);
+        careTaker.saveState(todo.saveStateToMemento());
+    }
+
+    @Benchmark
+    public TodoMemento undoRedo() {
+        careTaker.undo();
+        return careTaker.redo();
+    }
+}
@@ -0,0 +1,162 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.api.TodoHttpServer;
+import com.todoapp.service.TodoService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test for the HTTP API. Each client thread sends a mix
+ * of reads, pages, searches, adds and toggles over a shared keep-alive
+ * HttpClient, then latencies are merged into p50/p99/p99.9 and overall
+ * throughput. Without a URL it starts an embedded server on a fresh
+ * concurrent service:
+ *
+ *   java -cp target/classes:... com.todoapp.benchmark.HttpLoadGenerator [clients] [seconds] [url]
+ */
+public class HttpLoadGenerator {
+    private static final int SEED_TODOS = 10_000;
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        TodoHttpServer embedded = null;
+        String base;
+        if (args.length > 2) {
+            base = args[2];
+        } else {
+            TodoService service = TodoService.createConcurrent();
+            for (int i = 1; i <= SEED_TODOS; i++) {
+                service.addTodo((i % 10 == 0 ? "Report " : "Task ") + i, i % 3 == 0 ? "Needs review" : "");
+            }
+            embedded = TodoHttpServer.start(service, 0);
+            base = "http://localhost:" + embedded.getPort();
+        }
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            System.out.printf("Java %s, %d clients against %s%n", System.getProperty("java.version"), clients, base);
+            run(client, base, clients, WARMUP_SECONDS);
+            Result result = run(client, base, clients, seconds);
+            System.out.println(result);
+        } finally {
+            if (embedded != null) embedded.close();
+        }
+    }
+
+    private static final class Result {
+        final long[] latencies;
+        final long errors;
+        final double seconds;
+
+        Result(long[] latencies, long errors, double seconds) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.seconds = seconds;
+        }
+
+        long percentile(double p) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests (%d errors) in %.1f s: %,.0f req/s, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms",
+                    latencies.length, errors, seconds, latencies.length / seconds,
+                    percentile(50) / 1e6, percentile(99) / 1e6, percentile(99.9) / 1e6);
+        }
+    }
+
+    // One closed-loop client; keeps its own latency log, so recording needs no synchronization
+    private static final class Client implements Runnable {
+        final HttpClient http;
+        final String base;
+        final long deadline;
+        long[] latencies = new long[1 << 14];
+        int count;
+        long errors;
+
+        Client(HttpClient http, String base, long deadline) {
+            this.http = http;
+            this.base = base;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = nextRequest(base);
+                long start = System.nanoTime();
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() >= 500) errors++;
+                } catch (Exception e) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static Result run(HttpClient http, String base, int clients, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Client> loops = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            Client client = new Client(http, base, deadline);
+            loops.add(client);
+            threads.add(new Thread(client, "load-" + c));
+        }
+        long started = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+        double elapsed = (System.nanoTime() - started) / 1e9;
+
+        long[] latencies = new long[loops.stream().mapToInt(client -> client.count).sum()];
+        long errors = 0;
+        int at = 0;
+        for (Client client : loops) {
+            System.arraycopy(client.latencies, 0, latencies, at, client.count);
+            at += client.count;
+            errors += client.errors;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, elapsed);
+    }
+
+    // 70% single reads, 10% list pages, 10% searches, 5% adds, 5% toggles
+    private static HttpRequest nextRequest(String base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        int id = 1 + random.nextInt(SEED_TODOS);
+        if (roll < 70) return get(base + "/todos/" + id);
+        if (roll < 80) return get(base + "/todos?limit=20&cursor=" + id);
+        if (roll < 90) return get(base + "/search?q=status%3Apending+report&limit=20");
+        if (roll < 95) {
+            return HttpRequest.newBuilder(URI.create(base + "/todos"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load " + id + "\"}"))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/todos/" + id + "/toggle"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+}
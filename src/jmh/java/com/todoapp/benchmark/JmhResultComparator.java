@@ -0,0 +1,71 @@
+package com.todoapp.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (baseline first, candidate second)
+ * and prints the change per benchmark and parameter set. Exits with 1 when
+ * any benchmark got slower than the threshold (default 10%), so it can
+ * gate a build:
+ *
+ *   java -cp target/classes:... com.todoapp.benchmark.JmhResultComparator old.json new.json [threshold%]
+ */
+public class JmhResultComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <candidate.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JSONObject> baseline = load(Paths.get(args[0]));
+        Map<String, JSONObject> candidate = load(Paths.get(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JSONObject> entry : candidate.entrySet()) {
+            JSONObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println("NEW      " + entry.getKey());
+                continue;
+            }
+            double old = score(before);
+            double now = score(entry.getValue());
+            // Throughput modes: higher is better; time modes: lower is better
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().getString("mode"));
+            double change = (now - old) / old * 100.0;
+            double slowdown = higherIsBetter ? -change : change;
+            String verdict = slowdown > threshold ? "SLOWER" : slowdown < -threshold ? "FASTER" : "SAME";
+            if (slowdown > threshold) regressions++;
+            System.out.printf("%-8s %s: %.3f -> %.3f %s (%+.1f%%)%n", verdict, entry.getKey(), old, now,
+                    entry.getValue().getJSONObject("primaryMetric").getString("scoreUnit"), change);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, JSONObject> load(Path file) throws IOException {
+        JSONArray runs = new JSONArray(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Map<String, JSONObject> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < runs.length(); i++) {
+            JSONObject run = runs.getJSONObject(i);
+            String key = run.getString("benchmark");
+            JSONObject params = run.optJSONObject("params");
+            if (params != null) key += " " + new TreeMap<>(params.toMap());
+            byKey.put(key, run);
+        }
+        return byKey;
+    }
+
+    private static double score(JSONObject run) {
+        return run.getJSONObject("primaryMetric").getDouble("score");
+    }
+}
@@ -0,0 +1,97 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.model.adapter.JsonErrorPolicy;
+import com.todoapp.model.adapter.JsonFormat;
+import com.todoapp.model.adapter.JsonTask;
+import com.todoapp.model.adapter.JsonToTodoAdapter;
+import com.todoapp.model.adapter.TodoJsonReader;
+import com.todoapp.model.adapter.TodoJsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk JSON throughput in records per second. Each invocation moves
+ * RECORDS todos, so the reported ops/s is records/s. "perRecordAdapter"
+ * is the old path: one verbose JsonToTodoAdapter call (DOM plus console
+ * line) per todo, with stdout discarded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBulkBenchmark {
+    static final int RECORDS = 10_000;
+
+    @Param({"ARRAY", "NDJSON"})
+    JsonFormat format;
+
+    private List<Todo> todos;
+    private byte[] encoded;
+    private List<JsonTask> tasks;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws IOException {
+        todos = new ArrayList<>(RECORDS);
+        tasks = new ArrayList<>(RECORDS);
+        for (int i = 1; i <= RECORDS; i++) {
+            todos.add(new Todo(i, "Task " + i, "Description for task " + i, i % 2 == 0 ? "COMPLETED" : "PENDING", "MEDIUM"));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TodoJsonWriter writer = TodoJsonWriter.open(out, format)) {
+            writer.writeAll(todos);
+        }
+        encoded = out.toByteArray();
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        JsonToTodoAdapter adapter = new JsonToTodoAdapter();
+        for (Todo todo : todos) {
+            tasks.add(adapter.convertToJson(todo));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void streamingRead(Blackhole bh) throws IOException {
+        try (TodoJsonReader reader = TodoJsonReader.open(new ByteArrayInputStream(encoded), JsonErrorPolicy.FAIL_FAST)) {
+            while (reader.hasNext()) bh.consume(reader.next());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void streamingWrite(Blackhole bh) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        try (TodoJsonWriter writer = TodoJsonWriter.open(out, format)) {
+            writer.writeAll(todos);
+        }
+        bh.consume(out.size());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void perRecordAdapter(Blackhole bh) {
+        JsonToTodoAdapter adapter = new JsonToTodoAdapter(true);
+        for (JsonTask task : tasks) {
+            bh.consume(adapter.convertToTodo(task));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.model.adapter.JsonToTodoAdapter;
+import com.todoapp.model.adapter.TodoJsonCodec;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record JSON cost of the org.json DOM path against TodoJsonCodec,
+ * without the adapter's console output. Run with "-prof gc" to compare
+ * gc.alloc.rate.norm, the bytes allocated per record:
+ *
+ *   mvn -Pbenchmark compile exec:exec -Djmh.args="JsonCodecBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+    private final StringBuilder buffer = new StringBuilder(256);
+    private Todo todo;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        todo = new Todo(42, "Prepare quarterly report", "Collect numbers from \"finance\"", "PENDING", "HIGH");
+        json = TodoJsonCodec.encode(todo);
+    }
+
+    @Benchmark
+    public String encodeJsonObject() {
+        return JsonToTodoAdapter.toJson(todo).toString();
+    }
+
+    @Benchmark
+    public String encodeCodec() {
+        return TodoJsonCodec.encode(todo);
+    }
+
+    // Into a reused buffer, as TodoJsonWriter does
+    @Benchmark
+    public int encodeCodecReused() {
+        buffer.setLength(0);
+        return TodoJsonCodec.encode(todo, buffer).length();
+    }
+
+    @Benchmark
+    public Todo decodeJsonObject() {
+        return JsonToTodoAdapter.fromJson(new JSONObject(json));
+    }
+
+    @Benchmark
+    public Todo decodeCodec() {
+        return TodoJsonCodec.decode(json);
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.query.QueryEngine;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.DescriptionSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.todoapp.service.query.TodoPredicates.*;
+
+// Scaling of QueryEngine scans and bulk updates with the pool size; threads=1 is the sequential baseline
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelQueryBenchmark {
+    private static final String[] WORDS = {"report", "invoice", "groceries", "meeting", "dentist", "review", "deploy", "budget"};
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private TodoService service;
+    private Predicate<Todo> composed;
+    private boolean flip;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        pool = new ForkJoinPool(threads);
+        service = TodoService.createConcurrent();
+        service.setQueryEngine(new QueryEngine(pool, QueryEngine.DEFAULT_THRESHOLD));
+        for (int i = 0; i < size; i++) {
+            service.addTodo(WORDS[i % WORDS.length] + " " + i, "Follow up on " + WORDS[(i / 7) % WORDS.length] + " item " + i);
+            if (i % 3 == 0) service.completeTodo(i + 1);
+        }
+        composed = allOf(status(Status.PENDING), priority(Priority.MEDIUM), text("budget 99", SearchField.ANY));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Todo> composedQuery() {
+        return service.query(composed);
+    }
+
+    @Benchmark
+    public List<Todo> descriptionScan() {
+        return service.searchTodos("review item 4", new DescriptionSearch());
+    }
+
+    // Touches about 1% of the todos; alternates priorities so every call changes them
+    @Benchmark
+    public int bulkSetPriority() {
+        flip = !flip;
+        return service.setPriorityWhere(text("budget 9", SearchField.TITLE), flip ? Priority.HIGH : Priority.LOW);
+    }
+}
@@ -0,0 +1,67 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.service.TodoService;
+import com.todoapp.service.persistence.StorageOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to rebuild a persistent TodoService on startup.
+ * "journal" replays every mutation; "snapshot" loads a checkpoint and
+ * replays only the short journal tail written after it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RecoveryBenchmark {
+
+    @Param({"1000000"})
+    int todos;
+
+    @Param({"journal", "snapshot"})
+    String layout;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        dir = Files.createTempDirectory("todo-recovery");
+        StorageOptions bulk = new StorageOptions(4096, 1000, 0);
+        TodoService service = TodoService.createPersistent(dir, bulk);
+        for (int i = 0; i < todos; i++) {
+            service.addTodo("Task " + i, "Description for task " + i);
+            if (i % 4 == 0) service.completeTodo(i + 1);
+        }
+        if ("snapshot".equals(layout)) {
+            service.checkpoint();
+            for (int i = 0; i < todos / 100; i++) {
+                service.uncompleteTodo(i * 4 + 1);
+            }
+        }
+        service.closeStorage();
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, StorageOptions.defaults());
+        int count = service.getTotalCount();
+        service.closeStorage();
+        return count;
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.DescriptionSearch;
+import com.todoapp.service.strategy.IndexedSearch;
+import com.todoapp.service.strategy.SearchStrategy;
+import com.todoapp.service.strategy.TitleSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TodoService.searchTodos with each SearchStrategy over the same data set
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+    private static final String[] WORDS = {"report", "invoice", "groceries", "meeting", "dentist", "review", "deploy", "budget"};
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    @Param({"title", "description", "indexed"})
+    String strategy;
+
+    // Trigram, two-character (bigram list) and one-character (scan) queries
+    @Param({"budget 99", "rev", "99", "9"})
+    String query;
+
+    private TodoService service;
+    private SearchStrategy searchStrategy;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        service = TodoService.createConcurrent();
+        for (int i = 0; i < size; i++) {
+            String word = WORDS[i % WORDS.length];
+            service.addTodo(word + " " + i, "Follow up on " + WORDS[(i / 7) % WORDS.length] + " item " + i);
+        }
+        switch (strategy) {
+            case "title": searchStrategy = new TitleSearch(); break;
+            case "description": searchStrategy = new DescriptionSearch(); break;
+            default: searchStrategy = new IndexedSearch(SearchField.TITLE, Integer.MAX_VALUE);
+        }
+        // Build the inverted index outside the measurement
+        service.searchTodos("warm", searchStrategy);
+    }
+
+    @Benchmark
+    public List<Todo> searchTodos() {
+        return service.searchTodos(query, searchStrategy);
+    }
+
+    @Benchmark
+    public List<Todo> searchTop20() {
+        return service.searchTodos(query, searchStrategy, 20);
+    }
+}
@@ -0,0 +1,55 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.service.TodoService;
+
+import java.util.function.Supplier;
+
+/**
+ * Heap retained per todo by each TodoService storage mode. Fills a service,
+ * forces collection and divides the growth in used heap by the todo count:
+ *
+ *   java -Xmx2g -cp target/classes:... com.todoapp.benchmark.StoreFootprint [todos]
+ */
+public class StoreFootprint {
+    private static final String[] DESCRIPTIONS = {"", "Follow up with the team", "Weekly chore", "Needs review"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        report("default (IndexedTodoStore)", count, () -> newDefault());
+        report("concurrent (ConcurrentTodoStore)", count, TodoService::createConcurrent);
+        report("compact (ColumnarTodoStore)", count, TodoService::createCompact);
+    }
+
+    // getInstance() is a singleton, so the default mode is measured through a fresh clear()ed instance
+    private static TodoService newDefault() {
+        TodoService service = TodoService.getInstance();
+        service.clearAllTodos();
+        return service;
+    }
+
+    private static void report(String name, int count, Supplier<TodoService> factory) {
+        TodoService service = factory.get();
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            service.addTodo("Task " + i, DESCRIPTIONS[i & 3]);
+            if (i % 3 == 0) service.completeTodo(i + 1);
+        }
+        long after = usedHeap();
+        System.out.printf("%-34s %,d todos  %6.1f bytes/todo%n", name, service.getTotalCount(),
+                (after - before) / (double) count);
+        service.clearAllTodos();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,82 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core TodoService operations against a pre-filled store, for both the
+ * shared single-threaded service and the concurrent one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"default", "concurrent"})
+    String mode;
+
+    private TodoService service;
+    private SplittableRandom random;
+    private int lowestId;
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        if ("concurrent".equals(mode)) {
+            service = TodoService.createConcurrent();
+        } else {
+            service = TodoService.getInstance();
+            service.clearAllTodos();
+        }
+        for (int i = 0; i < size; i++) {
+            Todo todo = service.addTodo("Task " + i, "Description " + i);
+            if (i % 3 == 0) service.completeTodo(todo.getId());
+        }
+        lowestId = 1;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Todo addTodo() {
+        return service.addTodo("New task", "Added by benchmark");
+    }
+
+    @Benchmark
+    public Object findTodoById() {
+        return service.findTodoById(lowestId + random.nextInt(size));
+    }
+
+    // Deletes the oldest todo and adds a new one, so the store size stays constant
+    @Benchmark
+    public boolean deleteTodo() {
+        boolean deleted = service.deleteTodo(lowestId++);
+        service.addTodo("Replacement", "");
+        return deleted;
+    }
+
+    @Benchmark
+    public boolean toggleStatus() {
+        int id = lowestId + random.nextInt(size);
+        return service.completeTodo(id) && service.uncompleteTodo(id);
+    }
+
+    @Benchmark
+    public List<Todo> getPendingTodos() {
+        return service.getPendingTodos();
+    }
+
+    @Benchmark
+    public int getCompletedCount() {
+        return service.getCompletedCount();
+    }
+}
@@ -1,5 +1,7 @@
 package com.todoapp;
 
+import com.todoapp.service.TodoService;
+import com.todoapp.service.observer.AsyncEventDispatcher;
 import com.todoapp.ui.TodoUI;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -13,6 +15,9 @@ public class TodoApp {
             System.err.println("Could not set system look and feel: " + e.getMessage());
         }
 
+        // Deliver change events off the mutating thread, coalesced per frame and marshalled onto the EDT
+        TodoService.getInstance().setEventDispatcher(new AsyncEventDispatcher());
+
         // Create and show the UI
         SwingUtilities.invokeLater(() -> {
             new TodoUI().setVisible(true);
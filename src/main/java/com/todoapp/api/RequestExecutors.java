@@ -0,0 +1,48 @@
+package com.todoapp.api;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the executor that runs HTTP handlers. On JDK 21+ every request
+ * gets its own virtual thread, so a handler blocked on a lock or a slow
+ * client costs no platform thread. The build targets Java 11, so the
+ * factory is looked up reflectively; older JDKs fall back to a bounded
+ * pool of daemon threads.
+ *
+ * Set -Dtodo.http.virtualThreads=false to force the pool.
+ */
+public final class RequestExecutors {
+    public static final String VIRTUAL_THREADS_PROPERTY = "todo.http.virtualThreads";
+
+    private RequestExecutors() {}
+
+    public static ExecutorService create() {
+        if (Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            ExecutorService virtual = virtualThreadPerTask();
+            if (virtual != null) return virtual;
+        }
+        return platformPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    // Null when the running JDK has no (or only preview) virtual threads
+    static ExecutorService virtualThreadPerTask() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    static ExecutorService platformPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "todo-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,335 @@
+package com.todoapp.api;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.model.adapter.TodoJsonCodec;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.query.Page;
+import com.todoapp.service.strategy.QuerySearch;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Routes the JSON API onto a TodoService:
+ *
+ *   GET    /todos?status=&sort=priority&cursor=|offset=&limit=   list a page
+ *   POST   /todos                    add {title, description, priority, parentId}
+ *   GET    /todos/{id}               read one
+ *   PUT    /todos/{id}               change any of {title, description, status, priority, parentId}
+ *   DELETE /todos/{id}               delete
+ *   POST   /todos/{id}/toggle        flip pending/completed
+ *   GET    /search?q=&cursor=|offset=&limit=   query-language search (see QueryParser)
+ *   GET    /stats                    counts
+ *
+ * Todos are serialized by TodoJsonCodec in JsonToTodoAdapter's format.
+ * Every response has a fixed length and every request body is read to
+ * the end, which is what lets the server keep connections alive between
+ * requests.
+ */
+public class TodoApiHandler implements HttpHandler {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 1000;
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final Logger LOG = Logger.getLogger(TodoApiHandler.class.getName());
+
+    // Status-carrying failure; bad input from the service arrives as IllegalArgumentException instead
+    private static final class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    private final TodoService service;
+
+    public TodoApiHandler(TodoService service) {
+        this.service = service;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        int status;
+        String body;
+        try {
+            Object result = route(exchange, readBody(exchange.getRequestBody()));
+            status = result == null ? 204 : result instanceof Created ? 201 : 200;
+            body = result == null ? null : toBody(result);
+        } catch (HttpError e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException | JSONException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed", e);
+            status = 500;
+            body = error("Internal error");
+        }
+        send(exchange, status, body);
+    }
+
+    // A new todo, answered with 201 Created
+    private static final class Created {
+        final Todo todo;
+
+        Created(Todo todo) {
+            this.todo = todo;
+        }
+    }
+
+    private Object route(HttpExchange exchange, String requestBody) {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals("/todos") || path.equals("/todos/")) {
+            if (method.equals("GET")) return list(params);
+            if (method.equals("POST")) return new Created(add(readJson(requestBody)));
+            throw notAllowed(method, path);
+        }
+        if (path.startsWith("/todos/")) {
+            String rest = path.substring("/todos/".length());
+            boolean toggle = rest.endsWith("/toggle");
+            int id = parseId(toggle ? rest.substring(0, rest.length() - "/toggle".length()) : rest);
+            if (toggle) {
+                if (!method.equals("POST")) throw notAllowed(method, path);
+                if (service.toggleStatus(id) == null) throw notFound(id);
+                return find(id);
+            }
+            switch (method) {
+                case "GET": return find(id);
+                case "PUT":
+                case "PATCH": return update(id, readJson(requestBody));
+                case "DELETE":
+                    if (!service.deleteTodo(id)) throw notFound(id);
+                    return null;
+                default: throw notAllowed(method, path);
+            }
+        }
+        if (path.equals("/search")) {
+            if (!method.equals("GET")) throw notAllowed(method, path);
+            return search(params);
+        }
+        if (path.equals("/stats")) {
+            if (!method.equals("GET")) throw notAllowed(method, path);
+            return new JSONObject()
+                    .put("total", service.getTotalCount())
+                    .put("pending", service.getPendingCount())
+                    .put("completed", service.getCompletedCount());
+        }
+        throw new HttpError(404, "No such resource: " + path);
+    }
+
+    // --- Endpoints ---
+
+    private Object list(Map<String, String> params) {
+        int limit = limit(params);
+        String status = params.getOrDefault("status", "all");
+        boolean byPriority = "priority".equals(params.get("sort"));
+        if (byPriority && !status.equals("all")) {
+            throw new IllegalArgumentException("sort=priority lists every status");
+        }
+        String cursor = params.get("cursor");
+        if (cursor != null || !params.containsKey("offset")) {
+            switch (status) {
+                case "all": return byPriority ? service.getTodosByPriorityPage(cursor, limit) : service.getAllTodosPage(cursor, limit);
+                case "pending": return service.getPendingTodosPage(cursor, limit);
+                case "completed": return service.getCompletedTodosPage(cursor, limit);
+                default: throw new IllegalArgumentException("Unknown status filter: " + status);
+            }
+        }
+        int offset = intParam(params, "offset");
+        switch (status) {
+            case "all": return byPriority ? service.getTodosByPriority(offset, limit) : service.getAllTodos(offset, limit);
+            case "pending": return service.getPendingTodos(offset, limit);
+            case "completed": return service.getCompletedTodos(offset, limit);
+            default: throw new IllegalArgumentException("Unknown status filter: " + status);
+        }
+    }
+
+    private Object search(Map<String, String> params) {
+        String query = params.get("q");
+        if (query == null) throw new IllegalArgumentException("Missing query parameter q");
+        int limit = limit(params);
+        if (params.containsKey("offset") && !params.containsKey("cursor")) {
+            return service.searchTodos(query, new QuerySearch(), intParam(params, "offset"), limit);
+        }
+        return service.searchTodosPage(query, new QuerySearch(), params.get("cursor"), limit);
+    }
+
+    // Every field is parsed before anything changes, and the changes land in one batch
+    private Todo add(JSONObject json) {
+        String title = json.optString("title", "").trim();
+        if (title.isEmpty()) throw new IllegalArgumentException("Title is required");
+        String description = json.optString("description", "");
+        Priority priority = json.has("priority") ? priority(json.getString("priority")) : null;
+        int parentId = json.has("parentId") ? json.getInt("parentId") : 0;
+        Todo[] added = new Todo[1];
+        service.runBatch(() -> {
+            added[0] = service.addTodo(title, description, parentId);
+            if (priority != null) service.setPriority(added[0].getId(), priority);
+        });
+        return added[0];
+    }
+
+    // Fields absent from the body are left as they are. The move goes first: it is the only
+    // change that can still be refused (unknown parent, cycle), and then nothing has changed.
+    private Todo update(int id, JSONObject json) {
+        String title = json.has("title") ? json.getString("title") : null;
+        if (title != null && title.trim().isEmpty()) throw new IllegalArgumentException("Title is required");
+        String description = json.has("description") ? json.getString("description") : null;
+        Priority priority = json.has("priority") ? priority(json.getString("priority")) : null;
+        Status status = json.has("status") ? status(json.getString("status")) : null;
+        Integer parentId = json.has("parentId") ? json.getInt("parentId") : null;
+        Todo[] updated = new Todo[1];
+        service.runBatch(() -> {
+            Todo current = find(id);
+            if (parentId != null) service.moveTodo(id, parentId);
+            if (title != null || description != null) {
+                service.updateTodo(id, title != null ? title : current.getTitle(),
+                        description != null ? description : current.getDescription());
+            }
+            if (priority != null) service.setPriority(id, priority);
+            if (status != null) service.setStatus(id, status);
+            updated[0] = current;
+        });
+        return updated[0];
+    }
+
+    private Todo find(int id) {
+        return service.findTodoById(id).orElseThrow(() -> notFound(id));
+    }
+
+    // --- Request parsing ---
+
+    // Reads the whole body up front: one left unread would force the connection closed
+    private static String readBody(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static JSONObject readJson(String body) {
+        if (body.trim().isEmpty()) throw new IllegalArgumentException("Expected a JSON object body");
+        return new JSONObject(body);
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int limit(Map<String, String> params) {
+        if (!params.containsKey("limit")) return DEFAULT_LIMIT;
+        int limit = intParam(params, "limit");
+        if (limit <= 0 || limit > MAX_LIMIT) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        return limit;
+    }
+
+    private static int intParam(Map<String, String> params, String name) {
+        try {
+            return Integer.parseInt(params.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer");
+        }
+    }
+
+    private static int parseId(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new HttpError(404, "No such resource: /todos/" + text);
+        }
+    }
+
+    private static Priority priority(String name) {
+        Priority priority = Priority.lookup(name);
+        if (priority == null) throw new IllegalArgumentException("Unknown priority: " + name);
+        return priority;
+    }
+
+    private static Status status(String name) {
+        Status status = Status.lookup(name);
+        if (status == null) throw new IllegalArgumentException("Unknown status: " + name);
+        return status;
+    }
+
+    private static HttpError notFound(int id) {
+        return new HttpError(404, "Todo not found: " + id);
+    }
+
+    private static HttpError notAllowed(String method, String path) {
+        return new HttpError(405, method + " not allowed on " + path);
+    }
+
+    // --- Responses ---
+
+    @SuppressWarnings("unchecked")
+    private static String toBody(Object result) {
+        if (result instanceof Created) return TodoJsonCodec.encode(((Created) result).todo);
+        if (result instanceof Todo) return TodoJsonCodec.encode((Todo) result);
+        StringBuilder out = new StringBuilder(4096);
+        if (result instanceof Page) {
+            Page<Todo> page = (Page<Todo>) result;
+            appendItems(page.getItems(), out.append('{'));
+            out.append(",\"nextCursor\":").append(page.hasMore() ? JSONObject.quote(page.getNextCursor()) : "null");
+            return out.append(",\"hasMore\":").append(page.hasMore()).append('}').toString();
+        }
+        if (result instanceof List) return appendItems((List<Todo>) result, out.append('{')).append('}').toString();
+        return result.toString();
+    }
+
+    private static StringBuilder appendItems(List<Todo> todos, StringBuilder out) {
+        out.append("\"items\":[");
+        for (int i = 0; i < todos.size(); i++) {
+            if (i > 0) out.append(',');
+            TodoJsonCodec.encode(todos.get(i), out);
+        }
+        return out.append(']');
+    }
+
+    private static String error(String message) {
+        return new JSONObject().put("error", message == null ? "Bad request" : message).toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        headers.set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.todoapp.api;
+
+import com.sun.net.httpserver.HttpServer;
+import com.todoapp.service.TodoService;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP/JSON front end for a TodoService, built on the JDK's own
+ * com.sun.net.httpserver so it needs no extra dependencies. Handlers run
+ * on the executor from RequestExecutors (virtual threads where the JDK
+ * has them), so they reach the service concurrently: use a store from
+ * createConcurrent() (what main does) unless the load is light. Connections
+ * are HTTP/1.1 keep-alive.
+ *
+ *   java -cp target/classes:... com.todoapp.api.TodoHttpServer [port]
+ */
+public class TodoHttpServer implements AutoCloseable {
+    // Pending connections queued by the OS while every handler is busy
+    private static final int BACKLOG = 1024;
+
+    // The JDK server writes headers and body separately; with Nagle on, a keep-alive client's
+    // delayed ACK stalls every response by ~40 ms. Read once, when the first server is created.
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public TodoHttpServer(TodoService service, InetSocketAddress address, ExecutorService executor) throws IOException {
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = executor;
+        server.createContext("/", new TodoApiHandler(service));
+        server.setExecutor(executor);
+    }
+
+    // Binds to loopback only; port 0 picks a free port, see getPort()
+    public static TodoHttpServer start(TodoService service, int port) throws IOException {
+        TodoHttpServer server = new TodoHttpServer(service,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), RequestExecutors.create());
+        server.server.start();
+        return server;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Lets in-flight exchanges finish for up to a second, then stops the handler threads
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        // Handlers run in parallel; the striped store lets them write without queuing on one lock
+        TodoHttpServer server = start(TodoService.createConcurrent(), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Todo API listening on http://localhost:" + server.getPort() + "/todos");
+    }
+}
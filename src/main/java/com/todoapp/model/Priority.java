@@ -0,0 +1,42 @@
+package com.todoapp.model;
+
+import java.util.Locale;
+
+// Urgency of a Todo, declared from least to most urgent so ordinals compare naturally
+public enum Priority {
+    LOW,
+    MEDIUM,
+    HIGH;
+
+    private static final Priority[] VALUES = values();
+
+    public static Priority fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Lenient parse: ignores case and surrounding blanks and falls back to
+     * MEDIUM for null or unknown input.
+     */
+    public static Priority parse(String value) {
+        Priority priority = lookup(value);
+        return priority != null ? priority : MEDIUM;
+    }
+
+    // Like parse, but returns null for null or unknown input
+    public static Priority lookup(String value) {
+        if (value == null) return null;
+        switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "LOW":
+                return LOW;
+            case "MEDIUM":
+            case "NORMAL":
+                return MEDIUM;
+            case "HIGH":
+            case "URGENT":
+                return HIGH;
+            default:
+                return null;
+        }
+    }
+}
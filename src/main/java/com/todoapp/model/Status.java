@@ -0,0 +1,53 @@
+package com.todoapp.model;
+
+import java.util.Locale;
+
+// Lifecycle state of a Todo. The names are what JSON, the journal and snapshots store.
+public enum Status {
+    PENDING,
+    COMPLETED,
+    ERROR;
+
+    private static final Status[] VALUES = values();
+
+    public boolean isCompleted() {
+        return this == COMPLETED;
+    }
+
+    // Single-bit mask for packing status filters into an int
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static Status fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Lenient parse: ignores case and surrounding blanks, accepts a few
+     * common aliases, and falls back to PENDING for null or unknown input.
+     */
+    public static Status parse(String value) {
+        Status status = lookup(value);
+        return status != null ? status : PENDING;
+    }
+
+    // Like parse, but returns null for null or unknown input
+    public static Status lookup(String value) {
+        if (value == null) return null;
+        switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "PENDING":
+            case "OPEN":
+            case "TODO":
+                return PENDING;
+            case "COMPLETED":
+            case "COMPLETE":
+            case "DONE":
+                return COMPLETED;
+            case "ERROR":
+                return ERROR;
+            default:
+                return null;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.todoapp.model;
 
 import com.todoapp.model.composite.TaskComponent;
 import com.todoapp.model.memento.TodoMemento;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 // Member 2 - Data Model Enhancement with Design Patterns
@@ -10,23 +12,20 @@ public class Todo implements TaskComponent {
     private int id;
     private String title;
     private String description;
-    private String status;
-    private String priority;
+    private volatile Status status;
+    private Priority priority;
+    private volatile int parentId; // 0 for a top-level todo; maintained by TodoService
 
-    // Composite Pattern: List of children (sub-todos)
-    private List<TaskComponent> subTasks = new ArrayList<>();
+    // Composite Pattern: List of children (sub-todos), allocated on first use
+    private List<TaskComponent> subTasks;
 
     // Member 2 implementation - Constructor
-    public Todo(int id, String title, String description, String status) {
-        this.id = id;
-        this.title = title;
-        this.description = description;
-        this.status = status;
-        this.priority = "MEDIUM";
+    public Todo(int id, String title, String description, Status status) {
+        this(id, title, description, status, Priority.MEDIUM);
     }
 
     // Additional constructor with priority
-    public Todo(int id, String title, String description, String status, String priority) {
+    public Todo(int id, String title, String description, Status status, Priority priority) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -34,30 +33,58 @@ public class Todo implements TaskComponent {
         this.priority = priority;
     }
 
+    // String forms parse leniently, see Status.parse and Priority.parse
+    public Todo(int id, String title, String description, String status) {
+        this(id, title, description, Status.parse(status));
+    }
+
+    public Todo(int id, String title, String description, String status, String priority) {
+        this(id, title, description, Status.parse(status), Priority.parse(priority));
+    }
+
     // --- Composite Pattern Methods ---
     public void addSubTask(TaskComponent subTask) {
-        subTasks.add(subTask);
+        getSubTasks().add(subTask);
     }
 
     public void removeSubTask(TaskComponent subTask) {
-        subTasks.remove(subTask);
+        if (subTasks != null) subTasks.remove(subTask);
     }
 
     public List<TaskComponent> getSubTasks() {
+        if (subTasks == null) subTasks = new ArrayList<>();
         return subTasks;
     }
 
+    public boolean hasSubTasks() {
+        return subTasks != null && !subTasks.isEmpty();
+    }
+
+    // Walks the subtask tree with an explicit stack, so deep trees cannot overflow the call stack
     @Override
     public void displayDetails() {
-        System.out.println("Todo [" + id + "]: " + title + " [" + status + "] - Priority: " + priority);
-        if (!description.isEmpty()) {
-            System.out.println("  Description: " + description);
-        }
-        if (!subTasks.isEmpty()) {
-            System.out.println("  Subtasks (" + subTasks.size() + "):");
-            for (TaskComponent component : subTasks) {
-                System.out.print("    ");
+        Deque<Object[]> stack = new ArrayDeque<>();
+        stack.push(new Object[] {this, ""});
+        while (!stack.isEmpty()) {
+            Object[] entry = stack.pop();
+            TaskComponent component = (TaskComponent) entry[0];
+            String indent = (String) entry[1];
+            if (!(component instanceof Todo)) {
+                System.out.print(indent);
                 component.displayDetails();
+                continue;
+            }
+            Todo todo = (Todo) component;
+            System.out.println(indent + "Todo [" + todo.getId() + "]: " + todo.getTitle() + " [" + todo.getStatus() + "] - Priority: " + todo.getPriority());
+            if (todo.getDescription() != null && !todo.getDescription().isEmpty()) {
+                System.out.println(indent + "  Description: " + todo.getDescription());
+            }
+            if (todo.hasSubTasks()) {
+                List<TaskComponent> children = todo.getSubTasks();
+                System.out.println(indent + "  Subtasks (" + children.size() + "):");
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(new Object[] {children.get(i), indent + "    "});
+                }
             }
         }
     }
@@ -65,10 +92,10 @@ public class Todo implements TaskComponent {
     @Override
     public String getDetails() {
         StringBuilder details = new StringBuilder();
-        details.append("Todo [").append(id).append("]: ").append(title)
-                .append(" [").append(status).append("] - Priority: ").append(priority);
-        if (!subTasks.isEmpty()) {
-            details.append(" (Has ").append(subTasks.size()).append(" subtasks)");
+        details.append("Todo [").append(getId()).append("]: ").append(getTitle())
+                .append(" [").append(getStatus()).append("] - Priority: ").append(getPriority());
+        if (hasSubTasks()) {
+            details.append(" (Has ").append(getSubTasks().size()).append(" subtasks)");
         }
         return details.toString();
     }
@@ -76,15 +103,15 @@ public class Todo implements TaskComponent {
 
     // --- Memento Pattern Methods ---
     public TodoMemento saveStateToMemento() {
-        return new TodoMemento(this.id, this.title, this.description, this.status, this.priority);
+        return new TodoMemento(getId(), getTitle(), getDescription(), getStatus(), getPriority());
     }
 
     public void restoreStateFromMemento(TodoMemento memento) {
-        this.id = memento.getId();
-        this.title = memento.getTitle();
-        this.description = memento.getDescription();
-        this.status = memento.getStatus();
-        this.priority = memento.getPriority();
+        setId(memento.getId());
+        setTitle(memento.getTitle());
+        setDescription(memento.getDescription());
+        setStatus(memento.getStatus());
+        setPriority(memento.getPriority());
     }
     // -------------------------------
 
@@ -98,9 +125,15 @@ public class Todo implements TaskComponent {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public void setStatus(String status) { setStatus(Status.parse(status)); }
+    public boolean isCompleted() { return getStatus() == Status.COMPLETED; }
+
+    public int getParentId() { return parentId; }
+    public void setParentId(int parentId) { this.parentId = parentId; }
 
-    public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    public Priority getPriority() { return priority; }
+    public void setPriority(Priority priority) { this.priority = priority; }
+    public void setPriority(String priority) { setPriority(Priority.parse(priority)); }
 }
\ No newline at end of file
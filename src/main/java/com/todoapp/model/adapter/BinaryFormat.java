@@ -0,0 +1,183 @@
+package com.todoapp.model.adapter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Layout shared by TodoBinaryWriter and TodoBinaryReader:
+ *
+ *   file   := "TDB" version:u8 length:varint header-field* record* END
+ *   record := kind:varint length:varint field*
+ *   field  := key:varint (varint | length:varint bytes)    key = number << 1 | type
+ *
+ * The header holds the status and priority dictionaries (enum names in
+ * writer order); status and priority fields are indexes into them, so
+ * adding or reordering enum constants never changes what an old file
+ * means. Ids are zigzag varints, strings are length-prefixed UTF-8, and an
+ * absent string means null and an absent id 0; an absent status or
+ * priority reads as PENDING / MEDIUM, as in JSON. Readers skip record
+ * kinds and field numbers they do not know, so newer writers can add both;
+ * the version byte only changes for layouts an older reader could not skip
+ * over.
+ */
+final class BinaryFormat {
+    static final byte[] MAGIC = {'T', 'D', 'B'};
+    static final int VERSION = 1;
+
+    // Record kinds
+    static final int END = 0;
+    static final int TODO = 1;
+    static final int MEMENTO = 2;
+
+    // Field types
+    static final int VARINT = 0;
+    static final int BYTES = 1;
+
+    // Header fields, one entry per dictionary value
+    static final int HEADER_STATUS = 1;
+    static final int HEADER_PRIORITY = 2;
+
+    // Todo and memento fields
+    static final int FIELD_ID = 1;
+    static final int FIELD_TITLE = 2;
+    static final int FIELD_DESCRIPTION = 3;
+    static final int FIELD_STATUS = 4;
+    static final int FIELD_PRIORITY = 5;
+    static final int FIELD_PARENT = 6; // todos only; omitted at the top level
+
+    private BinaryFormat() {}
+
+    // Growable byte array that records and whole write buffers are assembled in
+    static final class Sink {
+        byte[] data;
+        int size;
+
+        Sink(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void putByte(int b) {
+            ensure(1);
+            data[size++] = (byte) b;
+        }
+
+        void putBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void put(Sink other) {
+            ensure(other.size);
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        // Unsigned LEB128: seven bits per byte, low bits first
+        void putVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void putVarintField(int number, int value) {
+            putVarint(number << 1 | VARINT);
+            putVarint(value);
+        }
+
+        // Small negative ids stay one byte instead of five
+        void putZigZagField(int number, int value) {
+            putVarintField(number, (value << 1) ^ (value >> 31));
+        }
+
+        void putStringField(int number, String value) {
+            if (value == null) return;
+            putVarint(number << 1 | BYTES);
+            int length = utf8Length(value);
+            putVarint(length);
+            ensure(length);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    data[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[size++] = (byte) (0xC0 | c >> 6);
+                    data[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int code = Character.toCodePoint(c, value.charAt(++i));
+                    data[size++] = (byte) (0xF0 | code >> 18);
+                    data[size++] = (byte) (0x80 | ((code >> 12) & 0x3F));
+                    data[size++] = (byte) (0x80 | ((code >> 6) & 0x3F));
+                    data[size++] = (byte) (0x80 | (code & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    data[size++] = '?'; // unpaired, as String.getBytes(UTF_8) does
+                } else {
+                    data[size++] = (byte) (0xE0 | c >> 12);
+                    data[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    data[size++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) data = Arrays.copyOf(data, Math.max(size + extra, data.length * 2));
+        }
+    }
+
+    static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                length++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 2; // four bytes for two chars
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            }
+        }
+        return length;
+    }
+
+    static int getVarint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!in.hasRemaining()) throw new IOException("Truncated varint");
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static int zigZag(int encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    // Length of a BYTES field, checked against what is left of its record
+    static int getLength(ByteBuffer in) throws IOException {
+        int length = getVarint(in);
+        if (length < 0 || length > in.remaining()) throw new IOException("Field length " + length + " overruns its record");
+        return length;
+    }
+
+    // Passes over a field this reader does not know
+    static void skipField(ByteBuffer in, int key) throws IOException {
+        if ((key & 1) == VARINT) {
+            getVarint(in);
+        } else {
+            int length = getLength(in);
+            in.position(in.position() + length);
+        }
+    }
+}
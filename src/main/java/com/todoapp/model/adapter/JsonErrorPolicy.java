@@ -0,0 +1,11 @@
+package com.todoapp.model.adapter;
+
+// What a bulk JSON import does with a record it cannot turn into a Todo
+public enum JsonErrorPolicy {
+    // Stop the import with a JsonImportException
+    FAIL_FAST,
+    // Drop the record and keep going; the reader counts what was skipped
+    SKIP,
+    // Emit the adapter's "Error Task" placeholder, as single conversions always have
+    FALLBACK
+}
@@ -0,0 +1,7 @@
+package com.todoapp.model.adapter;
+
+// Layout of a bulk JSON dump: one top-level array, or one object per line
+public enum JsonFormat {
+    ARRAY,
+    NDJSON
+}
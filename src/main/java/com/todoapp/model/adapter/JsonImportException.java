@@ -0,0 +1,15 @@
+package com.todoapp.model.adapter;
+
+// Thrown by bulk imports for unreadable input, carrying the zero-based record number
+public class JsonImportException extends RuntimeException {
+    private final long record;
+
+    public JsonImportException(long record, String message, Throwable cause) {
+        super("Record " + record + ": " + message, cause);
+        this.record = record;
+    }
+
+    public long getRecord() {
+        return record;
+    }
+}
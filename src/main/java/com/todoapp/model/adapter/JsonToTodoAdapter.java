@@ -1,51 +1,78 @@
 package com.todoapp.model.adapter;
 
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
 import com.todoapp.model.Todo;
 import org.json.JSONObject;
 
 // Adapter Implementation - matches AdapterClient.java
 public class JsonToTodoAdapter implements ITodoAdapter {
+    private final boolean verbose;
+
+    // Quiet: conversions sit on hot paths, so the console lines are opt-in
+    public JsonToTodoAdapter() {
+        this(false);
+    }
+
+    // verbose prints a line for every successful conversion, as the adapter demo does
+    public JsonToTodoAdapter(boolean verbose) {
+        this.verbose = verbose;
+    }
 
     @Override
     public Todo convertToTodo(JsonTask jsonTask) {
         try {
-            JSONObject jsonObject = new JSONObject(jsonTask.getJsonData());
-
-            int id = jsonObject.optInt("id", 0);
-            String title = jsonObject.getString("title");
-            String description = jsonObject.optString("description", "No description");
-            String status = jsonObject.optString("status", "PENDING");
-            String priority = jsonObject.optString("priority", "MEDIUM");
-
-            Todo todo = new Todo(id, title, description, status, priority);
-
-            System.out.println("✓ Successfully converted JSON to Todo: " + title);
+            Todo todo = TodoJsonCodec.decode(jsonTask.getJsonData());
+            if (verbose) System.out.println("✓ Successfully converted JSON to Todo: " + todo.getTitle());
             return todo;
 
         } catch (Exception e) {
             System.err.println("✗ Error parsing JSON: " + e.getMessage());
             // Return a default todo if parsing fails
-            return new Todo(0, "Error Task", "Failed to parse JSON data", "ERROR", "HIGH");
+            return errorTodo();
         }
     }
 
     @Override
     public JsonTask convertToJson(Todo todo) {
         try {
-            JSONObject jsonObject = new JSONObject();
-            jsonObject.put("id", todo.getId());
-            jsonObject.put("title", todo.getTitle());
-            jsonObject.put("description", todo.getDescription());
-            jsonObject.put("status", todo.getStatus());
-            jsonObject.put("priority", todo.getPriority());
-            jsonObject.put("type", "todo");
-
-            JsonTask jsonTask = new JsonTask(jsonObject.toString());
-            System.out.println("✓ Converted Todo to JSON: " + todo.getTitle());
+            JsonTask jsonTask = new JsonTask(TodoJsonCodec.encode(todo));
+            if (verbose) System.out.println("✓ Converted Todo to JSON: " + todo.getTitle());
             return jsonTask;
         } catch (Exception e) {
             System.err.println("✗ Error converting to JSON: " + e.getMessage());
             return new JsonTask("{\"error\": \"Failed to convert todo to JSON\"}");
         }
     }
-}
\ No newline at end of file
+
+    // --- Shared, silent mapping used by single conversions, the bulk streams and the HTTP API ---
+
+    public static Todo fromJson(JSONObject jsonObject) {
+        int id = jsonObject.optInt("id", 0);
+        String title = jsonObject.getString("title");
+        String description = jsonObject.optString("description", "No description");
+        // Unknown or missing values fall back to PENDING / MEDIUM
+        Status status = Status.parse(jsonObject.optString("status", null));
+        Priority priority = Priority.parse(jsonObject.optString("priority", null));
+        return new Todo(id, title, description, status, priority);
+    }
+
+    public static JSONObject toJson(Todo todo) {
+        JSONObject jsonObject = new JSONObject();
+        jsonObject.put("id", todo.getId());
+        jsonObject.put("title", todo.getTitle());
+        jsonObject.put("description", todo.getDescription());
+        jsonObject.put("status", name(todo.getStatus()));
+        jsonObject.put("priority", name(todo.getPriority()));
+        jsonObject.put("type", "todo");
+        return jsonObject;
+    }
+
+    static Todo errorTodo() {
+        return new Todo(0, "Error Task", "Failed to parse JSON data", Status.ERROR, Priority.HIGH);
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
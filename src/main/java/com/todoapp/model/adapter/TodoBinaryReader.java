@@ -0,0 +1,227 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.model.memento.TodoMemento;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the binary format written by TodoBinaryWriter, either straight out
+ * of a ByteBuffer (a mapped file, a network frame) or streamed from a
+ * channel through a reused buffer. Record kinds and fields from newer
+ * writers are skipped; a missing status or priority reads as PENDING or
+ * MEDIUM, the defaults JsonToTodoAdapter.fromJson uses. Corrupt or truncated input, including a dump with
+ * no end marker, fails with an IOException.
+ */
+public class TodoBinaryReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel; // null when reading a ByteBuffer
+    private ByteBuffer buffer;
+    private final Status[] statuses;
+    private final Priority[] priorities;
+    private byte[] scratch; // string bytes of buffers without an accessible array
+    private boolean finished;
+    private long records;
+    private long skipped;
+
+    // Reads from the buffer's position to its limit; the buffer itself is not moved
+    public TodoBinaryReader(ByteBuffer source) throws IOException {
+        this(null, source.slice());
+    }
+
+    public TodoBinaryReader(ReadableByteChannel channel) throws IOException {
+        this(channel, ByteBuffer.allocate(BUFFER_SIZE).flip());
+    }
+
+    private TodoBinaryReader(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (!require(BinaryFormat.MAGIC.length + 1)) throw new IOException("Not a todo dump: too short");
+        for (byte b : BinaryFormat.MAGIC) {
+            if (buffer.get() != b) throw new IOException("Not a todo dump");
+        }
+        int version = buffer.get() & 0xFF;
+        if (version > BinaryFormat.VERSION) throw new IOException("Unsupported todo dump version " + version);
+
+        List<Status> statusNames = new ArrayList<>();
+        List<Priority> priorityNames = new ArrayList<>();
+        ByteBuffer header = nextBlock();
+        while (header.hasRemaining()) {
+            int key = BinaryFormat.getVarint(header);
+            int number = key >>> 1;
+            if ((key & 1) == BinaryFormat.BYTES && (number == BinaryFormat.HEADER_STATUS || number == BinaryFormat.HEADER_PRIORITY)) {
+                String name = string(header, BinaryFormat.getLength(header));
+                // Names this build does not know read as the lenient default, as in JSON
+                if (number == BinaryFormat.HEADER_STATUS) statusNames.add(Status.parse(name));
+                else priorityNames.add(Priority.parse(name));
+            } else {
+                BinaryFormat.skipField(header, key);
+            }
+        }
+        this.statuses = statusNames.toArray(new Status[0]);
+        this.priorities = priorityNames.toArray(new Priority[0]);
+    }
+
+    public static TodoBinaryReader open(Path file) throws IOException {
+        return new TodoBinaryReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    public static TodoBinaryReader open(InputStream in) throws IOException {
+        return new TodoBinaryReader(Channels.newChannel(in));
+    }
+
+    // The next todo, or null at the end of the dump
+    public Todo readTodo() throws IOException {
+        ByteBuffer body = nextRecord(BinaryFormat.TODO);
+        if (body == null) return null;
+        Fields fields = decode(body);
+        Todo todo = new Todo(fields.id, fields.title, fields.description, fields.status, fields.priority);
+        todo.setParentId(fields.parentId);
+        return todo;
+    }
+
+    // The next memento, or null at the end of the dump
+    public TodoMemento readMemento() throws IOException {
+        ByteBuffer body = nextRecord(BinaryFormat.MEMENTO);
+        if (body == null) return null;
+        Fields fields = decode(body);
+        return new TodoMemento(fields.id, fields.title, fields.description, fields.status, fields.priority);
+    }
+
+    public List<Todo> readAllTodos() throws IOException {
+        List<Todo> todos = new ArrayList<>();
+        for (Todo todo = readTodo(); todo != null; todo = readTodo()) {
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    // Records read so far, and how many of them were of kinds this reader does not know
+    public long getRecordCount() { return records; }
+    public long getSkippedCount() { return skipped; }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        if (channel != null) channel.close();
+    }
+
+    // The body of the next record of the wanted kind; null after the end marker
+    private ByteBuffer nextRecord(int wanted) throws IOException {
+        while (!finished) {
+            if (!require(1)) throw new IOException("Truncated todo dump: no end marker");
+            require(5);
+            int kind = BinaryFormat.getVarint(buffer);
+            if (kind == BinaryFormat.END) {
+                finished = true;
+                return null;
+            }
+            ByteBuffer body = nextBlock();
+            records++;
+            if (kind == wanted) return body;
+            if (kind == BinaryFormat.TODO || kind == BinaryFormat.MEMENTO) {
+                throw new IOException("Expected " + kindName(wanted) + " but found " + kindName(kind) + " at record " + (records - 1));
+            }
+            skipped++;
+        }
+        return null;
+    }
+
+    // A length-prefixed block as a view of the buffer; valid until the next read
+    private ByteBuffer nextBlock() throws IOException {
+        require(5);
+        int length = BinaryFormat.getVarint(buffer);
+        if (length < 0 || !require(length)) throw new IOException("Truncated todo dump: record of " + length + " bytes");
+        ByteBuffer block = buffer.slice();
+        block.limit(length);
+        buffer.position(buffer.position() + length);
+        return block;
+    }
+
+    // Makes at least n bytes readable if the input has them; a buffer source is already complete
+    private boolean require(int n) throws IOException {
+        if (buffer.remaining() >= n || channel == null) return buffer.remaining() >= n;
+        if (buffer.capacity() < n) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(n, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < n) {
+            if (channel.read(buffer) < 0) break;
+        }
+        buffer.flip();
+        return buffer.remaining() >= n;
+    }
+
+    private static final class Fields {
+        int id;
+        String title;
+        String description;
+        Status status = Status.PENDING;
+        Priority priority = Priority.MEDIUM;
+        int parentId;
+    }
+
+    private Fields decode(ByteBuffer body) throws IOException {
+        Fields fields = new Fields();
+        while (body.hasRemaining()) {
+            int key = BinaryFormat.getVarint(body);
+            int number = key >>> 1;
+            if ((key & 1) == BinaryFormat.VARINT) {
+                int value = BinaryFormat.getVarint(body);
+                switch (number) {
+                    case BinaryFormat.FIELD_ID: fields.id = BinaryFormat.zigZag(value); break;
+                    case BinaryFormat.FIELD_PARENT: fields.parentId = BinaryFormat.zigZag(value); break;
+                    case BinaryFormat.FIELD_STATUS: fields.status = entry(statuses, value, "status"); break;
+                    case BinaryFormat.FIELD_PRIORITY: fields.priority = entry(priorities, value, "priority"); break;
+                    default: break; // newer field
+                }
+            } else {
+                int length = BinaryFormat.getLength(body);
+                switch (number) {
+                    case BinaryFormat.FIELD_TITLE: fields.title = string(body, length); break;
+                    case BinaryFormat.FIELD_DESCRIPTION: fields.description = string(body, length); break;
+                    default: body.position(body.position() + length);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static <T> T entry(T[] dictionary, int code, String what) throws IOException {
+        if (code < 0 || code >= dictionary.length) throw new IOException("Unknown " + what + " code " + code);
+        return dictionary[code];
+    }
+
+    private String string(ByteBuffer in, int length) {
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            if (scratch == null || scratch.length < length) scratch = new byte[Math.max(length, 256)];
+            in.get(scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static String kindName(int kind) {
+        return kind == BinaryFormat.TODO ? "a todo" : "a memento";
+    }
+}
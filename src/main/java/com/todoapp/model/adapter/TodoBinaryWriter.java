@@ -0,0 +1,133 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.model.memento.TodoMemento;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes todos and mementos in the compact binary format described in
+ * BinaryFormat, to any WritableByteChannel (typically a FileChannel).
+ * Records are assembled in a reused buffer and handed to the channel in
+ * large writes; nothing is allocated per record for ASCII text.
+ * close() writes the end marker, so an unclosed dump reads as truncated.
+ */
+public class TodoBinaryWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final BinaryFormat.Sink out = new BinaryFormat.Sink(BUFFER_SIZE + 1024);
+    private final BinaryFormat.Sink record = new BinaryFormat.Sink(256);
+    private long records;
+    private boolean closed;
+
+    public TodoBinaryWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        out.putBytes(BinaryFormat.MAGIC);
+        out.putByte(BinaryFormat.VERSION);
+        for (Status status : Status.values()) record.putStringField(BinaryFormat.HEADER_STATUS, status.name());
+        for (Priority priority : Priority.values()) record.putStringField(BinaryFormat.HEADER_PRIORITY, priority.name());
+        out.putVarint(record.size);
+        out.put(record);
+    }
+
+    public static TodoBinaryWriter open(Path file) throws IOException {
+        return new TodoBinaryWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    public static TodoBinaryWriter open(OutputStream stream) {
+        return new TodoBinaryWriter(Channels.newChannel(stream));
+    }
+
+    // A complete dump in memory, e.g. for ByteBuffer.wrap and TodoBinaryReader
+    public static byte[] toBytes(Iterable<Todo> todos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TodoBinaryWriter writer = open(bytes)) {
+            writer.writeAll(todos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void write(Todo todo) throws IOException {
+        record.clear();
+        putFields(todo.getId(), todo.getTitle(), todo.getDescription(), todo.getStatus(), todo.getPriority());
+        if (todo.getParentId() != 0) record.putZigZagField(BinaryFormat.FIELD_PARENT, todo.getParentId());
+        append(BinaryFormat.TODO);
+    }
+
+    public void write(TodoMemento memento) throws IOException {
+        record.clear();
+        putFields(memento.getId(), memento.getTitle(), memento.getDescription(), memento.getStatus(), memento.getPriority());
+        append(BinaryFormat.MEMENTO);
+    }
+
+    public long writeAll(Iterable<Todo> todos) throws IOException {
+        long before = records;
+        for (Todo todo : todos) {
+            write(todo);
+        }
+        return records - before;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    private void putFields(int id, String title, String description, Status status, Priority priority) {
+        if (id != 0) record.putZigZagField(BinaryFormat.FIELD_ID, id);
+        record.putStringField(BinaryFormat.FIELD_TITLE, title);
+        record.putStringField(BinaryFormat.FIELD_DESCRIPTION, description);
+        // Dictionary index: the header lists the enum names in ordinal order
+        if (status != null) record.putVarintField(BinaryFormat.FIELD_STATUS, status.ordinal());
+        if (priority != null) record.putVarintField(BinaryFormat.FIELD_PRIORITY, priority.ordinal());
+    }
+
+    private void append(int kind) throws IOException {
+        if (closed) throw new IllegalStateException("Writer is closed");
+        out.putVarint(kind);
+        out.putVarint(record.size);
+        out.put(record);
+        records++;
+        if (out.size >= BUFFER_SIZE) drain();
+    }
+
+    private void drain() throws IOException {
+        ByteBuffer pending = ByteBuffer.wrap(out.data, 0, out.size);
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        out.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            out.putVarint(BinaryFormat.END);
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import org.json.JSONObject;
+
+/**
+ * Specialized Todo <-> JSON conversion without an intermediate JSONObject.
+ * Encoding appends straight into a caller-owned StringBuilder and produces
+ * exactly the text of {@code JsonToTodoAdapter.toJson(todo).toString()}:
+ * the same key order (JSONObject's HashMap order), the same escaping and
+ * the same omission of null fields. Decoding scans the flat object
+ * JsonToTodoAdapter writes; anything else (other keys, nested values,
+ * duplicate keys, lenient syntax, numbers that are not plain ints) is
+ * handed to org.json, so results and errors always match
+ * JsonToTodoAdapter.fromJson.
+ */
+public final class TodoJsonCodec {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TodoJsonCodec() {}
+
+    public static String encode(Todo todo) {
+        return encode(todo, new StringBuilder(128)).toString();
+    }
+
+    // Appends one record to out and returns it; reuse the builder across records to avoid garbage
+    public static StringBuilder encode(Todo todo, StringBuilder out) {
+        // Key order of a six-entry JSONObject: description, id, title, priority, type, status
+        out.append('{');
+        boolean first = true;
+        if (todo.getDescription() != null) {
+            out.append("\"description\":");
+            quote(todo.getDescription(), out);
+            first = false;
+        }
+        out.append(first ? "\"id\":" : ",\"id\":").append(todo.getId());
+        if (todo.getTitle() != null) {
+            out.append(",\"title\":");
+            quote(todo.getTitle(), out);
+        }
+        if (todo.getPriority() != null) out.append(",\"priority\":\"").append(todo.getPriority().name()).append('"');
+        out.append(",\"type\":\"todo\"");
+        if (todo.getStatus() != null) out.append(",\"status\":\"").append(todo.getStatus().name()).append('"');
+        return out.append('}');
+    }
+
+    // Same rules as JSONObject.quote
+    static void quote(String text, StringBuilder out) {
+        out.append('"');
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                case '"':
+                    out.append('\\').append(c);
+                    break;
+                case '/':
+                    if (previous == '<') out.append('\\');
+                    out.append(c);
+                    break;
+                case '\b': out.append("\\b"); break;
+                case '\t': out.append("\\t"); break;
+                case '\n': out.append("\\n"); break;
+                case '\f': out.append("\\f"); break;
+                case '\r': out.append("\\r"); break;
+                default:
+                    if (c < ' ' || (c >= 0x80 && c < 0xA0) || (c >= 0x2000 && c < 0x2100)) {
+                        out.append("\\u").append(HEX[c >>> 12]).append(HEX[(c >>> 8) & 0xF])
+                                .append(HEX[(c >>> 4) & 0xF]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+            }
+            previous = c;
+        }
+        out.append('"');
+    }
+
+    /**
+     * Parses one JSON object into a Todo with the semantics of
+     * JsonToTodoAdapter.fromJson; throws JSONException for bad input.
+     */
+    public static Todo decode(CharSequence json) {
+        Todo todo = tryDecode(json);
+        return todo != null ? todo : JsonToTodoAdapter.fromJson(new JSONObject(json.toString()));
+    }
+
+    // The fast path alone: null when the text is not a flat object of strings and ints
+    public static Todo tryDecode(CharSequence json) {
+        return new Scanner(json).todo();
+    }
+
+    // Single-use cursor over one record; every method returns null / -1 to request the fallback
+    private static final class Scanner {
+        private static final int ID = 1, TITLE = 2, DESCRIPTION = 4, STATUS = 8, PRIORITY = 16, TYPE = 32;
+
+        private final CharSequence in;
+        private int pos;
+        private StringBuilder scratch;
+
+        Scanner(CharSequence in) {
+            this.in = in;
+        }
+
+        Todo todo() {
+            int id = 0;
+            String title = null;
+            String description = null;
+            String status = null;
+            String priority = null;
+            int seen = 0;
+
+            if (!consume('{')) return null;
+            if (!consume('}')) {
+                do {
+                    if (skipSpace() != '"') return null;
+                    int key = key();
+                    if (key < 0 || !consume(':')) return null;
+                    if ((seen & key) != 0) return null; // org.json rejects duplicate keys
+                    seen |= key;
+                    char c = skipSpace();
+                    if (c == '"') {
+                        String value = string();
+                        if (value == null) return null;
+                        switch (key) {
+                            case TITLE: title = value; break;
+                            case DESCRIPTION: description = value; break;
+                            case STATUS: status = value; break;
+                            case PRIORITY: priority = value; break;
+                            case ID: return null; // optInt would coerce the string
+                            default: break; // type
+                        }
+                    } else if (c == '-' || (c >= '0' && c <= '9')) {
+                        long value = integer();
+                        if (value == Long.MIN_VALUE) return null;
+                        if (key == ID) id = (int) value;
+                        else if (key != TYPE) return null; // optString would render the number
+                    } else {
+                        return null;
+                    }
+                } while (consume(','));
+                if (!consume('}')) return null;
+            }
+            skipSpace();
+            if (pos != in.length() || title == null) return null;
+            return new Todo(id, title, description != null ? description : "No description",
+                    Status.parse(status), Priority.parse(priority));
+        }
+
+        // The six keys JsonToTodoAdapter writes, spelled without escapes; -1 for anything else
+        private int key() {
+            int start = ++pos;
+            while (pos < in.length()) {
+                char c = in.charAt(pos);
+                if (c == '"') break;
+                if (c == '\\' || c < ' ') return -1;
+                pos++;
+            }
+            if (pos >= in.length()) return -1;
+            int length = pos++ - start;
+            if (matches("id", start, length)) return ID;
+            if (matches("title", start, length)) return TITLE;
+            if (matches("description", start, length)) return DESCRIPTION;
+            if (matches("status", start, length)) return STATUS;
+            if (matches("priority", start, length)) return PRIORITY;
+            if (matches("type", start, length)) return TYPE;
+            return -1;
+        }
+
+        private boolean matches(String name, int start, int length) {
+            if (name.length() != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (in.charAt(start + i) != name.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        // Escape-free strings are a single substring; others go through a reused builder
+        private String string() {
+            int start = ++pos;
+            while (pos < in.length()) {
+                char c = in.charAt(pos);
+                if (c == '"') return in.subSequence(start, pos++).toString();
+                if (c == '\\') break;
+                if (c < ' ') return null;
+                pos++;
+            }
+            if (pos >= in.length()) return null;
+            StringBuilder out = scratch == null ? scratch = new StringBuilder() : scratch;
+            out.setLength(0);
+            out.append(in, start, pos);
+            while (pos < in.length()) {
+                char c = in.charAt(pos++);
+                if (c == '"') return out.toString();
+                if (c < ' ') return null;
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (pos >= in.length()) return null;
+                char e = in.charAt(pos++);
+                switch (e) {
+                    case '"': case '\\': case '/': out.append(e); break;
+                    case 'b': out.append('\b'); break;
+                    case 't': out.append('\t'); break;
+                    case 'n': out.append('\n'); break;
+                    case 'f': out.append('\f'); break;
+                    case 'r': out.append('\r'); break;
+                    case 'u':
+                        if (pos + 4 > in.length()) return null;
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(in.charAt(pos++), 16);
+                            if (digit < 0) return null;
+                            code = code << 4 | digit;
+                        }
+                        out.append((char) code);
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+
+        // A plain int (no fraction, exponent or leading zeros); Long.MIN_VALUE otherwise
+        private long integer() {
+            int start = pos;
+            if (in.charAt(pos) == '-') pos++;
+            int digitsStart = pos;
+            long value = 0;
+            while (pos < in.length() && in.charAt(pos) >= '0' && in.charAt(pos) <= '9') {
+                value = value * 10 + (in.charAt(pos++) - '0');
+                if (value > Integer.MAX_VALUE + 1L) return Long.MIN_VALUE;
+            }
+            int digits = pos - digitsStart;
+            if (digits == 0 || (digits > 1 && in.charAt(digitsStart) == '0')) return Long.MIN_VALUE;
+            if (pos < in.length()) {
+                char next = in.charAt(pos);
+                if (next == '.' || next == 'e' || next == 'E') return Long.MIN_VALUE;
+            }
+            if (in.charAt(start) == '-') value = -value;
+            return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+        }
+
+        private boolean consume(char expected) {
+            if (skipSpace() != expected) return false;
+            pos++;
+            return true;
+        }
+
+        // The next significant character, or 0 at the end
+        private char skipSpace() {
+            while (pos < in.length()) {
+                char c = in.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return c;
+                pos++;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Todo;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Streams todos out of a JSON array or an NDJSON file one record at a time,
+ * so memory stays flat however large the dump is. The layout is detected
+ * from the first character. Nothing is logged per record; bad records are
+ * handled by the {@link JsonErrorPolicy}.
+ *
+ * Malformed syntax inside a JSON array cannot be skipped (there is no
+ * reliable place to resume), so it always fails; in NDJSON the reader
+ * resumes at the next line.
+ */
+public class TodoJsonReader implements Iterator<Todo>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BufferedReader source;
+    private final JSONTokener tokener; // array layout only; NDJSON is parsed line by line
+    private final JsonErrorPolicy policy;
+    private final boolean array;
+    private boolean finished;
+    private Todo next;
+    private long records;
+    private long skipped;
+
+    public TodoJsonReader(Reader reader, JsonErrorPolicy policy) {
+        this.source = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, BUFFER_SIZE);
+        this.policy = policy;
+        int first = peekNonWhitespace();
+        this.array = first == '[';
+        this.finished = first < 0;
+        this.tokener = array ? new JSONTokener(source) : null;
+        if (array) tokener.nextClean();
+    }
+
+    private int peekNonWhitespace() {
+        try {
+            while (true) {
+                source.mark(1);
+                int c = source.read();
+                if (c < 0 || !Character.isWhitespace(c)) {
+                    source.reset();
+                    return c;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static TodoJsonReader open(Path file, JsonErrorPolicy policy) throws IOException {
+        return new TodoJsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), policy);
+    }
+
+    public static TodoJsonReader open(InputStream in, JsonErrorPolicy policy) {
+        return new TodoJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8), policy);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            next = readRecord();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Todo next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Todo todo = next;
+        next = null;
+        return todo;
+    }
+
+    // Records seen so far, including skipped ones
+    public long getRecordCount() { return records; }
+    public long getSkippedCount() { return skipped; }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        source.close();
+    }
+
+    // Returns the next todo, or null when the record was skipped or input ended
+    private Todo readRecord() {
+        long record = records;
+        Object value;
+        try {
+            value = array ? nextArrayElement(record) : nextLine();
+            if (value == null) {
+                finished = true;
+                return null;
+            }
+        } catch (JSONException e) {
+            if (array || policy == JsonErrorPolicy.FAIL_FAST) {
+                finished = true;
+                throw new JsonImportException(record, "Malformed JSON", e);
+            }
+            return reject(record, e);
+        }
+
+        if (value instanceof Todo) return (Todo) value;
+        try {
+            if (!(value instanceof JSONObject)) throw new JSONException("Expected an object but found " + value);
+            return JsonToTodoAdapter.fromJson((JSONObject) value);
+        } catch (JSONException e) {
+            return reject(record, e);
+        }
+    }
+
+    private Object nextArrayElement(long record) {
+        char c = tokener.nextClean();
+        if (c == 0 || c == ']') return null;
+        if (record > 0) {
+            if (c != ',') throw tokener.syntaxError("Expected ',' or ']'");
+            tokener.nextClean();
+        }
+        tokener.back();
+        records++;
+        return tokener.nextValue();
+    }
+
+    private Object nextLine() {
+        try {
+            String line;
+            do {
+                line = source.readLine();
+                if (line == null) return null;
+            } while (line.trim().isEmpty());
+            records++;
+            // Lines in the shape we write skip the JSONObject entirely
+            Todo todo = TodoJsonCodec.tryDecode(line);
+            return todo != null ? todo : new JSONTokener(line).nextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Todo reject(long record, JSONException cause) {
+        switch (policy) {
+            case SKIP:
+                skipped++;
+                return null;
+            case FALLBACK:
+                return JsonToTodoAdapter.errorTodo();
+            default:
+                finished = true;
+                throw new JsonImportException(record, cause.getMessage(), cause);
+        }
+    }
+}
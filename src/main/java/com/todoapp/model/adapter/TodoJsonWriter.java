@@ -0,0 +1,91 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Todo;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes todos as a JSON array or NDJSON straight to a Writer, one record
+ * at a time, in the same shape JsonToTodoAdapter produces (encoded by
+ * TodoJsonCodec, without building a JSONObject). Nothing is logged per
+ * record.
+ */
+public class TodoJsonWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private final JsonFormat format;
+    // Reused per record: the codec encodes into record, which is copied out through chars
+    private final StringBuilder record = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private long records;
+    private boolean closed;
+
+    public TodoJsonWriter(Writer writer, JsonFormat format) throws IOException {
+        this.out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, BUFFER_SIZE);
+        this.format = format;
+        if (format == JsonFormat.ARRAY) out.write('[');
+    }
+
+    public static TodoJsonWriter open(Path file, JsonFormat format) throws IOException {
+        return new TodoJsonWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), format);
+    }
+
+    public static TodoJsonWriter open(OutputStream stream, JsonFormat format) throws IOException {
+        return new TodoJsonWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), format);
+    }
+
+    public void write(Todo todo) throws IOException {
+        if (format == JsonFormat.ARRAY && records > 0) out.write(',');
+        record.setLength(0);
+        TodoJsonCodec.encode(todo, record);
+        int length = record.length();
+        if (length > chars.length) chars = new char[Math.max(length, chars.length * 2)];
+        record.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        if (format == JsonFormat.NDJSON) out.write('\n');
+        records++;
+    }
+
+    public long writeAll(Iterable<Todo> todos) throws IOException {
+        long before = records;
+        try {
+            todos.forEach(todo -> {
+                try {
+                    write(todo);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return records - before;
+    }
+
+    public long getRecordCount() {
+        return records;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (format == JsonFormat.ARRAY) out.write(']');
+        out.close();
+    }
+}
@@ -1,51 +1,317 @@
 package com.todoapp.model.memento;
 
-import java.util.Stack;
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
 
 // Memento Pattern CareTaker - matches MementoPatternDemo.java
-public class TodoCareTaker {
-    private Stack<TodoMemento> undoStack = new Stack<>();
-    private Stack<TodoMemento> redoStack = new Stack<>();
+//
+// Only the latest state is kept whole; history is a ring of field-level
+// deltas, so undo/redo cost O(changed fields) at any depth. The ring is
+// capped by entry count and estimated bytes; the oldest entries are either
+// dropped or, when a spill file is given, pushed to disk and read back on
+// demand once the in-memory history runs out.
+public class TodoCareTaker implements Closeable {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final DeltaSpill spill;
+
+    private TodoMemento current;
+    private final Deque<Delta> undoDeltas = new ArrayDeque<>();
+    private final Deque<Delta> redoDeltas = new ArrayDeque<>();
+    private long undoBytes;
+
+    public TodoCareTaker() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public TodoCareTaker(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, null);
+    }
+
+    public TodoCareTaker(int maxEntries, long maxBytes, Path spillFile) {
+        if (maxEntries <= 0 || maxBytes <= 0) throw new IllegalArgumentException("History limits must be positive");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.spill = spillFile == null ? null : new DeltaSpill(spillFile);
+    }
 
     public void saveState(TodoMemento memento) {
-        undoStack.push(memento);
-        redoStack.clear(); // Clear redo stack when new action is performed
-        System.out.println("✓ State saved to history");
+        if (current != null) {
+            Delta delta = Delta.between(current, memento);
+            redoDeltas.clear(); // Clear redo stack when new action is performed
+            if (delta == null) return; // nothing changed
+            undoDeltas.addLast(delta);
+            undoBytes += delta.bytes;
+            evictOldest();
+        }
+        current = memento;
     }
 
     public TodoMemento undo() {
-        if (undoStack.size() > 1) {
-            TodoMemento currentState = undoStack.pop();
-            redoStack.push(currentState);
-            System.out.println("↶ Undo performed");
-            return undoStack.peek();
+        if (canUndo()) {
+            Delta delta;
+            if (undoDeltas.isEmpty()) {
+                delta = spill.pop();
+            } else {
+                delta = undoDeltas.pollLast();
+                undoBytes -= delta.bytes;
+            }
+            if (delta != null) {
+                current = delta.revert(current);
+                redoDeltas.addLast(delta);
+                System.out.println("↶ Undo performed");
+                return current;
+            }
         }
         System.out.println("✗ Cannot undo further");
         return null;
     }
 
     public TodoMemento redo() {
-        if (!redoStack.isEmpty()) {
-            TodoMemento state = redoStack.pop();
-            undoStack.push(state);
+        if (!redoDeltas.isEmpty()) {
+            Delta delta = redoDeltas.pollLast();
+            current = delta.apply(current);
+            undoDeltas.addLast(delta);
+            undoBytes += delta.bytes;
+            evictOldest();
             System.out.println("↷ Redo performed");
-            return state;
+            return current;
         }
         System.out.println("✗ Cannot redo further");
         return null;
     }
 
     public boolean canUndo() {
-        return undoStack.size() > 1;
+        return !undoDeltas.isEmpty() || (spill != null && spill.size() > 0);
     }
 
     public boolean canRedo() {
-        return !redoStack.isEmpty();
+        return !redoDeltas.isEmpty();
     }
 
     public void clearHistory() {
-        undoStack.clear();
-        redoStack.clear();
+        current = null;
+        undoDeltas.clear();
+        redoDeltas.clear();
+        undoBytes = 0;
+        if (spill != null) spill.clear();
         System.out.println("History cleared");
     }
-}
\ No newline at end of file
+
+    // Undo steps held in memory (not counting spilled ones)
+    public int getHistorySize() { return undoDeltas.size(); }
+    public long getHistoryBytes() { return undoBytes; }
+    public long getSpilledCount() { return spill == null ? 0 : spill.size(); }
+
+    @Override
+    public void close() throws IOException {
+        if (spill != null) spill.close();
+    }
+
+    private void evictOldest() {
+        while (undoDeltas.size() > maxEntries || (undoBytes > maxBytes && undoDeltas.size() > 1)) {
+            Delta oldest = undoDeltas.pollFirst();
+            undoBytes -= oldest.bytes;
+            if (spill != null) spill.push(oldest);
+        }
+    }
+
+    // --- Field-level delta between two consecutive states ---
+
+    private static final class Delta {
+        static final int ID = 1, TITLE = 2, DESCRIPTION = 4, STATUS = 8, PRIORITY = 16;
+        private static final int FIELDS = 4;
+
+        final int mask;
+        final int oldId;
+        final int newId;
+        final String[] before; // only the changed string fields, in TITLE..PRIORITY order
+        final String[] after;
+        final long bytes;
+
+        Delta(int mask, int oldId, int newId, String[] before, String[] after) {
+            this.mask = mask;
+            this.oldId = oldId;
+            this.newId = newId;
+            this.before = before;
+            this.after = after;
+            long size = 48;
+            for (int i = 0; i < before.length; i++) {
+                size += estimate(before[i]) + estimate(after[i]);
+            }
+            this.bytes = size;
+        }
+
+        static Delta between(TodoMemento from, TodoMemento to) {
+            String[] a = fields(from);
+            String[] b = fields(to);
+            int mask = from.getId() != to.getId() ? ID : 0;
+            int changed = 0;
+            for (int i = 0; i < FIELDS; i++) {
+                if (!Objects.equals(a[i], b[i])) {
+                    mask |= TITLE << i;
+                    changed++;
+                }
+            }
+            if (mask == 0) return null;
+            String[] before = new String[changed];
+            String[] after = new String[changed];
+            for (int i = 0, k = 0; i < FIELDS; i++) {
+                if ((mask & (TITLE << i)) != 0) {
+                    before[k] = a[i];
+                    after[k++] = b[i];
+                }
+            }
+            return new Delta(mask, from.getId(), to.getId(), before, after);
+        }
+
+        TodoMemento apply(TodoMemento state) {
+            return rebuild(state, newId, after);
+        }
+
+        TodoMemento revert(TodoMemento state) {
+            return rebuild(state, oldId, before);
+        }
+
+        private TodoMemento rebuild(TodoMemento state, int id, String[] values) {
+            String[] f = fields(state);
+            for (int i = 0, k = 0; i < FIELDS; i++) {
+                if ((mask & (TITLE << i)) != 0) f[i] = values[k++];
+            }
+            return new TodoMemento((mask & ID) != 0 ? id : state.getId(), f[0], f[1],
+                    Status.lookup(f[2]), Priority.lookup(f[3]));
+        }
+
+        // Status and priority travel as their enum names, which are shared constants
+        private static String[] fields(TodoMemento m) {
+            return new String[] {m.getTitle(), m.getDescription(), name(m.getStatus()), name(m.getPriority())};
+        }
+
+        private static String name(Enum<?> value) {
+            return value == null ? null : value.name();
+        }
+
+        private static long estimate(String s) {
+            return s == null ? 0 : 40 + 2L * s.length();
+        }
+    }
+
+    // --- Disk stack for evicted deltas: records end with their own length so they can be popped from the tail ---
+
+    private static final class DeltaSpill {
+        private final Path file;
+        private RandomAccessFile raf;
+        private long count;
+
+        DeltaSpill(Path file) {
+            this.file = file;
+        }
+
+        void push(Delta delta) {
+            try {
+                RandomAccessFile out = open();
+                long start = out.length();
+                out.seek(start);
+                out.writeInt(delta.mask);
+                out.writeInt(delta.oldId);
+                out.writeInt(delta.newId);
+                out.writeInt(delta.before.length);
+                for (int i = 0; i < delta.before.length; i++) {
+                    writeString(out, delta.before[i]);
+                    writeString(out, delta.after[i]);
+                }
+                out.writeInt((int) (out.getFilePointer() - start));
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to spill undo history", e);
+            }
+        }
+
+        Delta pop() {
+            if (count == 0) return null;
+            try {
+                RandomAccessFile in = open();
+                long end = in.length();
+                in.seek(end - 4);
+                int length = in.readInt();
+                long start = end - 4 - length;
+                in.seek(start);
+                int mask = in.readInt();
+                int oldId = in.readInt();
+                int newId = in.readInt();
+                int changed = in.readInt();
+                String[] before = new String[changed];
+                String[] after = new String[changed];
+                for (int i = 0; i < changed; i++) {
+                    before[i] = readString(in);
+                    after[i] = readString(in);
+                }
+                in.setLength(start);
+                count--;
+                return new Delta(mask, oldId, newId, before, after);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spilled undo history", e);
+            }
+        }
+
+        long size() {
+            return count;
+        }
+
+        void clear() {
+            try {
+                if (raf != null) raf.setLength(0);
+                count = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() throws IOException {
+            if (raf != null) {
+                raf.close();
+                raf = null;
+                count = 0;
+            }
+        }
+
+        private RandomAccessFile open() throws IOException {
+            if (raf == null) {
+                raf = new RandomAccessFile(file.toFile(), "rw");
+                raf.setLength(0);
+            }
+            return raf;
+        }
+
+        private static void writeString(RandomAccessFile out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(RandomAccessFile in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) return null;
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.todoapp.model.memento;
 
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+
 // Memento Pattern - matches MementoPatternDemo.java
 public class TodoMemento {
     private final int id;
     private final String title;
     private final String description;
-    private final String status;
-    private final String priority;
+    private final Status status;
+    private final Priority priority;
 
     public TodoMemento(int id, String title, String description, String status, String priority) {
+        this(id, title, description, Status.parse(status), Priority.parse(priority));
+    }
+
+    public TodoMemento(int id, String title, String description, Status status, Priority priority) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -28,11 +35,11 @@ public class TodoMemento {
         return description;
     }
 
-    public String getStatus() {
+    public Status getStatus() {
         return status;
     }
 
-    public String getPriority() {
+    public Priority getPriority() {
         return priority;
     }
 
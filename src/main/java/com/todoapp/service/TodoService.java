@@ -1,35 +1,140 @@
 package com.todoapp.service;
 
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
 import com.todoapp.model.Todo;
 import com.todoapp.model.TodoFactory;
 import com.todoapp.service.iterator.Container;
+import com.todoapp.service.iterator.IdStatusVisitor;
 import com.todoapp.service.iterator.Iterator;
+import com.todoapp.service.iterator.TodoCursor;
+import com.todoapp.service.observer.EventDispatcher;
 import com.todoapp.service.observer.Observer;
 import com.todoapp.service.observer.Subject;
+import com.todoapp.service.observer.SyncEventDispatcher;
+import com.todoapp.service.observer.TodoEvent;
+import com.todoapp.service.persistence.RecoveredState;
+import com.todoapp.service.persistence.StorageEngine;
+import com.todoapp.service.persistence.StorageOptions;
+import com.todoapp.service.query.Page;
+import com.todoapp.service.query.QueryEngine;
+import com.todoapp.service.query.QueryParser;
+import com.todoapp.service.query.TodoMatcher;
+import com.todoapp.service.search.SearchIndex;
+import com.todoapp.service.store.BucketStatusIndex;
+import com.todoapp.service.store.ColumnarTodoStore;
+import com.todoapp.service.store.ConcurrentTodoStore;
+import com.todoapp.service.store.HierarchyIndex;
+import com.todoapp.service.store.IndexedTodoStore;
+import com.todoapp.service.store.PriorityIndex;
+import com.todoapp.service.store.StatusIndex;
+import com.todoapp.service.store.StripedLocks;
+import com.todoapp.service.store.TaskRollup;
+import com.todoapp.service.store.TodoStore;
+import com.todoapp.service.strategy.IndexedSearch;
+import com.todoapp.service.strategy.QuerySearch;
 import com.todoapp.service.strategy.SearchStrategy;
 import com.todoapp.service.strategy.TitleSearch;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class TodoService implements Container, Subject {
+public class TodoService implements Container<Todo>, Subject {
 
-    private static TodoService instance;
-    private List<Todo> todos;
-    private int nextId;
+    private static final int CONCURRENT_STRIPES = 64;
+    private static final int SCAN_CHUNK = 256; // todos read per step by scans and cursors
+
+    private final TodoStore todos;
+    private final StatusIndex statusIndex;
+    private volatile SearchIndex searchIndex; // built on the first IndexedSearch query
+    private volatile PriorityIndex priorityIndex; // built on the first priority-ordered query
+    private final HierarchyIndex hierarchy = new HierarchyIndex(); // holds nodes only for nested todos
+    private final StripedLocks locks;
+    private final AtomicInteger nextId = new AtomicInteger(1);
     
-    private List<Observer> observers = new ArrayList<>();
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
+    private volatile EventDispatcher dispatcher = new SyncEventDispatcher();
+    private volatile StorageEngine storage; // null unless created via createPersistent
+    private volatile QueryEngine queryEngine = new QueryEngine();
+    private final ThreadLocal<List<TodoEvent>> pendingBatch = new ThreadLocal<>(); // set while this thread runs a batch
+
+    private TodoService(TodoStore todos, StatusIndex statusIndex, int stripes) {
+        this.todos = todos;
+        this.statusIndex = statusIndex;
+        this.locks = new StripedLocks(stripes);
+    }
 
-    private TodoService() {
-        this.todos = new ArrayList<>();
-        this.nextId = 1;
+    // Initialization-on-demand holder: lazy and thread-safe without locking
+    private static class InstanceHolder {
+        private static final TodoService INSTANCE = new TodoService(new IndexedTodoStore(), new BucketStatusIndex(), 1);
     }
 
+    /**
+     * The shared service used by the Swing UI. Writes are serialized on a
+     * single lock; reads are meant for the thread that owns the UI. It is
+     * also the default tenant of TodoRegistry.shared().
+     */
     public static TodoService getInstance() {
-        if (instance == null) {
-            instance = new TodoService();
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a standalone service for multi-threaded use. Writers lock only
+     * the stripe of the todo they touch and readers never lock at all.
+     */
+    public static TodoService createConcurrent() {
+        return new TodoService(new ConcurrentTodoStore(), new BucketStatusIndex(), CONCURRENT_STRIPES);
+    }
+
+    /**
+     * Creates a standalone service backed by a ColumnarTodoStore, for large
+     * lists where heap use matters more than read speed. Like the shared
+     * instance it serializes writers on one lock.
+     */
+    public static TodoService createCompact() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        return new TodoService(store, store.statusIndex(), 1);
+    }
+
+    public static TodoService createPersistent(Path directory) throws IOException {
+        return createPersistent(directory, StorageOptions.defaults());
+    }
+
+    /**
+     * Creates a concurrent service whose contents survive restarts. State is
+     * recovered from the snapshot and journal in {@code directory}, and
+     * every later mutation is journaled before the call returns.
+     */
+    public static TodoService createPersistent(Path directory, StorageOptions options) throws IOException {
+        StorageEngine engine = new StorageEngine(directory, options);
+        RecoveredState state = engine.recover();
+        TodoService service = createConcurrent();
+        for (Todo todo : state.getTodos()) {
+            service.todos.add(todo);
+            service.statusIndex.onAdded(todo);
+        }
+        // Parents may have higher ids than their children, so links are made once every todo is in
+        for (Todo todo : state.getTodos()) {
+            if (todo.getParentId() == 0) continue;
+            Todo parent = service.todos.get(todo.getParentId());
+            if (parent != null) service.hierarchy.attach(todo, parent);
+            else todo.setParentId(0);
         }
-        return instance;
+        service.nextId.set(state.getNextId());
+        engine.setFailureListener(e -> service.notifyObservers("✗ Storage failed: " + e.getMessage()));
+        engine.start(service::checkpoint);
+        service.storage = engine;
+        return service;
     }
 
     // --- Observer Pattern ---
@@ -41,6 +146,21 @@ public class TodoService implements Container, Subject {
     @Override
     public void removeObserver(Observer observer) {
         observers.remove(observer);
+        dispatcher.release(observer);
+    }
+
+    // Swap in e.g. an AsyncEventDispatcher to take observers off the mutating thread
+    public void setEventDispatcher(EventDispatcher dispatcher) {
+        this.dispatcher = Objects.requireNonNull(dispatcher, "dispatcher");
+    }
+
+    // Decides when scans and bulk operations go parallel, and on which pool
+    public void setQueryEngine(QueryEngine engine) {
+        this.queryEngine = Objects.requireNonNull(engine, "engine");
+    }
+
+    public EventDispatcher getEventDispatcher() {
+        return dispatcher;
     }
 
     @Override
@@ -50,87 +170,792 @@ public class TodoService implements Container, Subject {
         }
     }
 
+    @Override
+    public void notifyObservers(TodoEvent event) {
+        List<TodoEvent> batch = pendingBatch.get();
+        if (batch != null) {
+            batch.add(event);
+            return;
+        }
+        EventDispatcher current = dispatcher;
+        for (Observer observer : observers) {
+            current.dispatch(observer, event);
+        }
+    }
+
     // --- Iterator Pattern ---
+    // Typed cursors that walk the store in place instead of copying it (see TodoCursor).
+    // They cover the todos that exist when created; stores that are not thread-safe
+    // are read one chunk at a time under the locks, so writers interleave between chunks.
     @Override
-    public Iterator getIterator() {
-        return new TodoIterator();
+    public Iterator<Todo> getIterator() {
+        return cursor();
+    }
+
+    public Spliterator<Todo> spliterator() {
+        return cursor();
+    }
+
+    public Stream<Todo> streamTodos() {
+        return StreamSupport.stream(cursor(), false);
+    }
+
+    /**
+     * Visits the id and status of every todo in id order without handing out
+     * Todo objects; the columnar store answers straight from its columns.
+     */
+    public void forEachIdStatus(IdStatusVisitor visitor) {
+        int afterId = Integer.MIN_VALUE;
+        while (true) {
+            int from = afterId;
+            int last = readConsistently(() -> todos.forEachIdStatus(from, SCAN_CHUNK, visitor));
+            if (last == from) return;
+            afterId = last;
+        }
+    }
+
+    // Starts just below the lowest id, so splits divide ids that exist rather than the whole int range
+    private TodoCursor cursor() {
+        int lastId = nextId.get() - 1;
+        List<Todo> first = readChunk(Integer.MIN_VALUE, 1);
+        int afterId = first.isEmpty() ? lastId : (int) Math.max(first.get(0).getId() - 1L, Integer.MIN_VALUE);
+        return new TodoCursor(this::readChunk, afterId, lastId, todos.size());
     }
 
-    private class TodoIterator implements Iterator {
-        int index;
-        @Override
-        public boolean hasNext() { return index < todos.size(); }
-        @Override
-        public Object next() { return hasNext() ? todos.get(index++) : null; }
+    private List<Todo> readChunk(int afterId, int limit) {
+        return readConsistently(() -> todos.range(afterId, 0, limit));
+    }
+
+    private <T> T readConsistently(Supplier<T> read) {
+        if (todos.isThreadSafe()) return read.get();
+        locks.lockAll();
+        try {
+            return read.get();
+        } finally {
+            locks.unlockAll();
+        }
     }
 
     // --- Strategy Pattern ---
     public List<Todo> searchTodos(String keyword, SearchStrategy strategy) {
-        if (keyword == null || keyword.trim().isEmpty()) return getAllTodos();
-        return todos.stream().filter(t -> strategy.matches(t, keyword)).collect(Collectors.toList());
+        return searchTodos(keyword, strategy, Integer.MAX_VALUE);
+    }
+
+    public List<Todo> searchTodos(String keyword, SearchStrategy strategy, int limit) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return readConsistently(() -> todos.range(Integer.MIN_VALUE, 0, limit));
+        }
+        if (strategy instanceof IndexedSearch) {
+            IndexedSearch indexed = (IndexedSearch) strategy;
+            return searchIndex().search(keyword, indexed.getField(), Math.min(limit, indexed.getLimit()));
+        }
+        if (strategy instanceof QuerySearch) {
+            return searchByQuery(QueryParser.compile(keyword), limit);
+        }
+        Predicate<Todo> filter = t -> strategy.matches(t, keyword);
+        return limit == Integer.MAX_VALUE ? query(filter) : scan(this::readChunk, Integer.MIN_VALUE, 0, limit, filter);
+    }
+
+    // A query that pins a status only walks that status bucket; others go to the query engine
+    private List<Todo> searchByQuery(TodoMatcher matcher, int limit) {
+        Status required = matcher.requiredStatus();
+        if (required == null) {
+            return limit == Integer.MAX_VALUE ? query(matcher) : scan(this::readChunk, Integer.MIN_VALUE, 0, limit, matcher);
+        }
+        boolean completed = required.isCompleted();
+        TodoCursor.ChunkReader bucket = (afterId, n) -> readConsistently(() -> statusIndex.range(completed, afterId, 0, n));
+        return scan(bucket, Integer.MIN_VALUE, 0, limit, matcher);
     }
     
     public List<Todo> searchTodos(String keyword) {
         return searchTodos(keyword, new TitleSearch());
     }
 
+    // --- Parallel queries ---
+
+    /**
+     * Todos matching the filter, in id order. Large stores are scanned on the
+     * query engine's fork/join pool; compose filters from TodoPredicates.
+     */
+    public List<Todo> query(Predicate<? super Todo> filter) {
+        return queryEngine.select(this::readChunk, todos.size(), nextId.get() - 1, filter);
+    }
+
+    // Each returns how many matching todos it changed
+    public int deleteWhere(Predicate<? super Todo> filter) {
+        return applyToMatches(filter, this::deleteTodo);
+    }
+
+    public int completeWhere(Predicate<? super Todo> filter) {
+        return applyToMatches(filter, this::completeTodo);
+    }
+
+    public int setPriorityWhere(Predicate<? super Todo> filter, Priority priority) {
+        Objects.requireNonNull(priority, "priority");
+        return applyToMatches(filter, id -> setPriority(id, priority));
+    }
+
+    // Matches are found by a parallel scan, then changed as one batch. With striped locks the
+    // changes are spread over the pool too, each taking only its own stripe, so unlike
+    // runBatch other writers may interleave with them.
+    private int applyToMatches(Predicate<? super Todo> filter, IntPredicate operation) {
+        int[] ids = query(filter).stream().mapToInt(Todo::getId).toArray();
+        if (ids.length == 0) return 0;
+        if (locks.stripes() == 1 || pendingBatch.get() != null) {
+            int[] applied = new int[1];
+            runBatch(() -> {
+                for (int id : ids) if (operation.test(id)) applied[0]++;
+            });
+            return applied[0];
+        }
+        List<TodoEvent> events = Collections.synchronizedList(new ArrayList<>());
+        try {
+            return queryEngine.apply(ids, id -> {
+                List<TodoEvent> outer = pendingBatch.get();
+                pendingBatch.set(events);
+                try {
+                    return operation.test(id);
+                } finally {
+                    if (outer == null) pendingBatch.remove();
+                    else pendingBatch.set(outer);
+                }
+            });
+        } finally {
+            publishBatch(new ArrayList<>(events));
+        }
+    }
+
+    // --- Pagination ---
+    // Offset pages cost O(offset + limit) and cursor pages O(log n + limit), read from the
+    // id-ordered store and the maintained indexes. A cursor names the last item returned,
+    // so the next page resumes right after it even if todos were added or removed meanwhile.
+    // Stores that are not thread-safe are read under every stripe, like readChunk.
+
+    public List<Todo> getAllTodos(int offset, int limit) {
+        checkPage(offset, limit);
+        return readConsistently(() -> todos.range(Integer.MIN_VALUE, offset, limit));
+    }
+
+    public Page<Todo> getAllTodosPage(String cursor, int limit) {
+        checkPage(0, limit);
+        int afterId = idCursor(cursor);
+        return Page.of(readConsistently(() -> todos.range(afterId, 0, fetchSize(limit))), limit, TodoService::idCursorOf);
+    }
+
+    public List<Todo> getPendingTodos(int offset, int limit) {
+        checkPage(offset, limit);
+        return readConsistently(() -> statusIndex.range(false, Integer.MIN_VALUE, offset, limit));
+    }
+
+    public Page<Todo> getPendingTodosPage(String cursor, int limit) {
+        checkPage(0, limit);
+        int afterId = idCursor(cursor);
+        return Page.of(readConsistently(() -> statusIndex.range(false, afterId, 0, fetchSize(limit))), limit, TodoService::idCursorOf);
+    }
+
+    public List<Todo> getCompletedTodos(int offset, int limit) {
+        checkPage(offset, limit);
+        return readConsistently(() -> statusIndex.range(true, Integer.MIN_VALUE, offset, limit));
+    }
+
+    public Page<Todo> getCompletedTodosPage(String cursor, int limit) {
+        checkPage(0, limit);
+        int afterId = idCursor(cursor);
+        return Page.of(readConsistently(() -> statusIndex.range(true, afterId, 0, fetchSize(limit))), limit, TodoService::idCursorOf);
+    }
+
+    public List<Todo> getTodosByPriority(int offset, int limit) {
+        checkPage(offset, limit);
+        return priorityIndex().range(false, Priority.HIGH, Integer.MIN_VALUE, offset, limit);
+    }
+
+    // Priority cursors carry the last todo's priority as well as its id: "ordinal:id"
+    public Page<Todo> getTodosByPriorityPage(String cursor, int limit) {
+        checkPage(0, limit);
+        Priority from = Priority.HIGH;
+        int afterId = Integer.MIN_VALUE;
+        if (cursor != null) {
+            int colon = cursor.indexOf(':');
+            if (colon < 0) throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            int ordinal = parseCursorInt(cursor.substring(0, colon), cursor);
+            if (ordinal < 0 || ordinal >= Priority.values().length) throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            from = Priority.fromOrdinal(ordinal);
+            afterId = parseCursorInt(cursor.substring(colon + 1), cursor);
+        }
+        List<Todo> fetched = priorityIndex().range(false, from, afterId, 0, fetchSize(limit));
+        return Page.of(fetched, limit, TodoService::priorityCursorOf);
+    }
+
+    public List<Todo> searchTodos(String keyword, SearchStrategy strategy, int offset, int limit) {
+        checkPage(offset, limit);
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllTodos(offset, limit);
+        }
+        if (strategy instanceof IndexedSearch) {
+            IndexedSearch indexed = (IndexedSearch) strategy;
+            return searchIndex().search(keyword, indexed.getField(), offset, Math.min(limit, indexed.getLimit()));
+        }
+        return scan(this::readChunk, Integer.MIN_VALUE, offset, limit, filterFor(keyword, strategy));
+    }
+
+    // Ranked IndexedSearch pages use the index's own cursors; every other strategy pages by id
+    public Page<Todo> searchTodosPage(String keyword, SearchStrategy strategy, String cursor, int limit) {
+        checkPage(0, limit);
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return getAllTodosPage(cursor, limit);
+        }
+        if (strategy instanceof IndexedSearch) {
+            IndexedSearch indexed = (IndexedSearch) strategy;
+            return searchIndex().searchPage(keyword, indexed.getField(), cursor, Math.min(limit, indexed.getLimit()));
+        }
+        List<Todo> fetched = scan(this::readChunk, idCursor(cursor), 0, fetchSize(limit), filterFor(keyword, strategy));
+        return Page.of(fetched, limit, TodoService::idCursorOf);
+    }
+
+    // Queries are compiled up front, so a malformed one fails even when nothing would be scanned
+    private static Predicate<Todo> filterFor(String keyword, SearchStrategy strategy) {
+        if (strategy instanceof QuerySearch) return QueryParser.compile(keyword);
+        return t -> strategy.matches(t, keyword);
+    }
+
+    // Walks a source in id-ordered chunks, so a page stops reading once it is full
+    private List<Todo> scan(TodoCursor.ChunkReader source, int afterId, int skip, int limit, Predicate<? super Todo> filter) {
+        List<Todo> result = new ArrayList<>(Math.min(limit, SCAN_CHUNK));
+        while (result.size() < limit) {
+            List<Todo> chunk = source.read(afterId, SCAN_CHUNK);
+            for (Todo todo : chunk) {
+                if (result.size() == limit) break;
+                if (!filter.test(todo)) continue;
+                if (skip > 0) skip--;
+                else result.add(todo);
+            }
+            if (chunk.size() < SCAN_CHUNK) break;
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        return result;
+    }
+
+    private static void checkPage(int offset, int limit) {
+        if (offset < 0) throw new IllegalArgumentException("Offset must not be negative");
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+    }
+
+    // One extra item tells Page whether another page follows
+    private static int fetchSize(int limit) {
+        return limit == Integer.MAX_VALUE ? limit : limit + 1;
+    }
+
+    private static int idCursor(String cursor) {
+        return cursor == null ? Integer.MIN_VALUE : parseCursorInt(cursor, cursor);
+    }
+
+    private static String idCursorOf(Todo todo) {
+        return String.valueOf(todo.getId());
+    }
+
+    // A missing priority is indexed as MEDIUM
+    private static String priorityCursorOf(Todo todo) {
+        Priority priority = todo.getPriority() == null ? Priority.MEDIUM : todo.getPriority();
+        return priority.ordinal() + ":" + todo.getId();
+    }
+
+    private static int parseCursorInt(String text, String cursor) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+    }
+
+    // Builds the index from the current contents while holding every stripe,
+    // so no concurrent add or delete can slip between the scan and the hand-off
+    private SearchIndex searchIndex() {
+        SearchIndex index = searchIndex;
+        if (index != null) return index;
+        locks.lockAll();
+        try {
+            if (searchIndex == null) {
+                SearchIndex built = new SearchIndex();
+                todos.forEach(built::add);
+                searchIndex = built;
+            }
+            return searchIndex;
+        } finally {
+            locks.unlockAll();
+        }
+    }
+
+    // Built the same way as the search index, then kept current by every mutation
+    private PriorityIndex priorityIndex() {
+        PriorityIndex index = priorityIndex;
+        if (index != null) return index;
+        locks.lockAll();
+        try {
+            if (priorityIndex == null) {
+                PriorityIndex built = new PriorityIndex();
+                todos.forEach(built::onAdded);
+                priorityIndex = built;
+            }
+            return priorityIndex;
+        } finally {
+            locks.unlockAll();
+        }
+    }
+
     // --- Service Methods ---
     public Todo addTodo(String title, String description) {
         if (title == null || title.trim().isEmpty()) throw new IllegalArgumentException("Title cannot be empty");
         
-        Todo todo = TodoFactory.createTodo(nextId++, title.trim(), description != null ? description.trim() : "");
-        todos.add(todo);
-        notifyObservers("Added: " + title);
+        Todo todo = TodoFactory.createTodo(nextId.getAndIncrement(), title.trim(), description != null ? description.trim() : "");
+        TodoEvent event;
+        Lock lock = locks.forId(todo.getId());
+        lock.lock();
+        try {
+            todo = todos.add(todo);
+            statusIndex.onAdded(todo);
+            SearchIndex index = searchIndex;
+            if (index != null) index.add(todo);
+            PriorityIndex byPriority = priorityIndex;
+            if (byPriority != null) byPriority.onAdded(todo);
+            event = TodoEvent.added(todo);
+            journal(event);
+        } finally {
+            lock.unlock();
+        }
+        notifyObservers(event);
         return todo;
     }
 
+    /**
+     * Puts a previously removed todo back under its original id, e.g. to undo
+     * a delete. Returns false if that id is already in use.
+     */
+    public boolean restoreTodo(Todo todo) {
+        int parentId = todo.getParentId();
+        if (parentId == 0) return restoreTopLevel(todo);
+        // A nested todo goes back under its parent if that still exists, else to the top level
+        boolean[] restored = new boolean[1];
+        runBatch(() -> {
+            restored[0] = restoreTopLevel(todo);
+            if (restored[0] && todos.get(parentId) != null) moveTodo(todo.getId(), parentId);
+        });
+        return restored[0];
+    }
+
+    private boolean restoreTopLevel(Todo todo) {
+        TodoEvent event;
+        Lock lock = locks.forId(todo.getId());
+        lock.lock();
+        try {
+            if (todos.get(todo.getId()) != null) return false;
+            nextId.accumulateAndGet(todo.getId() + 1, Math::max);
+            Todo stored = todos.add(todo);
+            stored.setParentId(0);
+            statusIndex.onAdded(stored);
+            SearchIndex index = searchIndex;
+            if (index != null) index.add(stored);
+            PriorityIndex byPriority = priorityIndex;
+            if (byPriority != null) byPriority.onAdded(stored);
+            event = TodoEvent.added(stored);
+            journal(event);
+        } finally {
+            lock.unlock();
+        }
+        notifyObservers(event);
+        return true;
+    }
+
+    // Children of the deleted todo move up to its parent; deleteSubtree removes them too
     public boolean deleteTodo(int id) {
-        boolean removed = todos.removeIf(todo -> todo.getId() == id);
-        if (removed) {
-            notifyObservers("Deleted ID: " + id);
+        List<TodoEvent> events = new ArrayList<>(1);
+        boolean nested;
+        boolean deleted = false;
+        Lock lock = locks.forId(id);
+        lock.lock();
+        try {
+            // Children are only ever added under every stripe, so a childless todo stays childless here
+            nested = hierarchy.hasChildren(id);
+            if (!nested) deleted = removeLocked(id, events);
+        } finally {
+            lock.unlock();
+        }
+        if (nested) {
+            // Re-parenting writes to the children, which live on other stripes
+            locks.lockAll();
+            try {
+                deleted = removeLocked(id, events);
+            } finally {
+                locks.unlockAll();
+            }
         }
-        return removed;
+        publishBatch(events);
+        return deleted;
     }
 
-    // FIXED: Uses setStatus("COMPLETED") instead of setCompleted(true)
-    public boolean completeTodo(int id) {
-        Optional<Todo> todo = findTodoById(id);
-        if (todo.isPresent()) {
-            todo.get().setStatus("COMPLETED");
-            notifyObservers("Completed ID: " + id);
-            return true;
+    private boolean removeLocked(int id, List<TodoEvent> events) {
+        Todo todo = todos.remove(id);
+        if (todo == null) return false;
+        statusIndex.onRemoved(todo);
+        SearchIndex index = searchIndex;
+        if (index != null) index.remove(id);
+        PriorityIndex byPriority = priorityIndex;
+        if (byPriority != null) byPriority.onRemoved(todo);
+        int[] orphans = hierarchy.onRemoved(todo);
+        TodoEvent event = TodoEvent.removed(todo);
+        journal(event);
+        events.add(event);
+        for (int childId : orphans) {
+            Todo child = todos.get(childId);
+            child.setParentId(todo.getParentId());
+            TodoEvent moved = TodoEvent.moved(child);
+            journal(moved);
+            events.add(moved);
+        }
+        return true;
+    }
+
+    public boolean updateTodo(int id, String title, String description) {
+        if (title == null || title.trim().isEmpty()) throw new IllegalArgumentException("Title cannot be empty");
+
+        TodoEvent event;
+        Lock lock = locks.forId(id);
+        lock.lock();
+        try {
+            Todo todo = todos.get(id);
+            if (todo == null) return false;
+            todo.setTitle(title.trim());
+            todo.setDescription(description != null ? description.trim() : "");
+            SearchIndex index = searchIndex;
+            if (index != null) index.add(todo);
+            event = TodoEvent.updated(todo);
+            journal(event);
+        } finally {
+            lock.unlock();
         }
-        return false;
+        notifyObservers(event);
+        return true;
     }
 
-    // FIXED: Uses setStatus("PENDING") instead of setCompleted(false)
+    // FIXED: Uses setStatus(COMPLETED) instead of setCompleted(true)
+    public boolean completeTodo(int id) {
+        return changeStatus(id, Status.COMPLETED) != null;
+    }
+
+    // FIXED: Uses setStatus(PENDING) instead of setCompleted(false)
     public boolean uncompleteTodo(int id) {
-        Optional<Todo> todo = findTodoById(id);
-        if (todo.isPresent()) {
-            todo.get().setStatus("PENDING");
-            return true;
+        return changeStatus(id, Status.PENDING) != null;
+    }
+
+    // Flips between pending and completed in one step, so concurrent toggles cannot both read the old status
+    public boolean toggleTodo(int id) {
+        return toggleStatus(id) != null;
+    }
+
+    // The same flip, returning the status it replaced (null for unknown ids) so undo can put it back
+    public Status toggleStatus(int id) {
+        return changeStatus(id, null);
+    }
+
+    // Any status, ERROR included; undo uses it to put back exactly what was there
+    public boolean setStatus(int id, Status status) {
+        return changeStatus(id, Objects.requireNonNull(status, "status")) != null;
+    }
+
+    // Returns the replaced status, a missing one read as PENDING, or null for unknown ids; setting
+    // the current status again is a silent no-op. A null status toggles, completing anything that
+    // is not already completed.
+    private Status changeStatus(int id, Status status) {
+        TodoEvent event;
+        Status replaced;
+        Lock lock = locks.forId(id);
+        lock.lock();
+        try {
+            Todo todo = todos.get(id);
+            if (todo == null) return null;
+            Status oldStatus = todo.getStatus();
+            replaced = oldStatus != null ? oldStatus : Status.PENDING;
+            if (status == null) status = todo.isCompleted() ? Status.PENDING : Status.COMPLETED;
+            if (status == oldStatus) return replaced;
+            todo.setStatus(status);
+            statusIndex.onStatusChanged(todo, oldStatus);
+            hierarchy.onStatusChanged(todo, oldStatus);
+            PriorityIndex byPriority = priorityIndex;
+            if (byPriority != null) byPriority.onStatusChanged(todo, oldStatus);
+            event = TodoEvent.statusChanged(todo, oldStatus);
+            journal(event);
+        } finally {
+            lock.unlock();
         }
-        return false;
+        notifyObservers(event);
+        return replaced;
     }
 
-    public Optional<Todo> findTodoById(int id) {
-        return todos.stream().filter(todo -> todo.getId() == id).findFirst();
+    // Returns false only for unknown ids; setting the current priority again is a silent no-op
+    public boolean setPriority(int id, Priority priority) {
+        Objects.requireNonNull(priority, "priority");
+        TodoEvent event;
+        Lock lock = locks.forId(id);
+        lock.lock();
+        try {
+            Todo todo = todos.get(id);
+            if (todo == null) return false;
+            Priority oldPriority = todo.getPriority();
+            if (priority == oldPriority) return true;
+            todo.setPriority(priority);
+            PriorityIndex byPriority = priorityIndex;
+            if (byPriority != null) byPriority.onPriorityChanged(todo, oldPriority);
+            hierarchy.onPriorityChanged(todo, oldPriority);
+            event = TodoEvent.priorityChanged(todo);
+            journal(event);
+        } finally {
+            lock.unlock();
+        }
+        notifyObservers(event);
+        return true;
     }
 
-    public List<Todo> getAllTodos() { return new ArrayList<>(todos); }
-    
-    // FIXED: Uses "COMPLETED".equals(status) to check if complete
-    public List<Todo> getCompletedTodos() { 
-        return todos.stream().filter(t -> "COMPLETED".equals(t.getStatus())).collect(Collectors.toList()); 
+    // --- Hierarchy ---
+    // Nested todos: every todo has at most one parent (0 means top level), and each keeps a
+    // rollup of its subtree that is updated along the ancestor path on every change.
+
+    public Todo addTodo(String title, String description, int parentId) {
+        if (parentId == 0) return addTodo(title, description);
+        Todo[] added = new Todo[1];
+        runBatch(() -> {
+            if (todos.get(parentId) == null) throw new IllegalArgumentException("No todo with id " + parentId);
+            added[0] = addTodo(title, description);
+            moveTodo(added[0].getId(), parentId);
+        });
+        return added[0];
     }
-    
-    // FIXED: Uses !"COMPLETED".equals(status) to check if pending
-    public List<Todo> getPendingTodos() { 
-        return todos.stream().filter(t -> !"COMPLETED".equals(t.getStatus())).collect(Collectors.toList()); 
+
+    /**
+     * Moves a todo and its subtree under {@code parentId}, or to the top
+     * level for 0. Returns false for an unknown id; throws
+     * IllegalArgumentException for an unknown parent or a move that would
+     * put a todo under its own subtree.
+     */
+    public boolean moveTodo(int id, int parentId) {
+        TodoEvent event;
+        locks.lockAll();
+        try {
+            Todo todo = todos.get(id);
+            if (todo == null) return false;
+            Todo parent = null;
+            if (parentId != 0) {
+                parent = todos.get(parentId);
+                if (parent == null) throw new IllegalArgumentException("No todo with id " + parentId);
+            }
+            if (todo.getParentId() == parentId) return true;
+            hierarchy.attach(todo, parent);
+            todo.setParentId(parentId);
+            event = TodoEvent.moved(todo);
+            journal(event);
+        } finally {
+            locks.unlockAll();
+        }
+        notifyObservers(event);
+        return true;
+    }
+
+    // Deletes the todo and all its descendants, deepest first; returns how many were removed
+    public int deleteSubtree(int id) {
+        int[] deleted = new int[1];
+        runBatch(() -> {
+            for (int member : hierarchy.subtreePostOrder(id)) {
+                if (deleteTodo(member)) deleted[0]++;
+            }
+        });
+        return deleted[0];
+    }
+
+    // Direct children in id order
+    public List<Todo> getChildren(int id) {
+        int[] ids = hierarchy.children(id);
+        List<Todo> children = new ArrayList<>(ids.length);
+        for (int childId : ids) {
+            Todo child = todos.get(childId);
+            if (child != null) children.add(child);
+        }
+        return children;
+    }
+
+    // Total, completed and highest priority over the todo and its descendants, read in O(1)
+    public Optional<TaskRollup> getRollup(int id) {
+        return findTodoById(id).map(hierarchy::rollup);
+    }
+
+    // --- Batches ---
+
+    /**
+     * Runs {@code work} with every stripe held, so other threads see none or
+     * all of its changes. Events raised inside are held back and published
+     * as one BATCH event at the end, even if {@code work} throws, so
+     * observers stay in step with whatever was applied. Nested calls join
+     * the outer batch.
+     */
+    public void runBatch(Runnable work) {
+        if (pendingBatch.get() != null) {
+            work.run();
+            return;
+        }
+        List<TodoEvent> events = new ArrayList<>();
+        locks.lockAll();
+        pendingBatch.set(events);
+        try {
+            work.run();
+        } finally {
+            pendingBatch.remove();
+            locks.unlockAll();
+            publishBatch(events);
+        }
+    }
+
+    /**
+     * Like runBatch, for work that undoes everything it changed before it
+     * throws, as CompositeCommand does. The events of a failed run are then
+     * dropped, since they would only show observers changes that cancel
+     * out; nested in another batch, only this work's events are dropped.
+     */
+    public void runRevertibleBatch(Runnable work) {
+        runBatch(() -> {
+            List<TodoEvent> events = pendingBatch.get();
+            int mark = events.size();
+            try {
+                work.run();
+            } catch (RuntimeException | Error e) {
+                events.subList(mark, events.size()).clear();
+                throw e;
+            }
+        });
+    }
+
+    private void publishBatch(List<TodoEvent> events) {
+        if (events.size() == 1) notifyObservers(events.get(0));
+        else if (!events.isEmpty()) notifyObservers(TodoEvent.batch(events));
+    }
+
+    // Adds every title or, if any is empty, none of them
+    public List<Todo> addTodos(List<String> titles) {
+        for (String title : titles) {
+            if (title == null || title.trim().isEmpty()) throw new IllegalArgumentException("Title cannot be empty");
+        }
+        List<Todo> added = new ArrayList<>(titles.size());
+        runBatch(() -> {
+            for (String title : titles) added.add(addTodo(title, ""));
+        });
+        return added;
+    }
+
+    // Returns how many of the ids existed
+    public int deleteTodos(Collection<Integer> ids) {
+        int[] deleted = new int[1];
+        runBatch(() -> {
+            for (int id : ids) if (deleteTodo(id)) deleted[0]++;
+        });
+        return deleted[0];
     }
+
+    // Returns how many of the ids existed
+    public int completeTodos(Collection<Integer> ids) {
+        int[] completed = new int[1];
+        runBatch(() -> {
+            for (int id : ids) if (completeTodo(id)) completed[0]++;
+        });
+        return completed[0];
+    }
+
+    // Must run inside the lock that guards the mutation so journal order matches apply order
+    private void journal(TodoEvent event) {
+        StorageEngine engine = storage;
+        if (engine != null) engine.record(event);
+    }
+
+    public Optional<Todo> findTodoById(int id) {
+        return Optional.ofNullable(todos.get(id));
+    }
+
+    // A copy of the whole store; streamTodos() and getIterator() walk it without copying
+    public List<Todo> getAllTodos() { return readConsistently(todos::toList); }
+    
+    // Served from the status index, so cost is proportional to the result size
+    public List<Todo> getCompletedTodos() { return readConsistently(statusIndex::getCompleted); }
+    public List<Todo> getPendingTodos() { return readConsistently(statusIndex::getPending); }
     
     public int getTotalCount() { return todos.size(); }
-    public int getCompletedCount() { return getCompletedTodos().size(); }
-    public int getPendingCount() { return getTotalCount() - getCompletedCount(); }
-    public void clearAllTodos() { todos.clear(); nextId = 1; notifyObservers("Cleared all"); }
+    public long getEstimatedBytes() { return todos.estimatedBytes(); }
+    public int getCompletedCount() { return statusIndex.getCompletedCount(); }
+    public int getPendingCount() { return statusIndex.getPendingCount(); }
+    // Most urgent first, oldest first within a priority; served from the priority index in O(limit)
+    public List<Todo> getTodosByPriority(int limit) { return priorityIndex().sorted(limit); }
+    public List<Todo> getTopPendingTodos(int k) { return priorityIndex().topPending(k); }
+    public int getCountByPriority(Priority priority) { return priorityIndex().getCount(priority); }
+
+    public int getCountByStatus(Status status) { return statusIndex.getCount(status); }
+    // Lenient form for callers holding raw text; unknown values count as zero
+    public int getCountByStatus(String status) {
+        Status parsed = Status.lookup(status);
+        return parsed == null ? 0 : statusIndex.getCount(parsed);
+    }
+    public void clearAllTodos() {
+        TodoEvent event = TodoEvent.cleared();
+        locks.lockAll();
+        try {
+            todos.clear();
+            statusIndex.clear();
+            if (searchIndex != null) searchIndex.clear();
+            if (priorityIndex != null) priorityIndex.clear();
+            hierarchy.clear();
+            nextId.set(1);
+            journal(event);
+        } finally {
+            locks.unlockAll();
+        }
+        notifyObservers(event);
+    }
+
+    // --- Persistence ---
+
+    /**
+     * Writes a snapshot of the whole store and drops the journal it
+     * supersedes. Writers are paused only while the journal is rotated and
+     * the contents are listed; the file itself is written afterwards.
+     */
+    public void checkpoint() throws IOException {
+        StorageEngine engine = storage;
+        if (engine == null) return;
+        synchronized (engine) {
+            long generation;
+            List<Todo> contents;
+            int next;
+            locks.lockAll();
+            try {
+                generation = engine.rotate();
+                contents = todos.toList();
+                next = nextId.get();
+            } finally {
+                locks.unlockAll();
+            }
+            engine.writeSnapshot(generation, contents, next);
+        }
+    }
+
+    // The latest journal or snapshot failure; observers also get a message when one happens
+    public Optional<IOException> getStorageFailure() {
+        StorageEngine engine = storage;
+        return engine == null ? Optional.empty() : engine.getLastFailure();
+    }
+
+    // Flushes and closes the journal; the service keeps working in memory afterwards
+    public void closeStorage() throws IOException {
+        StorageEngine engine = storage;
+        if (engine == null) return;
+        locks.lockAll();
+        try {
+            storage = null;
+        } finally {
+            locks.unlockAll();
+        }
+        engine.close();
+    }
 }
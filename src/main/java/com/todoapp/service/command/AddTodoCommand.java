@@ -1,11 +1,13 @@
 package com.todoapp.service.command;
 
+import com.todoapp.model.Todo;
 import com.todoapp.service.TodoService;
 
 public class AddTodoCommand implements Command {
     private TodoService service;
     private String title;
     private String description;
+    private Todo created;
 
     public AddTodoCommand(TodoService service, String title, String description) {
         this.service = service;
@@ -15,6 +17,24 @@ public class AddTodoCommand implements Command {
 
     @Override
     public void execute() {
-        service.addTodo(title, description);
+        // A redo puts the same todo back so later commands keep pointing at its id
+        if (created == null) {
+            created = service.addTodo(title, description);
+        } else {
+            service.restoreTodo(created);
+        }
+    }
+
+    @Override
+    public void undo() {
+        if (created != null) {
+            // Keep the latest values so a redo restores the todo as it was
+            created = service.findTodoById(created.getId()).orElse(created);
+            service.deleteTodo(created.getId());
+        }
+    }
+
+    public Todo getCreated() {
+        return created;
     }
 }
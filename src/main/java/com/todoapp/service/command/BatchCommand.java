@@ -0,0 +1,29 @@
+package com.todoapp.service.command;
+
+import com.todoapp.service.TodoService;
+import java.util.List;
+
+/**
+ * A CompositeCommand run inside {@link TodoService#runBatch}: all members
+ * apply under one acquisition of the service locks, observers get a single
+ * BATCH event, and a failing member rolls the others back before any other
+ * writer or observer can see them. Undo is batched the same way.
+ */
+public class BatchCommand extends CompositeCommand {
+    private final TodoService service;
+
+    public BatchCommand(TodoService service, List<? extends Command> commands) {
+        super(commands);
+        this.service = service;
+    }
+
+    @Override
+    public void execute() {
+        service.runRevertibleBatch(super::execute);
+    }
+
+    @Override
+    public void undo() {
+        service.runBatch(super::undo);
+    }
+}
@@ -2,4 +2,7 @@ package com.todoapp.service.command;
 
 public interface Command {
     void execute();
+
+    // Reverts the effect of the last execute() through the inverse service call
+    void undo();
 }
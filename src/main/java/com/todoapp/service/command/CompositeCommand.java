@@ -0,0 +1,44 @@
+package com.todoapp.service.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs several commands as one undo unit. If a command fails part way, the
+ * ones already applied are undone in reverse order before the error is
+ * rethrown, so the group is applied either fully or not at all.
+ */
+public class CompositeCommand implements Command {
+    private final List<Command> commands;
+
+    public CompositeCommand(List<? extends Command> commands) {
+        this.commands = new ArrayList<>(commands);
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                commands.get(i).execute();
+            } catch (RuntimeException e) {
+                undoFrom(i - 1);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void undo() {
+        undoFrom(commands.size() - 1);
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    private void undoFrom(int last) {
+        for (int i = last; i >= 0; i--) {
+            commands.get(i).undo();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.todoapp.service.command;
 
+import com.todoapp.model.Todo;
 import com.todoapp.service.TodoService;
 
 public class DeleteTodoCommand implements Command {
     private TodoService service;
     private int id;
+    private Todo removed;
+    private int[] orphans; // children that deleteTodo moved up to the removed todo's parent
 
     public DeleteTodoCommand(TodoService service, int id) {
         this.service = service;
@@ -13,6 +16,26 @@ public class DeleteTodoCommand implements Command {
 
     @Override
     public void execute() {
-        service.deleteTodo(id);
+        // One batch, so no child can be added or moved between reading the children and deleting
+        service.runBatch(() -> {
+            Todo todo = service.findTodoById(id).orElse(null);
+            orphans = todo == null ? new int[0] : service.getChildren(id).stream().mapToInt(Todo::getId).toArray();
+            removed = todo != null && service.deleteTodo(id) ? todo : null;
+        });
+    }
+
+    @Override
+    public void undo() {
+        if (removed == null) return;
+        Todo todo = removed;
+        service.runBatch(() -> {
+            if (!service.restoreTodo(todo)) return;
+            for (int childId : orphans) {
+                // Only children still where the delete left them go back
+                Todo child = service.findTodoById(childId).orElse(null);
+                if (child != null && child.getParentId() == todo.getParentId()) service.moveTodo(childId, id);
+            }
+        });
+        removed = null;
     }
 }
@@ -1,10 +1,12 @@
 package com.todoapp.service.command;
 
+import com.todoapp.model.Status;
 import com.todoapp.service.TodoService;
 
 public class ToggleStatusCommand implements Command {
     private TodoService service;
     private int todoId;
+    private Status previous; // null until a toggle has been applied
 
     public ToggleStatusCommand(TodoService service, int todoId) {
         this.service = service;
@@ -13,15 +15,15 @@ public class ToggleStatusCommand implements Command {
 
     @Override
     public void execute() {
-        // We check the current status and flip it
-        // Note: This logic assumes your Service has findTodoById
-        var todo = service.findTodoById(todoId);
-        if (todo.isPresent()) {
-            if ("COMPLETED".equals(todo.get().getStatus())) {
-                service.uncompleteTodo(todoId);
-            } else {
-                service.completeTodo(todoId);
-            }
-        }
+        // One atomic flip; the service reports the status it actually replaced
+        previous = service.toggleStatus(todoId);
+    }
+
+    @Override
+    public void undo() {
+        if (previous == null) return;
+        // The exact status, so undoing a toggle of an ERROR todo brings ERROR back
+        service.setStatus(todoId, previous);
+        previous = null;
     }
 }
@@ -1,5 +1,5 @@
 package com.todoapp.service.iterator;
 
-public interface Container {
-    Iterator getIterator();
+public interface Container<T> {
+    Iterator<T> getIterator();
 }
@@ -0,0 +1,12 @@
+package com.todoapp.service.iterator;
+
+import com.todoapp.model.Status;
+
+/**
+ * Receives the id and status of each todo during a primitive scan, so
+ * counting or filtering by status needs no Todo instance per row.
+ */
+@FunctionalInterface
+public interface IdStatusVisitor {
+    void visit(int id, Status status);
+}
@@ -1,6 +1,7 @@
 package com.todoapp.service.iterator;
 
-public interface Iterator {
+public interface Iterator<T> {
     boolean hasNext();
-    Object next();
+    // Null once the iteration is exhausted
+    T next();
 }
@@ -0,0 +1,93 @@
+package com.todoapp.service.iterator;
+
+import com.todoapp.model.Todo;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Id-ordered cursor that walks a store in place, a small chunk at a time,
+ * resuming each chunk after the last id it returned. Nothing beyond one
+ * chunk is copied, and adds or removes made during the walk neither break
+ * it nor make it repeat a todo. The cursor covers ids up to a fixed bound
+ * taken when it is created, so todos added later are not visited.
+ * Splits halve the remaining id range, which lets parallel streams use it;
+ * size estimates are capped by the store's size when the cursor was made,
+ * so a sparse id range still looks as small as it is.
+ */
+public final class TodoCursor implements Spliterator<Todo>, Iterator<Todo> {
+    private static final int CHUNK = 256;
+
+    // Up to limit todos with an id above afterId, in id order
+    @FunctionalInterface
+    public interface ChunkReader {
+        List<Todo> read(int afterId, int limit);
+    }
+
+    private final ChunkReader reader;
+    private final int lastId; // inclusive
+    private final long sizeBound;
+    private int afterId;
+    private List<Todo> buffer = Collections.emptyList();
+    private int position;
+    private boolean exhausted;
+
+    public TodoCursor(ChunkReader reader, int afterId, int lastId, long sizeBound) {
+        this.reader = reader;
+        this.afterId = afterId;
+        this.lastId = lastId;
+        this.sizeBound = sizeBound;
+        this.exhausted = afterId >= lastId;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < buffer.size()) return true;
+        if (exhausted) return false;
+        List<Todo> chunk = reader.read(afterId, CHUNK);
+        int n = chunk.size();
+        while (n > 0 && chunk.get(n - 1).getId() > lastId) n--;
+        exhausted = chunk.size() < CHUNK || n < chunk.size();
+        buffer = n == chunk.size() ? chunk : chunk.subList(0, n);
+        position = 0;
+        if (n > 0) afterId = buffer.get(n - 1).getId();
+        return n > 0;
+    }
+
+    @Override
+    public Todo next() {
+        return hasNext() ? buffer.get(position++) : null;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Todo> action) {
+        if (!hasNext()) return false;
+        action.accept(buffer.get(position++));
+        return true;
+    }
+
+    // Hands off the lower half of the unread id range; buffered todos stay here
+    @Override
+    public Spliterator<Todo> trySplit() {
+        if (exhausted || position < buffer.size()) return null;
+        long span = (long) lastId - afterId;
+        if (span < 2L * CHUNK) return null;
+        int mid = (int) (afterId + span / 2);
+        TodoCursor prefix = new TodoCursor(reader, afterId, mid, sizeBound);
+        afterId = mid;
+        return prefix;
+    }
+
+    // Ids are unique, so the unread id range bounds the remaining count, as does the store size
+    @Override
+    public long estimateSize() {
+        long buffered = buffer.size() - position;
+        return exhausted ? buffered : buffered + Math.min((long) lastId - afterId, sizeBound);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | CONCURRENT;
+    }
+}
@@ -0,0 +1,201 @@
+package com.todoapp.service.observer;
+
+import java.awt.Component;
+import java.awt.SecondaryLoop;
+import java.awt.Toolkit;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
+
+/**
+ * Delivers events off the mutating thread. Every observer gets its own
+ * bounded queue and single worker, so a slow observer only delays itself.
+ *
+ * The worker waits up to {@code lingerMillis} after the first queued event
+ * and hands everything that arrived in that window to the observer as one
+ * BATCH event, so a burst of 10k adds becomes a handful of deliveries.
+ * A full queue blocks the publisher (backpressure), which shows up in
+ * {@link #getMetrics()}. Observers that are Swing components are called
+ * on the event dispatch thread, and their worker waits for each delivery
+ * to finish, so a busy EDT pushes back on publishers instead of piling up
+ * runnables. A publisher on the EDT itself keeps dispatching events while
+ * it waits for queue space.
+ */
+public class AsyncEventDispatcher implements EventDispatcher {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final long DEFAULT_LINGER_MILLIS = 16;
+
+    private final int capacity;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final Map<Observer, Channel> channels = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    public AsyncEventDispatcher() {
+        this(DEFAULT_CAPACITY, DEFAULT_CAPACITY, DEFAULT_LINGER_MILLIS);
+    }
+
+    public AsyncEventDispatcher(int capacity, int maxBatch, long lingerMillis) {
+        if (capacity <= 0 || maxBatch <= 0 || lingerMillis < 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive, linger non-negative");
+        }
+        this.capacity = capacity;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    }
+
+    @Override
+    public void dispatch(Observer observer, TodoEvent event) {
+        if (shutdown) throw new IllegalStateException("Dispatcher has been shut down");
+        channels.computeIfAbsent(observer, Channel::new).publish(event);
+    }
+
+    @Override
+    public void release(Observer observer) {
+        Channel channel = channels.remove(observer);
+        if (channel != null) channel.close();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Channel channel : channels.values()) {
+            channel.close();
+        }
+        channels.clear();
+    }
+
+    public List<DispatchMetrics> getMetrics() {
+        List<DispatchMetrics> metrics = new ArrayList<>();
+        for (Channel channel : channels.values()) {
+            metrics.add(channel.metrics());
+        }
+        return metrics;
+    }
+
+    private final class Channel implements Runnable {
+        private final Observer observer;
+        private final boolean swing;
+        private final BlockingQueue<TodoEvent> queue = new ArrayBlockingQueue<>(capacity);
+        private final ExecutorService worker;
+
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicInteger largestBatch = new AtomicInteger();
+        private final AtomicLong blockedPublishes = new AtomicLong();
+        private final AtomicLong blockedNanos = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        Channel(Observer observer) {
+            this.observer = observer;
+            this.swing = observer instanceof Component;
+            this.worker = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "todo-events-" + observer.getClass().getSimpleName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            worker.execute(this);
+        }
+
+        void publish(TodoEvent event) {
+            published.incrementAndGet();
+            if (queue.offer(event)) return;
+            blockedPublishes.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                if (swing && SwingUtilities.isEventDispatchThread()) putFromEdt(event);
+                else queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for observer queue space", e);
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        // The worker drains the queue only through the EDT, so blocking the EDT here would
+        // deadlock; a secondary loop keeps it dispatching until a helper thread gets the slot
+        private void putFromEdt(TodoEvent event) {
+            SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue().createSecondaryLoop();
+            Thread putter = new Thread(() -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    loop.exit();
+                }
+            }, "todo-events-edt-publish");
+            putter.setDaemon(true);
+            putter.start();
+            loop.enter();
+        }
+
+        @Override
+        public void run() {
+            List<TodoEvent> batch = new ArrayList<>();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + lingerNanos;
+                    while (batch.size() < maxBatch) {
+                        queue.drainTo(batch, maxBatch - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= maxBatch || remaining <= 0) break;
+                        TodoEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+                    deliver(batch.size() == 1 ? batch.get(0) : TodoEvent.batch(new ArrayList<>(batch)), batch.size());
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void deliver(TodoEvent event, int size) throws InterruptedException {
+            batches.incrementAndGet();
+            largestBatch.accumulateAndGet(size, Math::max);
+            Runnable call = () -> {
+                try {
+                    observer.onEvent(event);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    delivered.addAndGet(size);
+                }
+            };
+            if (swing) {
+                try {
+                    SwingUtilities.invokeAndWait(call);
+                } catch (InvocationTargetException e) {
+                    failures.incrementAndGet(); // an Error; call() already counts exceptions
+                }
+            } else {
+                call.run();
+            }
+        }
+
+        void close() {
+            worker.shutdownNow();
+        }
+
+        DispatchMetrics metrics() {
+            return new DispatchMetrics(observer.getClass().getSimpleName(), queue.size(), capacity,
+                    published.get(), delivered.get(), batches.get(), largestBatch.get(),
+                    blockedPublishes.get(), blockedNanos.get(), failures.get());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.todoapp.service.observer;
+
+// Point-in-time counters for one observer's asynchronous delivery channel
+public class DispatchMetrics {
+    private final String observer;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long published;
+    private final long delivered;
+    private final long batches;
+    private final int largestBatch;
+    private final long blockedPublishes;
+    private final long blockedNanos;
+    private final long failures;
+
+    public DispatchMetrics(String observer, int queueDepth, int queueCapacity, long published, long delivered,
+                           long batches, int largestBatch, long blockedPublishes, long blockedNanos, long failures) {
+        this.observer = observer;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.published = published;
+        this.delivered = delivered;
+        this.batches = batches;
+        this.largestBatch = largestBatch;
+        this.blockedPublishes = blockedPublishes;
+        this.blockedNanos = blockedNanos;
+        this.failures = failures;
+    }
+
+    public String getObserver() { return observer; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getPublished() { return published; }
+    public long getDelivered() { return delivered; }
+    public long getBatches() { return batches; }
+    public int getLargestBatch() { return largestBatch; }
+    // Publishes that found the queue full and had to wait: the backpressure signal
+    public long getBlockedPublishes() { return blockedPublishes; }
+    public long getBlockedNanos() { return blockedNanos; }
+    public long getFailures() { return failures; }
+
+    @Override
+    public String toString() {
+        return "DispatchMetrics [observer=" + observer + ", depth=" + queueDepth + "/" + queueCapacity
+                + ", published=" + published + ", delivered=" + delivered + ", batches=" + batches
+                + ", largestBatch=" + largestBatch + ", blocked=" + blockedPublishes
+                + ", blockedMs=" + blockedNanos / 1_000_000 + ", failures=" + failures + "]";
+    }
+}
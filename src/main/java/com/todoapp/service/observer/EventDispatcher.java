@@ -0,0 +1,11 @@
+package com.todoapp.service.observer;
+
+// Decides how and on which thread a TodoEvent reaches an observer
+public interface EventDispatcher {
+    void dispatch(Observer observer, TodoEvent event);
+
+    // Called when an observer is unregistered so per-observer resources can be freed
+    default void release(Observer observer) { }
+
+    default void shutdown() { }
+}
@@ -2,4 +2,9 @@ package com.todoapp.service.observer;
 
 public interface Observer {
     void update(String message);
+
+    // Typed notification; observers that only care about text keep getting the message
+    default void onEvent(TodoEvent event) {
+        update(event.getMessage());
+    }
 }
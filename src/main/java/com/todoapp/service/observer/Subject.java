@@ -4,4 +4,5 @@ public interface Subject {
     void registerObserver(Observer observer);
     void removeObserver(Observer observer);
     void notifyObservers(String message);
+    void notifyObservers(TodoEvent event);
 }
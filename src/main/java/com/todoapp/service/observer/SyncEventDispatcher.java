@@ -0,0 +1,9 @@
+package com.todoapp.service.observer;
+
+// Default dispatcher: delivers on the mutating thread before the service call returns
+public class SyncEventDispatcher implements EventDispatcher {
+    @Override
+    public void dispatch(Observer observer, TodoEvent event) {
+        observer.onEvent(event);
+    }
+}
@@ -0,0 +1,108 @@
+package com.todoapp.service.observer;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed change notification published by TodoService. Each event names the
+ * affected todo so observers can apply a delta instead of re-querying;
+ * BATCH events carry several changes delivered together. The title,
+ * status, priority and parent are captured when the event is created, so
+ * an observer reached later (e.g. through the async dispatcher) sees the
+ * values of this change rather than of whatever followed it.
+ */
+public final class TodoEvent {
+
+    public enum Type { ADDED, REMOVED, STATUS_CHANGED, PRIORITY_CHANGED, UPDATED, MOVED, CLEARED, BATCH }
+
+    private final Type type;
+    private final int todoId;
+    private final Todo todo;
+    private final String title;
+    private final Status status;
+    private final Priority priority;
+    private final int parentId;
+    private final Status previousStatus;
+    private final List<TodoEvent> events;
+
+    private TodoEvent(Type type, int todoId, Todo todo, Status previousStatus, List<TodoEvent> events) {
+        this.type = type;
+        this.todoId = todoId;
+        this.todo = todo;
+        this.title = todo == null ? null : todo.getTitle();
+        this.status = todo == null ? null : todo.getStatus();
+        this.priority = todo == null ? null : todo.getPriority();
+        this.parentId = todo == null ? 0 : todo.getParentId();
+        this.previousStatus = previousStatus;
+        this.events = events;
+    }
+
+    public static TodoEvent added(Todo todo) {
+        return new TodoEvent(Type.ADDED, todo.getId(), todo, null, Collections.emptyList());
+    }
+
+    public static TodoEvent removed(Todo todo) {
+        return new TodoEvent(Type.REMOVED, todo.getId(), todo, null, Collections.emptyList());
+    }
+
+    public static TodoEvent statusChanged(Todo todo, Status previousStatus) {
+        return new TodoEvent(Type.STATUS_CHANGED, todo.getId(), todo, previousStatus, Collections.emptyList());
+    }
+
+    public static TodoEvent priorityChanged(Todo todo) {
+        return new TodoEvent(Type.PRIORITY_CHANGED, todo.getId(), todo, null, Collections.emptyList());
+    }
+
+    public static TodoEvent updated(Todo todo) {
+        return new TodoEvent(Type.UPDATED, todo.getId(), todo, null, Collections.emptyList());
+    }
+
+    // The todo now sits under getParentId(), 0 meaning top level
+    public static TodoEvent moved(Todo todo) {
+        return new TodoEvent(Type.MOVED, todo.getId(), todo, null, Collections.emptyList());
+    }
+
+    public static TodoEvent cleared() {
+        return new TodoEvent(Type.CLEARED, -1, null, null, Collections.emptyList());
+    }
+
+    public static TodoEvent batch(List<TodoEvent> events) {
+        return new TodoEvent(Type.BATCH, -1, null, null, Collections.unmodifiableList(events));
+    }
+
+    public Type getType() { return type; }
+    public int getTodoId() { return todoId; }
+    public Todo getTodo() { return todo; }
+    // Values at the time of the change; getTodo() is the live todo and may have moved on
+    public String getTitle() { return title; }
+    public Status getStatus() { return status; }
+    public Priority getPriority() { return priority; }
+    public int getParentId() { return parentId; }
+    public Status getPreviousStatus() { return previousStatus; }
+    public List<TodoEvent> getEvents() { return events; }
+
+    // The text older string-based observers have always received
+    public String getMessage() {
+        switch (type) {
+            case ADDED: return "Added: " + title;
+            case REMOVED: return "Deleted ID: " + todoId;
+            case STATUS_CHANGED:
+                if (status == Status.COMPLETED) return "Completed ID: " + todoId;
+                if (status == Status.ERROR) return "Failed ID: " + todoId;
+                return "Reopened ID: " + todoId;
+            case PRIORITY_CHANGED: return "Priority " + priority + " ID: " + todoId;
+            case UPDATED: return "Updated ID: " + todoId;
+            case MOVED: return "Moved ID: " + todoId + " under " + parentId;
+            case CLEARED: return "Cleared all";
+            default: return "Batch: " + events.size() + " changes";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TodoEvent [" + getMessage() + "]";
+    }
+}
@@ -0,0 +1,157 @@
+package com.todoapp.service.persistence;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.observer.TodoEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Binary layout of journal records and snapshot entries.
+ * Record: [int payloadLength][payload][int crc32(payload)], payload starts with an op byte.
+ * Strings are an int byte length (-1 for null) followed by UTF-8 bytes.
+ */
+final class JournalCodec {
+    static final byte OP_ADD = 1;
+    static final byte OP_REMOVE = 2;
+    static final byte OP_STATUS = 3;
+    static final byte OP_UPDATE = 4;
+    static final byte OP_CLEAR = 5;
+    static final byte OP_PRIORITY = 6;
+    static final byte OP_MOVE = 7;
+
+    private JournalCodec() {}
+
+    // Serialized payload for an event, or null for event types that are not persisted
+    static byte[] encode(TodoEvent event) {
+        Todo todo = event.getTodo();
+        switch (event.getType()) {
+            case ADDED: {
+                byte[] title = utf8(todo.getTitle());
+                byte[] description = utf8(todo.getDescription());
+                byte[] status = utf8(name(todo.getStatus()));
+                byte[] priority = utf8(name(todo.getPriority()));
+                ByteBuffer buf = ByteBuffer.allocate(1 + 4 + sizeOf(title) + sizeOf(description) + sizeOf(status) + sizeOf(priority));
+                buf.put(OP_ADD).putInt(todo.getId());
+                putBytes(buf, title);
+                putBytes(buf, description);
+                putBytes(buf, status);
+                putBytes(buf, priority);
+                return buf.array();
+            }
+            case REMOVED:
+                return ByteBuffer.allocate(5).put(OP_REMOVE).putInt(event.getTodoId()).array();
+            case STATUS_CHANGED: {
+                byte[] status = utf8(name(todo.getStatus()));
+                ByteBuffer buf = ByteBuffer.allocate(5 + sizeOf(status));
+                buf.put(OP_STATUS).putInt(todo.getId());
+                putBytes(buf, status);
+                return buf.array();
+            }
+            case PRIORITY_CHANGED: {
+                byte[] priority = utf8(name(todo.getPriority()));
+                ByteBuffer buf = ByteBuffer.allocate(5 + sizeOf(priority));
+                buf.put(OP_PRIORITY).putInt(todo.getId());
+                putBytes(buf, priority);
+                return buf.array();
+            }
+            case UPDATED: {
+                byte[] title = utf8(todo.getTitle());
+                byte[] description = utf8(todo.getDescription());
+                ByteBuffer buf = ByteBuffer.allocate(5 + sizeOf(title) + sizeOf(description));
+                buf.put(OP_UPDATE).putInt(todo.getId());
+                putBytes(buf, title);
+                putBytes(buf, description);
+                return buf.array();
+            }
+            case MOVED:
+                return ByteBuffer.allocate(9).put(OP_MOVE).putInt(todo.getId()).putInt(todo.getParentId()).array();
+            case CLEARED:
+                return new byte[] {OP_CLEAR};
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Applies one payload to the replay map. Every op carries absolute values,
+     * so replaying a record whose effect is already in the snapshot is harmless.
+     * Returns the next id implied by the record, or -1 when unchanged; 0 after a clear.
+     */
+    static int apply(ByteBuffer payload, Map<Integer, Todo> state) {
+        byte op = payload.get();
+        switch (op) {
+            case OP_ADD: {
+                int id = payload.getInt();
+                Todo todo = new Todo(id, getString(payload), getString(payload), getString(payload), getString(payload));
+                state.put(id, todo);
+                return id + 1;
+            }
+            case OP_REMOVE:
+                state.remove(payload.getInt());
+                return -1;
+            case OP_STATUS: {
+                Todo todo = state.get(payload.getInt());
+                String status = getString(payload);
+                if (todo != null) todo.setStatus(status);
+                return -1;
+            }
+            case OP_UPDATE: {
+                Todo todo = state.get(payload.getInt());
+                String title = getString(payload);
+                String description = getString(payload);
+                if (todo != null) {
+                    todo.setTitle(title);
+                    todo.setDescription(description);
+                }
+                return -1;
+            }
+            case OP_PRIORITY: {
+                Todo todo = state.get(payload.getInt());
+                String priority = getString(payload);
+                if (todo != null) todo.setPriority(priority);
+                return -1;
+            }
+            case OP_MOVE: {
+                Todo todo = state.get(payload.getInt());
+                int parentId = payload.getInt();
+                if (todo != null) todo.setParentId(parentId);
+                return -1;
+            }
+            case OP_CLEAR:
+                state.clear();
+                return 0;
+            default:
+                throw new IllegalStateException("Unknown journal op " + op);
+        }
+    }
+
+    static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int sizeOf(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    // Status and priority are stored by enum name so existing files keep reading back the same values
+    static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    static void putBytes(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.putInt(-1);
+        } else {
+            buf.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    static String getString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) return null;
+        String value = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package com.todoapp.service.persistence;
+
+import com.todoapp.model.Todo;
+import java.util.List;
+
+// What recovery rebuilt from the latest snapshot plus the journal tail
+public class RecoveredState {
+    private final List<Todo> todos;
+    private final int nextId;
+    private final long replayedRecords;
+
+    public RecoveredState(List<Todo> todos, int nextId, long replayedRecords) {
+        this.todos = todos;
+        this.nextId = nextId;
+        this.replayedRecords = replayedRecords;
+    }
+
+    // Ordered by id
+    public List<Todo> getTodos() { return todos; }
+    public int getNextId() { return nextId; }
+    public long getReplayedRecords() { return replayedRecords; }
+}
@@ -0,0 +1,472 @@
+package com.todoapp.service.persistence;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.observer.TodoEvent;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable storage under TodoService: an append-only write-ahead journal
+ * plus periodic snapshots, all inside one directory.
+ *
+ * Files are numbered by generation. snapshot-N holds the full store as of
+ * the moment journal-N was started, so recovery loads the newest snapshot
+ * and replays journal-N onwards. A torn record at the end of the journal
+ * (crash mid-write) fails its CRC and is truncated away.
+ *
+ * Journal writes are group-committed: records collect in a buffer and are
+ * fsynced once per {@code syncBatchSize} records or every
+ * {@code syncIntervalMillis}, whichever comes first. Snapshots run on a
+ * thread of their own, so a long one never holds up the periodic fsync.
+ *
+ * record() runs after the caller has changed its in-memory state, so it
+ * never fails on I/O: a record that cannot be written stays buffered and
+ * is retried by later syncs. Failures are kept in {@link #getLastFailure()}
+ * and passed to the failure listener; flush() and close() still throw.
+ */
+public class StorageEngine implements Closeable {
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final int SNAPSHOT_MAGIC = 0x54445332; // "TDS2": entries end with the parent id
+    private static final int SNAPSHOT_MAGIC_V1 = 0x54445331; // "TDS1", still readable
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD_SIZE = 64 << 20;
+
+    private final Path directory;
+    private final StorageOptions options;
+
+    private final Object journalLock = new Object();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE); // grows while writes fail
+    private final CRC32 crc = new CRC32();
+    private FileChannel journal;
+    private long generation;
+    private int unsynced;
+    private long recordsSinceSnapshot;
+
+    private boolean failing; // a journal write failed and no sync has succeeded since
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService checkpointer;
+    private Checkpoint checkpoint;
+    private final AtomicBoolean checkpointPending = new AtomicBoolean();
+    private volatile IOException lastFailure;
+    private volatile Consumer<IOException> failureListener;
+
+    // Writes a snapshot; see TodoService.checkpoint()
+    public interface Checkpoint {
+        void run() throws IOException;
+    }
+
+    public StorageEngine(Path directory, StorageOptions options) throws IOException {
+        this.directory = directory;
+        this.options = options;
+        Files.createDirectories(directory);
+    }
+
+    // --- Recovery ---
+
+    public RecoveredState recover() throws IOException {
+        TreeMap<Long, Path> snapshots = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        TreeMap<Long, Path> journals = listFiles(JOURNAL_PREFIX, JOURNAL_SUFFIX);
+
+        Map<Integer, Todo> state = new HashMap<>();
+        int nextId = 1;
+        long base = 1;
+        if (!snapshots.isEmpty()) {
+            base = snapshots.lastKey();
+            nextId = readSnapshot(snapshots.lastEntry().getValue(), state);
+        }
+
+        long replayed = 0;
+        for (Map.Entry<Long, Path> entry : journals.tailMap(base, true).entrySet()) {
+            long[] counts = replayJournal(entry.getValue(), state);
+            replayed += counts[0];
+            if (counts[1] >= 0) nextId = (int) counts[1];
+            if (counts[2] > 0) nextId = Math.max(nextId, (int) counts[2]);
+        }
+
+        generation = Math.max(base, journals.isEmpty() ? base : journals.lastKey());
+        List<Todo> todos = new ArrayList<>(state.values());
+        todos.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        for (Todo todo : todos) {
+            nextId = Math.max(nextId, todo.getId() + 1);
+        }
+        return new RecoveredState(todos, nextId, replayed);
+    }
+
+    // Returns {records replayed, next id after the last clear or -1, highest next id seen after it}
+    private long[] replayJournal(Path file, Map<Integer, Todo> state) throws IOException {
+        long records = 0;
+        long clearedTo = -1;
+        long highest = 0;
+        long goodBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            CRC32 check = new CRC32();
+            while (true) {
+                int length;
+                byte[] payload;
+                int expected;
+                try {
+                    length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_SIZE) break;
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    expected = in.readInt();
+                } catch (EOFException torn) {
+                    break;
+                }
+                check.reset();
+                check.update(payload, 0, length);
+                if ((int) check.getValue() != expected) break;
+
+                int next = JournalCodec.apply(ByteBuffer.wrap(payload), state);
+                if (next == 0) {
+                    clearedTo = 1;
+                    highest = 0;
+                } else if (next > 0) {
+                    highest = Math.max(highest, next);
+                }
+                records++;
+                goodBytes += 8 + length;
+            }
+        }
+        if (goodBytes < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(goodBytes);
+            }
+        }
+        return new long[] {records, clearedTo, highest};
+    }
+
+    private int readSnapshot(Path file, Map<Integer, Todo> state) throws IOException {
+        CRC32 check = new CRC32();
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+             CheckedInputStream checked = new CheckedInputStream(raw, check);
+             DataInputStream in = new DataInputStream(checked)) {
+            int magic = in.readInt();
+            if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_MAGIC_V1) throw new IOException("Not a todo snapshot: " + file);
+            in.readLong(); // generation, already known from the file name
+            int nextId = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                Todo todo = new Todo(id, readString(in), readString(in), readString(in), readString(in));
+                if (magic == SNAPSHOT_MAGIC) todo.setParentId(in.readInt());
+                state.put(id, todo);
+            }
+            long computed = check.getValue();
+            long stored = new DataInputStream(raw).readLong();
+            if (computed != stored) throw new IOException("Snapshot checksum mismatch: " + file);
+            return nextId;
+        }
+    }
+
+    // --- Journal ---
+
+    /**
+     * Opens the current journal for appending and starts the background
+     * flusher. {@code checkpoint} is run on its own thread whenever enough
+     * records have accumulated to warrant a new snapshot.
+     */
+    public void start(Checkpoint checkpoint) throws IOException {
+        synchronized (journalLock) {
+            this.checkpoint = checkpoint;
+            openJournal(generation);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "todo-storage"));
+        if (options.getSnapshotEveryRecords() > 0) {
+            checkpointer = Executors.newSingleThreadExecutor(task -> daemon(task, "todo-checkpoint"));
+        }
+        long interval = options.getSyncIntervalMillis();
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // Called on the flusher thread, never under the caller's locks; once per run of failed journal writes
+    public void setFailureListener(Consumer<IOException> listener) {
+        this.failureListener = listener;
+    }
+
+    // The most recent journal or snapshot failure, kept after the journal recovers
+    public Optional<IOException> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    // Called by TodoService inside the locked section of each mutation, so records for one id stay ordered
+    public void record(TodoEvent event) {
+        byte[] payload = JournalCodec.encode(event);
+        if (payload == null) return;
+        boolean snapshotDue = false;
+        synchronized (journalLock) {
+            if (journal == null) throw new IllegalStateException("Storage is not open");
+            int needed = payload.length + 8;
+            if (buffer.remaining() < needed) {
+                try {
+                    drainBuffer();
+                } catch (IOException e) {
+                    journalFailed(e);
+                }
+            }
+            if (buffer.remaining() < needed) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + needed));
+                buffer = larger.put(buffer.flip());
+            }
+            crc.reset();
+            crc.update(payload, 0, payload.length);
+            buffer.putInt(payload.length).put(payload).putInt((int) crc.getValue());
+            if (++unsynced >= options.getSyncBatchSize()) {
+                trySync();
+            }
+            int every = options.getSnapshotEveryRecords();
+            if (every > 0 && ++recordsSinceSnapshot >= every) {
+                recordsSinceSnapshot = 0;
+                snapshotDue = true;
+            }
+        }
+        if (snapshotDue && checkpoint != null && checkpointer != null && checkpointPending.compareAndSet(false, true)) {
+            try {
+                checkpointer.execute(() -> {
+                    try {
+                        checkpoint.run();
+                    } catch (IOException e) {
+                        lastFailure = e;
+                        notifyFailure(e);
+                    } finally {
+                        checkpointPending.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                checkpointPending.set(false); // closing
+            }
+        }
+    }
+
+    public void flush() throws IOException {
+        synchronized (journalLock) {
+            if (journal != null) sync();
+        }
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Seals the current journal and starts the next generation. Must be
+     * called with writers paused; returns the generation the following
+     * snapshot should be written as.
+     */
+    public long rotate() throws IOException {
+        synchronized (journalLock) {
+            if (journal == null) throw new IllegalStateException("Storage is not open");
+            sync();
+            // The next journal is opened first, so a failure leaves the current one in use
+            FileChannel previous = journal;
+            openJournal(generation + 1);
+            previous.close();
+            recordsSinceSnapshot = 0;
+            return generation;
+        }
+    }
+
+    /**
+     * Writes {@code todos} as snapshot {@code snapshotGeneration} and removes
+     * the files it supersedes. May run concurrently with new writes: every
+     * journal record holds absolute values, so changes that land in both the
+     * snapshot and journal-N replay to the same result.
+     */
+    public void writeSnapshot(long snapshotGeneration, List<Todo> todos, int nextId) throws IOException {
+        Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, snapshotGeneration, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32 check = new CRC32();
+        try (OutputStream raw = Files.newOutputStream(temp);
+             BufferedOutputStream buffered = new BufferedOutputStream(raw, BUFFER_SIZE)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, check));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(snapshotGeneration);
+            out.writeInt(nextId);
+            out.writeInt(todos.size());
+            for (Todo todo : todos) {
+                out.writeInt(todo.getId());
+                writeString(out, todo.getTitle());
+                writeString(out, todo.getDescription());
+                writeString(out, JournalCodec.name(todo.getStatus()));
+                writeString(out, JournalCodec.name(todo.getPriority()));
+                out.writeInt(todo.getParentId());
+            }
+            out.flush();
+            new DataOutputStream(buffered).writeLong(check.getValue());
+            buffered.flush();
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path old : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(snapshotGeneration).values()) {
+            Files.deleteIfExists(old);
+        }
+        for (Path old : listFiles(JOURNAL_PREFIX, JOURNAL_SUFFIX).headMap(snapshotGeneration).values()) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // A running snapshot still needs the journal open to rotate it
+        awaitShutdown(checkpointer);
+        awaitShutdown(scheduler);
+        synchronized (journalLock) {
+            if (journal != null) {
+                sync();
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
+    public Path getDirectory() { return directory; }
+
+    private static void awaitShutdown(ExecutorService executor) {
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Internals ---
+
+    private void openJournal(long gen) throws IOException {
+        journal = FileChannel.open(directory.resolve(fileName(JOURNAL_PREFIX, gen, JOURNAL_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generation = gen;
+    }
+
+    // On failure the unwritten bytes stay in the buffer, ready for the next attempt
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) journal.write(buffer);
+        } finally {
+            buffer.compact();
+        }
+        if (buffer.capacity() > BUFFER_SIZE) buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    private void sync() throws IOException {
+        drainBuffer();
+        if (unsynced > 0) {
+            journal.force(false);
+            unsynced = 0;
+        }
+        failing = false;
+    }
+
+    private void trySync() {
+        try {
+            sync();
+        } catch (IOException e) {
+            journalFailed(e);
+        }
+    }
+
+    private void syncQuietly() {
+        synchronized (journalLock) {
+            if (journal == null || unsynced == 0) return;
+            trySync();
+        }
+    }
+
+    private void journalFailed(IOException e) {
+        lastFailure = e;
+        if (failing) return;
+        failing = true;
+        // Runs on the flusher so the listener never sees the journal lock or the caller's locks
+        ScheduledExecutorService flusher = scheduler;
+        if (flusher == null) return;
+        try {
+            flusher.execute(() -> notifyFailure(e));
+        } catch (RejectedExecutionException closing) {
+            // close() reports it by throwing from its own sync
+        }
+    }
+
+    private void notifyFailure(IOException e) {
+        Consumer<IOException> listener = failureListener;
+        if (listener != null) listener.accept(e);
+    }
+
+    private TreeMap<Long, Path> listFiles(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    try {
+                        files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), path);
+                    } catch (NumberFormatException ignored) {
+                        // not one of ours
+                    }
+                }
+            });
+        }
+        return files;
+    }
+
+    private static String fileName(String prefix, long gen, String suffix) {
+        return String.format("%s%010d%s", prefix, gen, suffix);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = JournalCodec.utf8(value);
+        out.writeInt(bytes == null ? -1 : bytes.length);
+        if (bytes != null) out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,30 @@
+package com.todoapp.service.persistence;
+
+/**
+ * Tuning knobs for the storage engine.
+ * syncBatchSize: journal records per fsync (1 = sync every mutation).
+ * syncIntervalMillis: upper bound on how long a record may sit unsynced.
+ * snapshotEveryRecords: journal records between automatic snapshots (0 = never).
+ */
+public class StorageOptions {
+    private final int syncBatchSize;
+    private final long syncIntervalMillis;
+    private final int snapshotEveryRecords;
+
+    public StorageOptions(int syncBatchSize, long syncIntervalMillis, int snapshotEveryRecords) {
+        if (syncBatchSize <= 0) throw new IllegalArgumentException("syncBatchSize must be positive");
+        if (syncIntervalMillis <= 0) throw new IllegalArgumentException("syncIntervalMillis must be positive");
+        if (snapshotEveryRecords < 0) throw new IllegalArgumentException("snapshotEveryRecords must not be negative");
+        this.syncBatchSize = syncBatchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.snapshotEveryRecords = snapshotEveryRecords;
+    }
+
+    public static StorageOptions defaults() {
+        return new StorageOptions(256, 50, 100_000);
+    }
+
+    public int getSyncBatchSize() { return syncBatchSize; }
+    public long getSyncIntervalMillis() { return syncIntervalMillis; }
+    public int getSnapshotEveryRecords() { return snapshotEveryRecords; }
+}
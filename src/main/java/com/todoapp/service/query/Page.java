@@ -0,0 +1,38 @@
+package com.todoapp.service.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of an ordered query plus an opaque cursor for the next one.
+ * Cursors name the last item's position in the ordering rather than an
+ * offset, so a later page resumes correctly after concurrent inserts and
+ * deletes.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} fetched items: the extra
+     * item only signals that another page exists.
+     */
+    public static <T> Page<T> of(List<T> fetched, int limit, Function<? super T, String> cursorOf) {
+        if (fetched.size() <= limit) return new Page<>(fetched, null);
+        List<T> items = fetched.subList(0, limit);
+        return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() { return items; }
+
+    // Null on the last page
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,148 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.iterator.TodoCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Runs filter scans and bulk mutations on a fork/join pool once the data
+ * is large enough to pay for it. Scans split the id range in halves until
+ * a piece is small, read each piece in chunks and concatenate the matches
+ * back in id order. Below the threshold everything runs on the caller's
+ * thread, so small stores see no scheduling overhead.
+ */
+public final class QueryEngine {
+    public static final int DEFAULT_THRESHOLD = 16_384;
+
+    private static final int CHUNK = 256;
+    private static final int MIN_LEAF_SPAN = 4096;
+    private static final int MIN_LEAF_IDS = 512;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public QueryEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public QueryEngine(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        if (threshold < 0) throw new IllegalArgumentException("Threshold must not be negative");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int getParallelism() { return pool.getParallelism(); }
+    public int getThreshold() { return threshold; }
+
+    /**
+     * Todos with an id up to lastId that pass the filter, in id order.
+     * {@code size} is the number of todos in the source and decides whether
+     * the scan goes parallel.
+     */
+    public List<Todo> select(TodoCursor.ChunkReader source, int size, int lastId, Predicate<? super Todo> filter) {
+        if (size < threshold || pool.getParallelism() == 1) {
+            return new ScanTask(source, Integer.MIN_VALUE, lastId, filter, Long.MAX_VALUE).compute();
+        }
+        int afterId = beforeFirstId(source);
+        // Leaves sized so each worker gets several, which evens out uneven match costs
+        long leafSpan = Math.max(MIN_LEAF_SPAN, ((long) lastId - afterId) / (pool.getParallelism() * 8L));
+        return pool.invoke(new ScanTask(source, afterId, lastId, filter, leafSpan));
+    }
+
+    /**
+     * Applies the operation to every id, split across the pool when there
+     * are enough of them; returns how many calls returned true.
+     */
+    public int apply(int[] ids, IntPredicate operation) {
+        ApplyTask task = new ApplyTask(ids, 0, ids.length, operation);
+        if (ids.length < threshold || pool.getParallelism() == 1) return task.applyAll();
+        return pool.invoke(task);
+    }
+
+    // Splitting starts at the lowest live id rather than at Integer.MIN_VALUE
+    private static int beforeFirstId(TodoCursor.ChunkReader source) {
+        List<Todo> first = source.read(Integer.MIN_VALUE, 1);
+        return first.isEmpty() ? Integer.MIN_VALUE : first.get(0).getId() - 1;
+    }
+
+    private static final class ScanTask extends RecursiveTask<List<Todo>> {
+        private final TodoCursor.ChunkReader source;
+        private final int afterId;
+        private final int lastId; // inclusive
+        private final Predicate<? super Todo> filter;
+        private final long leafSpan;
+
+        ScanTask(TodoCursor.ChunkReader source, int afterId, int lastId, Predicate<? super Todo> filter, long leafSpan) {
+            this.source = source;
+            this.afterId = afterId;
+            this.lastId = lastId;
+            this.filter = filter;
+            this.leafSpan = leafSpan;
+        }
+
+        @Override
+        protected List<Todo> compute() {
+            long span = (long) lastId - afterId;
+            if (span <= leafSpan) return scan();
+            int mid = (int) (afterId + span / 2);
+            ScanTask right = new ScanTask(source, mid, lastId, filter, leafSpan);
+            right.fork();
+            List<Todo> matches = new ScanTask(source, afterId, mid, filter, leafSpan).compute();
+            matches.addAll(right.join());
+            return matches;
+        }
+
+        private List<Todo> scan() {
+            int after = afterId;
+            List<Todo> matches = new ArrayList<>();
+            while (after < lastId) {
+                List<Todo> chunk = source.read(after, CHUNK);
+                for (Todo todo : chunk) {
+                    if (todo.getId() > lastId) return matches;
+                    if (filter.test(todo)) matches.add(todo);
+                }
+                if (chunk.size() < CHUNK) break;
+                after = chunk.get(chunk.size() - 1).getId();
+            }
+            return matches;
+        }
+    }
+
+    private static final class ApplyTask extends RecursiveTask<Integer> {
+        private final int[] ids;
+        private final int from;
+        private final int to;
+        private final IntPredicate operation;
+
+        ApplyTask(int[] ids, int from, int to, IntPredicate operation) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.operation = operation;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= MIN_LEAF_IDS) return applyAll();
+            int mid = (from + to) >>> 1;
+            ApplyTask right = new ApplyTask(ids, mid, to, operation);
+            right.fork();
+            int left = new ApplyTask(ids, from, mid, operation).compute();
+            return left + right.join();
+        }
+
+        int applyAll() {
+            int applied = 0;
+            for (int i = from; i < to; i++) {
+                if (operation.test(ids[i])) applied++;
+            }
+            return applied;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.service.search.SearchField;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parser for the todo query language:
+ * <pre>
+ *   status:pending priority:high title:"weekly report" -desc:draft
+ *   invoice OR budget
+ * </pre>
+ * Terms separated by blanks must all match; {@code OR} separates
+ * alternatives and binds looser than the implicit AND. A leading {@code -}
+ * negates a term. Fields are status, priority, title, desc (description)
+ * and any (text); a bare word or quoted phrase searches title and
+ * description. Text matches are case-insensitive substrings.
+ */
+public final class QueryParser {
+    private static final int CACHE_SIZE = 256;
+
+    // Compiled matchers are immutable, so one per distinct query string is shared by every caller
+    private static final Map<String, TodoMatcher> CACHE = new LinkedHashMap<String, TodoMatcher>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TodoMatcher> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String input;
+    private int pos;
+
+    private QueryParser(String input) {
+        this.input = input;
+    }
+
+    // Parses once per distinct query string; later calls reuse the compiled matcher
+    public static TodoMatcher compile(String query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        synchronized (CACHE) {
+            TodoMatcher cached = CACHE.get(query);
+            if (cached != null) return cached;
+        }
+        TodoMatcher compiled = parse(query);
+        synchronized (CACHE) {
+            CACHE.put(query, compiled);
+        }
+        return compiled;
+    }
+
+    // An empty query matches every todo
+    public static TodoMatcher parse(String query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        return new QueryParser(query).parseQuery();
+    }
+
+    private TodoMatcher parseQuery() {
+        List<TodoMatcher> alternatives = new ArrayList<>();
+        List<TodoMatcher> terms = new ArrayList<>();
+        while (skipBlanks()) {
+            if (atOr()) {
+                if (terms.isEmpty()) throw error("OR needs a term on each side");
+                alternatives.add(TodoMatcher.allOf(terms));
+                terms = new ArrayList<>();
+                pos += 2;
+                continue;
+            }
+            terms.add(parseTerm());
+        }
+        if (terms.isEmpty()) {
+            if (!alternatives.isEmpty()) throw error("OR needs a term on each side");
+            return TodoMatcher.all();
+        }
+        alternatives.add(TodoMatcher.allOf(terms));
+        return TodoMatcher.anyOf(alternatives);
+    }
+
+    private TodoMatcher parseTerm() {
+        boolean negated = input.charAt(pos) == '-';
+        if (negated) pos++;
+        TodoMatcher term;
+        if (pos < input.length() && input.charAt(pos) == '"') {
+            term = TodoMatcher.text(readValue(), SearchField.ANY);
+        } else {
+            int start = pos;
+            while (pos < input.length() && !isBlank(input.charAt(pos)) && input.charAt(pos) != ':') pos++;
+            String word = input.substring(start, pos);
+            if (pos < input.length() && input.charAt(pos) == ':') {
+                pos++;
+                term = field(word, start, readValue());
+            } else {
+                if (word.isEmpty()) throw error("Expected a term");
+                term = TodoMatcher.text(word, SearchField.ANY);
+            }
+        }
+        return negated ? TodoMatcher.not(term) : term;
+    }
+
+    private TodoMatcher field(String name, int at, String value) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "status": {
+                Status status = Status.lookup(value);
+                if (status == null) throw error("Unknown status '" + value + "'");
+                return TodoMatcher.status(status);
+            }
+            case "priority": {
+                Priority priority = Priority.lookup(value);
+                if (priority == null) throw error("Unknown priority '" + value + "'");
+                return TodoMatcher.priority(priority);
+            }
+            case "title": return TodoMatcher.text(value, SearchField.TITLE);
+            case "desc":
+            case "description": return TodoMatcher.text(value, SearchField.DESCRIPTION);
+            case "any":
+            case "text": return TodoMatcher.text(value, SearchField.ANY);
+            default:
+                pos = at;
+                throw error("Unknown field '" + name + "'");
+        }
+    }
+
+    // A quoted phrase (with \" and \\ escapes) or a run of non-blank characters
+    private String readValue() {
+        if (pos < input.length() && input.charAt(pos) == '"') {
+            StringBuilder value = new StringBuilder();
+            int open = pos++;
+            while (pos < input.length()) {
+                char c = input.charAt(pos++);
+                if (c == '"') {
+                    if (value.length() == 0) throw error("Empty phrase");
+                    return value.toString();
+                }
+                if (c == '\\' && pos < input.length()) c = input.charAt(pos++);
+                value.append(c);
+            }
+            pos = open;
+            throw error("Unterminated quote");
+        }
+        int start = pos;
+        while (pos < input.length() && !isBlank(input.charAt(pos))) pos++;
+        if (start == pos) throw error("Expected a value");
+        return input.substring(start, pos);
+    }
+
+    private boolean atOr() {
+        return input.startsWith("OR", pos) && (pos + 2 == input.length() || isBlank(input.charAt(pos + 2)));
+    }
+
+    // Returns whether any input is left
+    private boolean skipBlanks() {
+        while (pos < input.length() && isBlank(input.charAt(pos))) pos++;
+        return pos < input.length();
+    }
+
+    private static boolean isBlank(char c) {
+        return Character.isWhitespace(c);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " in query: " + input);
+    }
+}
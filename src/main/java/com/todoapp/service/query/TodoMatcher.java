@@ -0,0 +1,250 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.TextMatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable matcher tree compiled from the query language or built from
+ * the factories below. AND and OR nodes are flattened and keep their
+ * children cheapest first, so enum comparisons short-circuit before any
+ * text is scanned, and double negations cancel out.
+ */
+public abstract class TodoMatcher implements Predicate<Todo> {
+    // Relative evaluation costs used to order siblings
+    static final int COST_FIELD = 1;
+    static final int COST_TITLE = 8;
+    static final int COST_DESCRIPTION = 16;
+    static final int COST_CUSTOM = 32;
+
+    private static final TodoMatcher ALL = new TodoMatcher() {
+        @Override public boolean test(Todo todo) { return true; }
+        @Override int cost() { return 0; }
+        @Override public String toString() { return "*"; }
+    };
+
+    TodoMatcher() {}
+
+    abstract int cost();
+
+    // The status every match must have, or null; lets TodoService start from the status index
+    public Status requiredStatus() {
+        return null;
+    }
+
+    public static TodoMatcher all() {
+        return ALL;
+    }
+
+    // A missing status counts as PENDING and a missing priority as MEDIUM, as in the indexes
+    public static TodoMatcher status(Status status) {
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
+        return new StatusIs(status);
+    }
+
+    public static TodoMatcher priority(Priority priority) {
+        if (priority == null) throw new IllegalArgumentException("Priority cannot be null");
+        return new PriorityIs(priority);
+    }
+
+    public static TodoMatcher text(String query, SearchField field) {
+        if (query == null || query.isEmpty()) throw new IllegalArgumentException("Text cannot be empty");
+        return new Contains(query, field);
+    }
+
+    // Wraps an arbitrary predicate; it is ordered after every built-in matcher
+    public static TodoMatcher of(Predicate<? super Todo> predicate) {
+        if (predicate instanceof TodoMatcher) return (TodoMatcher) predicate;
+        return new Custom(predicate);
+    }
+
+    public static TodoMatcher not(TodoMatcher matcher) {
+        if (matcher instanceof Not) return ((Not) matcher).inner;
+        return new Not(matcher);
+    }
+
+    public static TodoMatcher allOf(List<? extends Predicate<? super Todo>> predicates) {
+        List<TodoMatcher> children = flatten(predicates, And.class);
+        children.remove(ALL);
+        if (children.isEmpty()) return ALL;
+        return children.size() == 1 ? children.get(0) : new And(children);
+    }
+
+    public static TodoMatcher anyOf(List<? extends Predicate<? super Todo>> predicates) {
+        List<TodoMatcher> children = flatten(predicates, Or.class);
+        if (children.isEmpty() || children.contains(ALL)) return ALL;
+        return children.size() == 1 ? children.get(0) : new Or(children);
+    }
+
+    @Override
+    public TodoMatcher and(Predicate<? super Todo> other) {
+        return allOf(Arrays.asList(this, other));
+    }
+
+    @Override
+    public TodoMatcher or(Predicate<? super Todo> other) {
+        return anyOf(Arrays.asList(this, other));
+    }
+
+    @Override
+    public TodoMatcher negate() {
+        return not(this);
+    }
+
+    private static List<TodoMatcher> flatten(List<? extends Predicate<? super Todo>> predicates, Class<? extends Group> kind) {
+        List<TodoMatcher> children = new ArrayList<>();
+        for (Predicate<? super Todo> predicate : predicates) {
+            TodoMatcher matcher = of(predicate);
+            if (kind.isInstance(matcher)) children.addAll(Arrays.asList(((Group) matcher).children));
+            else children.add(matcher);
+        }
+        children.sort(Comparator.comparingInt(TodoMatcher::cost)); // stable, so equal costs keep their order
+        return children;
+    }
+
+    private static final class StatusIs extends TodoMatcher {
+        private final Status status;
+
+        StatusIs(Status status) { this.status = status; }
+
+        @Override
+        public boolean test(Todo todo) {
+            return (todo.getStatus() == null ? Status.PENDING : todo.getStatus()) == status;
+        }
+
+        @Override int cost() { return COST_FIELD; }
+        @Override public Status requiredStatus() { return status; }
+        @Override public String toString() { return "status:" + status.name().toLowerCase(Locale.ROOT); }
+    }
+
+    private static final class PriorityIs extends TodoMatcher {
+        private final Priority priority;
+
+        PriorityIs(Priority priority) { this.priority = priority; }
+
+        @Override
+        public boolean test(Todo todo) {
+            return (todo.getPriority() == null ? Priority.MEDIUM : todo.getPriority()) == priority;
+        }
+
+        @Override int cost() { return COST_FIELD; }
+        @Override public String toString() { return "priority:" + priority.name().toLowerCase(Locale.ROOT); }
+    }
+
+    private static final class Contains extends TodoMatcher {
+        private final String query;
+        private final SearchField field;
+
+        Contains(String query, SearchField field) {
+            this.query = query;
+            this.field = field;
+        }
+
+        @Override
+        public boolean test(Todo todo) {
+            switch (field) {
+                case TITLE: return TextMatch.containsIgnoreCase(todo.getTitle(), query);
+                case DESCRIPTION: return TextMatch.containsIgnoreCase(todo.getDescription(), query);
+                default:
+                    return TextMatch.containsIgnoreCase(todo.getTitle(), query)
+                            || TextMatch.containsIgnoreCase(todo.getDescription(), query);
+            }
+        }
+
+        @Override
+        int cost() {
+            switch (field) {
+                case TITLE: return COST_TITLE;
+                case DESCRIPTION: return COST_DESCRIPTION;
+                default: return COST_TITLE + COST_DESCRIPTION;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return field.name().toLowerCase(Locale.ROOT) + ":\"" + query + "\"";
+        }
+    }
+
+    private static final class Custom extends TodoMatcher {
+        private final Predicate<? super Todo> predicate;
+
+        Custom(Predicate<? super Todo> predicate) { this.predicate = predicate; }
+
+        @Override public boolean test(Todo todo) { return predicate.test(todo); }
+        @Override int cost() { return COST_CUSTOM; }
+        @Override public String toString() { return "custom"; }
+    }
+
+    private static final class Not extends TodoMatcher {
+        private final TodoMatcher inner;
+
+        Not(TodoMatcher inner) { this.inner = inner; }
+
+        @Override public boolean test(Todo todo) { return !inner.test(todo); }
+        @Override int cost() { return inner.cost(); }
+        @Override public String toString() { return "-" + inner; }
+    }
+
+    private abstract static class Group extends TodoMatcher {
+        final TodoMatcher[] children;
+        private final int cost;
+
+        Group(List<TodoMatcher> children) {
+            this.children = children.toArray(new TodoMatcher[0]);
+            this.cost = children.stream().mapToInt(TodoMatcher::cost).sum();
+        }
+
+        @Override int cost() { return cost; }
+
+        String join(String separator) {
+            return Arrays.stream(children).map(Object::toString).collect(Collectors.joining(separator, "(", ")"));
+        }
+    }
+
+    private static final class And extends Group {
+        And(List<TodoMatcher> children) { super(children); }
+
+        @Override
+        public boolean test(Todo todo) {
+            for (TodoMatcher child : children) {
+                if (!child.test(todo)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Status requiredStatus() {
+            for (TodoMatcher child : children) {
+                Status status = child.requiredStatus();
+                if (status != null) return status;
+            }
+            return null;
+        }
+
+        @Override public String toString() { return join(" "); }
+    }
+
+    private static final class Or extends Group {
+        Or(List<TodoMatcher> children) { super(children); }
+
+        @Override
+        public boolean test(Todo todo) {
+            for (TodoMatcher child : children) {
+                if (child.test(todo)) return true;
+            }
+            return false;
+        }
+
+        @Override public String toString() { return join(" OR "); }
+    }
+}
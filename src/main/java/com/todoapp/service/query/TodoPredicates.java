@@ -0,0 +1,35 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.search.SearchField;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Building blocks for TodoService.query and the bulk operations. The
+ * results are TodoMatchers, so {@code and}, {@code or} and {@code negate}
+ * keep composing into one matcher tree; {@link #allOf} puts the cheap
+ * field checks ahead of text matching whatever order they are given in.
+ */
+public final class TodoPredicates {
+    private TodoPredicates() {}
+
+    public static TodoMatcher status(Status status) {
+        return TodoMatcher.status(status);
+    }
+
+    public static TodoMatcher priority(Priority priority) {
+        return TodoMatcher.priority(priority);
+    }
+
+    public static TodoMatcher text(String query, SearchField field) {
+        return TodoMatcher.text(query, field);
+    }
+
+    @SafeVarargs
+    public static TodoMatcher allOf(Predicate<? super Todo>... predicates) {
+        return TodoMatcher.allOf(Arrays.asList(predicates));
+    }
+}
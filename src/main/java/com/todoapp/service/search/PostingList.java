@@ -0,0 +1,51 @@
+package com.todoapp.service.search;
+
+import java.util.Arrays;
+
+// Sorted, duplicate-free list of todo ids. Ids normally arrive in ascending order, so adds are appends.
+final class PostingList {
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+        if (size == 0 || ids[size - 1] < id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size << 1);
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return;
+        pos = -pos - 1;
+        if (size == ids.length) ids = Arrays.copyOf(ids, size << 1);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() { return size; }
+    int get(int i) { return ids[i]; }
+
+    // Keeps only the candidates present in this list; returns the new candidate count
+    int retainIn(int[] candidates, int count) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            int pos = Arrays.binarySearch(ids, from, size, candidates[i]);
+            if (pos >= 0) {
+                candidates[kept++] = candidates[i];
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+        }
+        return kept;
+    }
+
+    int[] copy() {
+        return Arrays.copyOf(ids, size);
+    }
+}
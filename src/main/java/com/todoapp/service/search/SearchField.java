@@ -0,0 +1,8 @@
+package com.todoapp.service.search;
+
+// Which text fields an indexed search looks at
+public enum SearchField {
+    TITLE,
+    DESCRIPTION,
+    ANY
+}
@@ -0,0 +1,388 @@
+package com.todoapp.service.search;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.query.Page;
+import com.todoapp.service.store.IntIntMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incremental inverted index over todo titles and descriptions.
+ *
+ * Text is lower-cased once at index time and split into character
+ * trigrams, so any substring query of three or more characters is answered
+ * by intersecting posting lists and verifying the few survivors against the
+ * cached lower-case text. Bigrams are indexed too, in the same maps, so a
+ * two-character query reads one posting list. Single characters are not
+ * indexed: one letter matches most todos, so its posting list would save
+ * little over the scan of the cached text those queries use, which still
+ * allocates nothing per todo (see SearchBenchmark).
+ *
+ * Removals only drop the document; stale ids left in posting lists are
+ * filtered during verification and purged when they outnumber live ones.
+ */
+public class SearchIndex {
+    private static final int GRAM = 3;
+    private static final int SHORT_GRAM = 2;
+    private static final long SHORT_GRAM_TAG = 1L << 48; // above any trigram key
+
+    private static final int TITLE_HIT = 4;
+    private static final int TITLE_WORD = 2;
+    private static final int TITLE_PREFIX = 1;
+    private static final int DESCRIPTION_HIT = 2;
+    private static final int DESCRIPTION_WORD = 1;
+
+    private static final class Doc {
+        final Todo todo;
+        final String title;
+        final String description;
+
+        Doc(Todo todo) {
+            this.todo = todo;
+            this.title = normalize(todo.getTitle());
+            this.description = normalize(todo.getDescription());
+        }
+    }
+
+    private final Map<Long, PostingList> titleGrams = new HashMap<>();
+    private final Map<Long, PostingList> descriptionGrams = new HashMap<>();
+    private final IntIntMap docSlots = new IntIntMap();
+    private Doc[] docs = new Doc[16];
+    private int docEnd;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int staleEntries;
+    private int liveEntries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Todo todo) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(todo.getId());
+            Doc doc = new Doc(todo);
+            int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+            docs[slot] = doc;
+            docSlots.put(todo.getId(), slot);
+            liveEntries += indexGrams(titleGrams, doc.title, todo.getId());
+            liveEntries += indexGrams(descriptionGrams, doc.description, todo.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (staleEntries > 1024 && staleEntries > liveEntries) {
+                rebuildPostings();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            titleGrams.clear();
+            descriptionGrams.clear();
+            docSlots.clear();
+            Arrays.fill(docs, 0, docEnd, null);
+            docEnd = 0;
+            freeCount = 0;
+            staleEntries = 0;
+            liveEntries = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docSlots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} todos whose selected field contains the
+     * query (case-insensitive), best matches first and ties in id order.
+     */
+    public List<Todo> search(String query, SearchField field, int limit) {
+        return search(query, field, 0, limit);
+    }
+
+    // The same ranking with the first skip hits passed over
+    public List<Todo> search(String query, SearchField field, int skip, int limit) {
+        if (limit <= 0) return Collections.emptyList();
+        lock.readLock().lock();
+        try {
+            long[] keys = rank(normalize(query), field, (int) Math.min((long) skip + limit, Integer.MAX_VALUE), Long.MAX_VALUE);
+            return todos(keys, Math.min(skip, keys.length), keys.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of ranked hits. The cursor is the last hit's rank key, so the
+     * next page holds exactly the hits ranked below it; todos edited or added
+     * meanwhile appear on a later page only if they now rank below the cursor.
+     */
+    public Page<Todo> searchPage(String query, SearchField field, String cursor, int limit) {
+        long below = cursor == null ? Long.MAX_VALUE : parseCursor(cursor);
+        lock.readLock().lock();
+        try {
+            long[] keys = rank(normalize(query), field, limit == Integer.MAX_VALUE ? limit : limit + 1, below);
+            if (keys.length <= limit) return new Page<>(todos(keys, 0, keys.length), null);
+            return new Page<>(todos(keys, 0, limit), Long.toString(keys[limit - 1]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+    }
+
+    // Rank keys of the best hits below the given key, best first
+    private long[] rank(String q, SearchField field, int limit, long below) {
+        if (q.isEmpty() || limit <= 0) return new long[0];
+        TopHits hits = new TopHits(limit, below);
+        if (q.length() < SHORT_GRAM) {
+            for (int slot = 0; slot < docEnd; slot++) {
+                Doc doc = docs[slot];
+                if (doc != null) hits.offer(score(doc, q, field), doc.todo.getId());
+            }
+        } else {
+            int[] candidates = candidates(q, field);
+            for (int id : candidates) {
+                int slot = docSlots.get(id);
+                if (slot < 0) continue;
+                hits.offer(score(docs[slot], q, field), id);
+            }
+        }
+        return hits.keysInRankOrder();
+    }
+
+    private List<Todo> todos(long[] keys, int from, int to) {
+        List<Todo> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(docs[docSlots.get(TopHits.id(keys[i]))].todo);
+        }
+        return result;
+    }
+
+    // --- Candidate generation ---
+
+    private int[] candidates(String q, SearchField field) {
+        switch (field) {
+            case TITLE: return intersect(titleGrams, q);
+            case DESCRIPTION: return intersect(descriptionGrams, q);
+            default: return union(intersect(titleGrams, q), intersect(descriptionGrams, q));
+        }
+    }
+
+    private static int[] intersect(Map<Long, PostingList> grams, String q) {
+        if (q.length() < GRAM) {
+            PostingList list = grams.get(shortGram(q, 0));
+            return list == null ? new int[0] : list.copy();
+        }
+        int count = q.length() - GRAM + 1;
+        PostingList[] lists = new PostingList[count];
+        for (int i = 0; i < count; i++) {
+            PostingList list = grams.get(gram(q, i));
+            if (list == null) return new int[0];
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        int[] result = lists[0].copy();
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                size = lists[i].retainIn(result, size);
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) out[n++] = a[i++];
+            else if (a[i] > b[j]) out[n++] = b[j++];
+            else { out[n++] = a[i++]; j++; }
+        }
+        while (i < a.length) out[n++] = a[i++];
+        while (j < b.length) out[n++] = b[j++];
+        return Arrays.copyOf(out, n);
+    }
+
+    // --- Ranking ---
+
+    private static int score(Doc doc, String q, SearchField field) {
+        int score = 0;
+        if (field != SearchField.DESCRIPTION) {
+            int at = doc.title.indexOf(q);
+            if (at >= 0) {
+                score += TITLE_HIT;
+                if (isWholeWord(doc.title, at, q.length())) score += TITLE_WORD;
+                if (at == 0) score += TITLE_PREFIX;
+            }
+        }
+        if (field != SearchField.TITLE) {
+            int at = doc.description.indexOf(q);
+            if (at >= 0) {
+                score += DESCRIPTION_HIT;
+                if (isWholeWord(doc.description, at, q.length())) score += DESCRIPTION_WORD;
+            }
+        }
+        return score;
+    }
+
+    private static boolean isWholeWord(String text, int at, int length) {
+        int end = at + length;
+        return (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1)))
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    // Bounded min-heap of (score, id) packed into longs; higher score and lower id rank first
+    private static final class TopHits {
+        private final int limit;
+        private final long below;
+        private long[] heap = new long[16];
+        private int size;
+
+        TopHits(int limit, long below) {
+            this.limit = limit;
+            this.below = below;
+        }
+
+        void offer(int score, int id) {
+            if (score <= 0) return;
+            long key = ((long) score << 32) | (0xFFFFFFFFL - (id & 0xFFFFFFFFL));
+            if (key >= below) return;
+            if (size < limit) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, size << 1);
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] keysInRankOrder() {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                long swap = sorted[i];
+                sorted[i] = sorted[j];
+                sorted[j] = swap;
+            }
+            return sorted;
+        }
+
+        static int id(long key) {
+            return (int) (0xFFFFFFFFL - (key & 0xFFFFFFFFL));
+        }
+
+        private void siftUp(int i) {
+            long key = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= key) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        private void siftDown(int i) {
+            long key = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+                if (key <= heap[child]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+    }
+
+    // --- Index maintenance ---
+
+    private void removeInternal(int id) {
+        int slot = docSlots.remove(id);
+        if (slot < 0) return;
+        Doc doc = docs[slot];
+        int entries = gramCount(doc.title) + gramCount(doc.description);
+        liveEntries -= entries;
+        staleEntries += entries;
+        docs[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount << 1);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int nextSlot() {
+        if (docEnd == docs.length) docs = Arrays.copyOf(docs, docEnd << 1);
+        return docEnd++;
+    }
+
+    private void rebuildPostings() {
+        titleGrams.clear();
+        descriptionGrams.clear();
+        liveEntries = 0;
+        staleEntries = 0;
+        for (int slot = 0; slot < docEnd; slot++) {
+            Doc doc = docs[slot];
+            if (doc == null) continue;
+            liveEntries += indexGrams(titleGrams, doc.title, doc.todo.getId());
+            liveEntries += indexGrams(descriptionGrams, doc.description, doc.todo.getId());
+        }
+    }
+
+    private static int indexGrams(Map<Long, PostingList> grams, String text, int id) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.computeIfAbsent(gram(text, i), key -> new PostingList()).add(id);
+        }
+        for (int i = 0; i + SHORT_GRAM <= text.length(); i++) {
+            grams.computeIfAbsent(shortGram(text, i), key -> new PostingList()).add(id);
+        }
+        return gramCount(text);
+    }
+
+    private static int gramCount(String text) {
+        return Math.max(0, text.length() - GRAM + 1) + Math.max(0, text.length() - SHORT_GRAM + 1);
+    }
+
+    private static long gram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static long shortGram(String text, int at) {
+        return SHORT_GRAM_TAG | ((long) text.charAt(at) << 16) | text.charAt(at + 1);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * StatusIndex splitting todos into completed and pending buckets, plus a
+ * counter per status. Filtered views cost only the size of the
+ * bucket being read. Buckets are keyed by id, which keeps them in
+ * insertion order.
+ */
+public class BucketStatusIndex implements StatusIndex {
+    private final ConcurrentSkipListMap<Integer, Todo> completed = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Integer, Todo> pending = new ConcurrentSkipListMap<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicIntegerArray byStatus = new AtomicIntegerArray(Status.values().length); // by ordinal
+
+    @Override
+    public void onAdded(Todo todo) {
+        bucketInsert(todo, todo.getStatus());
+    }
+
+    @Override
+    public void onRemoved(Todo todo) {
+        bucketRemove(todo, todo.getStatus());
+    }
+
+    @Override
+    public void onStatusChanged(Todo todo, Status oldStatus) {
+        if (oldStatus == todo.getStatus()) return;
+        bucketRemove(todo, oldStatus);
+        bucketInsert(todo, todo.getStatus());
+    }
+
+    @Override
+    public void clear() {
+        completed.clear();
+        pending.clear();
+        completedCount.set(0);
+        pendingCount.set(0);
+        for (int i = 0; i < byStatus.length(); i++) byStatus.set(i, 0);
+    }
+
+    @Override
+    public int getCompletedCount() { return completedCount.get(); }
+    @Override
+    public int getPendingCount() { return pendingCount.get(); }
+
+    @Override
+    public int getCount(Status status) {
+        return byStatus.get(ordinal(status));
+    }
+
+    @Override
+    public List<Todo> getCompleted() { return new ArrayList<>(completed.values()); }
+    @Override
+    public List<Todo> getPending() { return new ArrayList<>(pending.values()); }
+
+    @Override
+    public List<Todo> range(boolean completedBucket, int afterId, int skip, int limit) {
+        List<Todo> result = new ArrayList<>(Math.min(limit, 256));
+        for (Todo todo : (completedBucket ? completed : pending).tailMap(afterId, false).values()) {
+            if (result.size() == limit) break;
+            if (skip > 0) skip--;
+            else result.add(todo);
+        }
+        return result;
+    }
+
+    private void bucketInsert(Todo todo, Status status) {
+        if (status == Status.COMPLETED) {
+            completed.put(todo.getId(), todo);
+            completedCount.incrementAndGet();
+        } else {
+            pending.put(todo.getId(), todo);
+            pendingCount.incrementAndGet();
+        }
+        byStatus.incrementAndGet(ordinal(status));
+    }
+
+    private void bucketRemove(Todo todo, Status status) {
+        if (status == Status.COMPLETED) {
+            completed.remove(todo.getId());
+            completedCount.decrementAndGet();
+        } else {
+            pending.remove(todo.getId());
+            pendingCount.decrementAndGet();
+        }
+        byStatus.decrementAndGet(ordinal(status));
+    }
+
+    // A missing status counts as PENDING, matching Status.parse
+    static int ordinal(Status status) {
+        return (status == null ? Status.PENDING : status).ordinal();
+    }
+}
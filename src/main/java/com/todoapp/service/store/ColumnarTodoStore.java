@@ -0,0 +1,537 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.model.composite.TaskComponent;
+import com.todoapp.service.iterator.IdStatusVisitor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Memory-lean store keeping each todo field in its own array: ids as ints,
+ * status and priority as one-byte enum codes, titles and descriptions as
+ * references into a deduplicating pool. Subtask lists exist only for todos
+ * that have subtasks, and parent ids only for nested todos. Reads hand out
+ * {@link View} flyweights holding only an id and a slot, which read and
+ * write straight through to the columns.
+ * Slot handling mirrors IndexedTodoStore, including the deferred sort of
+ * re-inserted older ids, so ordered reads change the store too.
+ * Not thread-safe.
+ */
+public class ColumnarTodoStore implements TodoStore {
+    private static final int BYTES_PER_TODO = 88;
+    private static final int MIN_HOLES_TO_COMPACT = 32;
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] ids;
+    private String[] titles;
+    private String[] descriptions;
+    private byte[] statuses;
+    private byte[] priorities;
+    private Map<Integer, List<TaskComponent>> subTasks; // by id, created on first use
+    private Map<Integer, Integer> parents; // parent id by child id, for nested todos only
+    // Detached copies of recently removed todos, read by views made before the removal. Two
+    // generations: at least the last max(live, MIN_HOLES_TO_COMPACT) removals are kept.
+    private Map<Integer, Todo> removedRows;
+    private Map<Integer, Todo> olderRemovedRows;
+
+    private int end;
+    private int live;
+    private int maxId;
+    private boolean unordered; // older ids were appended; sortSlots() before reading in order
+    private final IntIntMap index;
+    private final StringPool strings = new StringPool(4096);
+
+    public ColumnarTodoStore() {
+        this(16);
+    }
+
+    public ColumnarTodoStore(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 16));
+        this.index = new IntIntMap(initialCapacity);
+    }
+
+    @Override
+    public Todo add(Todo todo) {
+        int id = todo.getId();
+        int slot = index.get(id);
+        if (slot < 0) {
+            slot = id < maxId ? openSlotInOrder(id) : openSlotAtEnd(id);
+        }
+        titles[slot] = strings.dedupe(todo.getTitle());
+        descriptions[slot] = strings.dedupe(todo.getDescription());
+        statuses[slot] = code(todo.getStatus());
+        priorities[slot] = code(todo.getPriority());
+        if (todo.hasSubTasks()) {
+            subTasks().put(id, new ArrayList<>(todo.getSubTasks()));
+        } else if (subTasks != null) {
+            subTasks.remove(id);
+        }
+        setParent(id, todo.getParentId());
+        if (removedRows != null) removedRows.remove(id);
+        if (olderRemovedRows != null) olderRemovedRows.remove(id);
+        return new View(slot);
+    }
+
+    @Override
+    public Todo get(int id) {
+        int slot = index.get(id);
+        return slot < 0 ? null : new View(slot);
+    }
+
+    // Returns a detached copy, since the slot is about to be reused; views of the todo read it from now on
+    @Override
+    public Todo remove(int id) {
+        int slot = index.remove(id);
+        if (slot < 0) return null;
+        Todo removed = new Todo(id, titles[slot], descriptions[slot], status(statuses[slot]), priority(priorities[slot]));
+        List<TaskComponent> children = subTasks == null ? null : subTasks.remove(id);
+        if (children != null) {
+            for (TaskComponent child : children) removed.addSubTask(child);
+        }
+        Integer parent = parents == null ? null : parents.remove(id);
+        if (parent != null) removed.setParentId(parent);
+        if (removedRows == null || removedRows.size() >= Math.max(live, MIN_HOLES_TO_COMPACT)) {
+            olderRemovedRows = removedRows;
+            removedRows = new HashMap<>();
+        }
+        removedRows.put(id, removed);
+        ids[slot] = EMPTY;
+        titles[slot] = null;
+        descriptions[slot] = null;
+        live--;
+        if (slot == end - 1) {
+            end--;
+        }
+        int holes = end - live;
+        if (holes > MIN_HOLES_TO_COMPACT && holes > live) {
+            compact();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return live;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ids, 0, end, EMPTY);
+        Arrays.fill(titles, 0, end, null);
+        Arrays.fill(descriptions, 0, end, null);
+        subTasks = null;
+        parents = null;
+        removedRows = null;
+        olderRemovedRows = null;
+        index.clear();
+        end = 0;
+        live = 0;
+        maxId = 0;
+        unordered = false;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) size() * BYTES_PER_TODO;
+    }
+
+    @Override
+    public List<Todo> toList() {
+        sortSlots();
+        List<Todo> result = new ArrayList<>(live);
+        for (int i = 0; i < end; i++) {
+            if (ids[i] != EMPTY) result.add(new View(i));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Todo> range(int afterId, int skip, int limit) {
+        return scan(afterId, skip, limit, (byte) -1, false);
+    }
+
+    // Live rows after afterId; with a status code, only rows whose code matches (or differs, if negate)
+    private List<Todo> scan(int afterId, int skip, int limit, byte statusCode, boolean negate) {
+        sortSlots();
+        List<Todo> result = new ArrayList<>(Math.min(limit, 256));
+        for (int i = firstSlotAfter(afterId); i < end && result.size() < limit; i++) {
+            if (ids[i] == EMPTY) continue;
+            if (statusCode >= 0 && (statuses[i] == statusCode) == negate) continue;
+            if (skip > 0) skip--;
+            else result.add(new View(i));
+        }
+        return result;
+    }
+
+    private int firstSlotAfter(int afterId) {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int probe = mid;
+            while (probe < high && ids[probe] == EMPTY) probe++;
+            if (probe < high && ids[probe] <= afterId) low = probe + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // Reads the id and status columns directly; no View is created
+    @Override
+    public int forEachIdStatus(int afterId, int limit, IdStatusVisitor visitor) {
+        sortSlots();
+        int last = afterId;
+        int visited = 0;
+        for (int i = firstSlotAfter(afterId); i < end && visited < limit; i++) {
+            if (ids[i] == EMPTY) continue;
+            last = ids[i];
+            visitor.visit(last, status(statuses[i]));
+            visited++;
+        }
+        return last;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Todo> action) {
+        sortSlots();
+        for (int i = 0; i < end; i++) {
+            if (ids[i] != EMPTY) action.accept(new View(i));
+        }
+    }
+
+    @Override
+    public Stream<Todo> stream() {
+        sortSlots();
+        return IntStream.range(0, end).filter(i -> ids[i] != EMPTY).mapToObj(View::new);
+    }
+
+    /**
+     * A StatusIndex answered from the status column itself: per-code counters
+     * for the counts and a byte scan for the filtered lists, so no per-todo
+     * index entries are kept.
+     */
+    public StatusIndex statusIndex() {
+        return new ColumnStatusIndex();
+    }
+
+    private final class ColumnStatusIndex implements StatusIndex {
+        private final int[] counts = new int[Status.values().length]; // by ordinal
+
+        @Override
+        public void onAdded(Todo todo) {
+            counts[BucketStatusIndex.ordinal(todo.getStatus())]++;
+        }
+
+        @Override
+        public void onRemoved(Todo todo) {
+            counts[BucketStatusIndex.ordinal(todo.getStatus())]--;
+        }
+
+        @Override
+        public void onStatusChanged(Todo todo, Status oldStatus) {
+            counts[BucketStatusIndex.ordinal(oldStatus)]--;
+            counts[BucketStatusIndex.ordinal(todo.getStatus())]++;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(counts, 0);
+        }
+
+        @Override
+        public int getCompletedCount() {
+            return counts[Status.COMPLETED.ordinal()];
+        }
+
+        @Override
+        public int getPendingCount() {
+            return live - getCompletedCount();
+        }
+
+        @Override
+        public int getCount(Status status) {
+            return counts[BucketStatusIndex.ordinal(status)];
+        }
+
+        @Override
+        public List<Todo> getCompleted() {
+            return range(true, Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public List<Todo> getPending() {
+            return range(false, Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public List<Todo> range(boolean completed, int afterId, int skip, int limit) {
+            return scan(afterId, skip, limit, code(Status.COMPLETED), !completed);
+        }
+    }
+
+    /**
+     * Flyweight over one row: the id plus the slot it was last found in.
+     * Reads check that slot and go back to the index only after a
+     * compaction or sort has moved the row. Once the todo is removed, the
+     * view reads and writes the detached copy remove() made; a view that
+     * first looks after many later removals finds an empty row instead.
+     */
+    private final class View extends Todo {
+        private int slot;
+        private Todo detached;
+
+        View(int slot) {
+            super(ids[slot], null, null, (Status) null, (Priority) null);
+            this.slot = slot;
+        }
+
+        // The row's current slot, or -1 once the todo has been removed
+        private int slot() {
+            int id = getId();
+            if (slot >= 0 && slot < end && ids[slot] == id) return slot;
+            slot = index.get(id);
+            if (slot >= 0) detached = null; // re-added since an earlier removal
+            return slot;
+        }
+
+        private Todo detached() {
+            if (detached == null) {
+                Todo removed = removedRows == null ? null : removedRows.get(getId());
+                if (removed == null && olderRemovedRows != null) removed = olderRemovedRows.get(getId());
+                detached = removed != null ? removed : new Todo(getId(), null, null, (Status) null, (Priority) null);
+            }
+            return detached;
+        }
+
+        @Override
+        public void setId(int id) {
+            if (id != getId()) throw new IllegalStateException("Stored todos keep their id");
+        }
+
+        @Override
+        public String getTitle() {
+            int slot = slot();
+            return slot < 0 ? detached().getTitle() : titles[slot];
+        }
+
+        @Override
+        public void setTitle(String title) {
+            int slot = slot();
+            if (slot < 0) detached().setTitle(title);
+            else titles[slot] = strings.dedupe(title);
+        }
+
+        @Override
+        public String getDescription() {
+            int slot = slot();
+            return slot < 0 ? detached().getDescription() : descriptions[slot];
+        }
+
+        @Override
+        public void setDescription(String description) {
+            int slot = slot();
+            if (slot < 0) detached().setDescription(description);
+            else descriptions[slot] = strings.dedupe(description);
+        }
+
+        @Override
+        public Status getStatus() {
+            int slot = slot();
+            return slot < 0 ? detached().getStatus() : status(statuses[slot]);
+        }
+
+        @Override
+        public void setStatus(Status status) {
+            int slot = slot();
+            if (slot < 0) detached().setStatus(status);
+            else statuses[slot] = code(status);
+        }
+
+        @Override
+        public Priority getPriority() {
+            int slot = slot();
+            return slot < 0 ? detached().getPriority() : priority(priorities[slot]);
+        }
+
+        @Override
+        public void setPriority(Priority priority) {
+            int slot = slot();
+            if (slot < 0) detached().setPriority(priority);
+            else priorities[slot] = code(priority);
+        }
+
+        @Override
+        public int getParentId() {
+            return slot() < 0 ? detached().getParentId() : parentOf(getId());
+        }
+
+        @Override
+        public void setParentId(int parentId) {
+            if (slot() < 0) detached().setParentId(parentId);
+            else setParent(getId(), parentId);
+        }
+
+        @Override
+        public List<TaskComponent> getSubTasks() {
+            if (slot() < 0) return detached().getSubTasks();
+            return subTasks().computeIfAbsent(getId(), id -> new ArrayList<>());
+        }
+
+        @Override
+        public boolean hasSubTasks() {
+            if (slot() < 0) return detached().hasSubTasks();
+            List<TaskComponent> children = subTasks == null ? null : subTasks.get(getId());
+            return children != null && !children.isEmpty();
+        }
+
+        @Override
+        public void removeSubTask(TaskComponent subTask) {
+            if (slot() < 0) {
+                detached().removeSubTask(subTask);
+                return;
+            }
+            List<TaskComponent> children = subTasks == null ? null : subTasks.get(getId());
+            if (children != null) children.remove(subTask);
+        }
+    }
+
+    // Column codes: 0 for null, ordinal + 1 otherwise
+    private static byte code(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static Status status(byte code) {
+        return code == 0 ? null : Status.fromOrdinal(code - 1);
+    }
+
+    private static Priority priority(byte code) {
+        return code == 0 ? null : Priority.fromOrdinal(code - 1);
+    }
+
+    private int parentOf(int id) {
+        Integer parent = parents == null ? null : parents.get(id);
+        return parent == null ? 0 : parent;
+    }
+
+    private void setParent(int id, int parentId) {
+        if (parentId != 0) {
+            if (parents == null) parents = new HashMap<>();
+            parents.put(id, parentId);
+        } else if (parents != null) {
+            parents.remove(id);
+        }
+    }
+
+    private Map<Integer, List<TaskComponent>> subTasks() {
+        if (subTasks == null) subTasks = new HashMap<>();
+        return subTasks;
+    }
+
+    private int openSlotAtEnd(int id) {
+        if (end == ids.length) grow();
+        int slot = end++;
+        ids[slot] = id;
+        index.put(id, slot);
+        live++;
+        maxId = id;
+        return slot;
+    }
+
+    // An older id (e.g. an undone delete) takes the hole between its neighbours, or else goes
+    // to the end until the next ordered read sorts it into place
+    private int openSlotInOrder(int id) {
+        int slot = unordered ? end : firstSlotAfter(id);
+        if (slot < end && ids[slot] == EMPTY) {
+            // the hole it left, or one next to it
+        } else if (slot > 0 && ids[slot - 1] == EMPTY) {
+            slot--;
+        } else {
+            if (slot < end) unordered = true;
+            if (end == ids.length) grow();
+            slot = end++;
+        }
+        ids[slot] = id;
+        index.put(id, slot);
+        live++;
+        return slot;
+    }
+
+    // Sorts the rows by id through one permutation of every column
+    private void sortSlots() {
+        if (!unordered) return;
+        compact();
+        long[] order = new long[end];
+        for (int i = 0; i < end; i++) {
+            order[i] = (long) ids[i] << 32 | i;
+        }
+        Arrays.sort(order);
+        int[] sortedIds = new int[ids.length];
+        Arrays.fill(sortedIds, EMPTY);
+        String[] sortedTitles = new String[ids.length];
+        String[] sortedDescriptions = new String[ids.length];
+        byte[] sortedStatuses = new byte[ids.length];
+        byte[] sortedPriorities = new byte[ids.length];
+        for (int i = 0; i < end; i++) {
+            int from = (int) order[i];
+            sortedIds[i] = ids[from];
+            sortedTitles[i] = titles[from];
+            sortedDescriptions[i] = descriptions[from];
+            sortedStatuses[i] = statuses[from];
+            sortedPriorities[i] = priorities[from];
+            index.put(ids[from], i);
+        }
+        ids = sortedIds;
+        titles = sortedTitles;
+        descriptions = sortedDescriptions;
+        statuses = sortedStatuses;
+        priorities = sortedPriorities;
+        unordered = false;
+    }
+
+    private void compact() {
+        int write = 0;
+        for (int read = 0; read < end; read++) {
+            if (ids[read] == EMPTY) continue;
+            if (write != read) {
+                ids[write] = ids[read];
+                titles[write] = titles[read];
+                descriptions[write] = descriptions[read];
+                statuses[write] = statuses[read];
+                priorities[write] = priorities[read];
+                index.put(ids[write], write);
+            }
+            write++;
+        }
+        Arrays.fill(ids, write, end, EMPTY);
+        Arrays.fill(titles, write, end, null);
+        Arrays.fill(descriptions, write, end, null);
+        end = write;
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        Arrays.fill(ids, EMPTY);
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+        statuses = new byte[capacity];
+        priorities = new byte[capacity];
+    }
+
+    private void grow() {
+        int capacity = ids.length << 1;
+        ids = Arrays.copyOf(ids, capacity);
+        Arrays.fill(ids, end, capacity, EMPTY);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+}
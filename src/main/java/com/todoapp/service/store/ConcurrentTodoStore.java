@@ -0,0 +1,104 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.iterator.IdStatusVisitor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe store for the concurrent TodoService mode.
+ * Id lookups go through a ConcurrentHashMap; ordered traversal goes through
+ * a skip list keyed by id, which matches insertion order because ids are
+ * handed out monotonically. Neither structure blocks readers, and iteration
+ * is weakly consistent rather than failing on concurrent modification.
+ */
+public class ConcurrentTodoStore implements TodoStore {
+    private static final int BYTES_PER_TODO = 256;
+
+    private final ConcurrentHashMap<Integer, Todo> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Todo> ordered = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Todo add(Todo todo) {
+        ordered.put(todo.getId(), todo);
+        byId.put(todo.getId(), todo);
+        return todo;
+    }
+
+    @Override
+    public Todo get(int id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public Todo remove(int id) {
+        Todo removed = byId.remove(id);
+        if (removed != null) {
+            ordered.remove(id, removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void clear() {
+        byId.clear();
+        ordered.clear();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) size() * BYTES_PER_TODO;
+    }
+
+    @Override
+    public List<Todo> toList() {
+        return new ArrayList<>(ordered.values());
+    }
+
+    @Override
+    public List<Todo> range(int afterId, int skip, int limit) {
+        List<Todo> result = new ArrayList<>(Math.min(limit, 256));
+        for (Todo todo : ordered.tailMap(afterId, false).values()) {
+            if (result.size() == limit) break;
+            if (skip > 0) skip--;
+            else result.add(todo);
+        }
+        return result;
+    }
+
+    @Override
+    public int forEachIdStatus(int afterId, int limit, IdStatusVisitor visitor) {
+        int last = afterId;
+        int visited = 0;
+        for (Todo todo : ordered.tailMap(afterId, false).values()) {
+            if (visited++ == limit) break;
+            last = todo.getId();
+            visitor.visit(last, todo.getStatus());
+        }
+        return last;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Todo> action) {
+        ordered.values().forEach(action);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    @Override
+    public Stream<Todo> stream() {
+        return ordered.values().stream();
+    }
+}
@@ -0,0 +1,264 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parent/child links between todos with per-node rollups (subtree size,
+ * completed count, count per priority) that are adjusted along the
+ * ancestor path on every change, so reading a rollup never walks the
+ * subtree. Only todos that have a parent or children get a node; a plain
+ * top-level todo costs nothing. Every walk is a loop, so tree depth is
+ * bounded by memory rather than by the call stack.
+ *
+ * Structural changes are made by TodoService with every stripe held;
+ * the methods still synchronize because status and priority changes
+ * arrive under single stripes.
+ */
+public class HierarchyIndex {
+    private static final int PRIORITIES = Priority.values().length;
+    private static final int[] NO_CHILDREN = new int[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private static final class Node {
+        final int id;
+        int parent;
+        int slot; // position in the parent's children, so unlinking is O(1)
+        Node[] children = NO_NODES;
+        int childCount;
+        int total;
+        int completed;
+        final int[] byPriority = new int[PRIORITIES];
+
+        Node(int id) {
+            this.id = id;
+        }
+
+        boolean isolated() {
+            return parent == 0 && childCount == 0;
+        }
+    }
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private volatile boolean empty = true; // lets flat lists skip the lock entirely
+
+    /**
+     * Moves {@code child} under {@code parent}, or to the top level when
+     * parent is null. Throws IllegalArgumentException, changing nothing,
+     * if parent is the child itself or one of its descendants.
+     */
+    public synchronized void attach(Todo child, Todo parent) {
+        int childId = child.getId();
+        if (parent != null) {
+            for (int at = parent.getId(); at != 0; at = parentOf(at)) {
+                if (at == childId) throw new IllegalArgumentException("Todo " + childId + " cannot move under its own subtree");
+            }
+        }
+        Node node = nodes.get(childId);
+        if (node == null) {
+            if (parent == null) return;
+            node = newNode(child);
+        }
+        if (node.parent != 0) {
+            Node oldParent = nodes.get(node.parent);
+            removeChild(oldParent, node);
+            addAlongPath(oldParent, -node.total, -node.completed, node.byPriority, -1);
+            dropIfIsolated(oldParent);
+            node.parent = 0;
+        }
+        if (parent != null) {
+            Node newParent = nodes.get(parent.getId());
+            if (newParent == null) newParent = newNode(parent);
+            addChild(newParent, node);
+            addAlongPath(newParent, node.total, node.completed, node.byPriority, 1);
+            node.parent = newParent.id;
+        }
+        dropIfIsolated(node);
+    }
+
+    /**
+     * Unlinks a removed todo. Its children move up to its parent, keeping
+     * their subtrees; their ids are returned so the caller can update them.
+     */
+    public int[] onRemoved(Todo todo) {
+        if (empty) return NO_CHILDREN;
+        synchronized (this) {
+            Node node = nodes.remove(todo.getId());
+            if (node == null) return NO_CHILDREN;
+            Node parent = node.parent == 0 ? null : nodes.get(node.parent);
+            if (parent != null) {
+                removeChild(parent, node);
+                for (Node ancestor = parent; ancestor != null; ancestor = nodes.get(ancestor.parent)) {
+                    addSelf(ancestor, todo.getStatus(), todo.getPriority(), -1);
+                }
+            }
+            int[] orphans = new int[node.childCount];
+            for (int i = 0; i < node.childCount; i++) {
+                Node child = node.children[i];
+                orphans[i] = child.id;
+                child.parent = parent == null ? 0 : parent.id;
+                if (parent != null) addChild(parent, child);
+                else dropIfIsolated(child);
+            }
+            if (parent != null) dropIfIsolated(parent);
+            empty = nodes.isEmpty();
+            return orphans;
+        }
+    }
+
+    public void onStatusChanged(Todo todo, Status oldStatus) {
+        if (empty || completed(oldStatus) == completed(todo.getStatus())) return;
+        synchronized (this) {
+            Node node = nodes.get(todo.getId());
+            int delta = completed(todo.getStatus()) ? 1 : -1;
+            for (; node != null; node = nodes.get(node.parent)) {
+                node.completed += delta;
+            }
+        }
+    }
+
+    public void onPriorityChanged(Todo todo, Priority oldPriority) {
+        if (empty) return;
+        synchronized (this) {
+            Node node = nodes.get(todo.getId());
+            for (; node != null; node = nodes.get(node.parent)) {
+                node.byPriority[ordinal(oldPriority)]--;
+                node.byPriority[ordinal(todo.getPriority())]++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        empty = true;
+    }
+
+    public int parentOf(int id) {
+        if (empty) return 0;
+        synchronized (this) {
+            Node node = nodes.get(id);
+            return node == null ? 0 : node.parent;
+        }
+    }
+
+    public boolean hasChildren(int id) {
+        if (empty) return false;
+        synchronized (this) {
+            Node node = nodes.get(id);
+            return node != null && node.childCount > 0;
+        }
+    }
+
+    // Direct children in id order
+    public int[] children(int id) {
+        if (empty) return NO_CHILDREN;
+        synchronized (this) {
+            Node node = nodes.get(id);
+            if (node == null) return NO_CHILDREN;
+            int[] children = new int[node.childCount];
+            for (int i = 0; i < children.length; i++) children[i] = node.children[i].id;
+            Arrays.sort(children);
+            return children;
+        }
+    }
+
+    // The todo and all its descendants, every child listed before its parent
+    public synchronized int[] subtreePostOrder(int id) {
+        Node root = nodes.get(id);
+        if (root == null) return new int[] {id};
+        int[] order = new int[root.total];
+        int[] stack = new int[16];
+        int depth = 0;
+        int filled = order.length;
+        stack[depth++] = id;
+        // Reverse pre-order (parent, then children) read backwards is a valid post-order
+        while (depth > 0) {
+            int at = stack[--depth];
+            order[--filled] = at;
+            Node node = nodes.get(at);
+            if (node == null) continue;
+            for (int i = 0; i < node.childCount; i++) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth << 1);
+                stack[depth++] = node.children[i].id;
+            }
+        }
+        return order;
+    }
+
+    // Rollup of a todo with no node is the todo on its own
+    public TaskRollup rollup(Todo todo) {
+        if (!empty) {
+            synchronized (this) {
+                Node node = nodes.get(todo.getId());
+                if (node != null) {
+                    Priority highest = null;
+                    for (int p = PRIORITIES - 1; p >= 0 && highest == null; p--) {
+                        if (node.byPriority[p] > 0) highest = Priority.fromOrdinal(p);
+                    }
+                    return new TaskRollup(node.total, node.completed, highest);
+                }
+            }
+        }
+        Priority own = todo.getPriority() == null ? Priority.MEDIUM : todo.getPriority();
+        return new TaskRollup(1, completed(todo.getStatus()) ? 1 : 0, own);
+    }
+
+    private Node newNode(Todo todo) {
+        Node node = new Node(todo.getId());
+        addSelf(node, todo.getStatus(), todo.getPriority(), 1);
+        nodes.put(node.id, node);
+        empty = false;
+        return node;
+    }
+
+    // Applies one todo's own contribution to a single node
+    private static void addSelf(Node node, Status status, Priority priority, int sign) {
+        node.total += sign;
+        if (completed(status)) node.completed += sign;
+        node.byPriority[ordinal(priority)] += sign;
+    }
+
+    private void addAlongPath(Node from, int total, int completed, int[] byPriority, int sign) {
+        for (Node node = from; node != null; node = nodes.get(node.parent)) {
+            node.total += total;
+            node.completed += completed;
+            for (int p = 0; p < PRIORITIES; p++) node.byPriority[p] += sign * byPriority[p];
+        }
+    }
+
+    private static void addChild(Node parent, Node child) {
+        if (parent.childCount == parent.children.length) {
+            parent.children = Arrays.copyOf(parent.children, Math.max(4, parent.childCount << 1));
+        }
+        child.slot = parent.childCount;
+        parent.children[parent.childCount++] = child;
+    }
+
+    // Swaps the last child into the freed slot
+    private static void removeChild(Node parent, Node child) {
+        Node last = parent.children[--parent.childCount];
+        parent.children[child.slot] = last;
+        last.slot = child.slot;
+        parent.children[parent.childCount] = null;
+    }
+
+    private void dropIfIsolated(Node node) {
+        if (node.isolated()) {
+            nodes.remove(node.id);
+            empty = nodes.isEmpty();
+        }
+    }
+
+    private static boolean completed(Status status) {
+        return status == Status.COMPLETED;
+    }
+
+    // A missing priority counts as MEDIUM, as in PriorityIndex
+    private static int ordinal(Priority priority) {
+        return (priority == null ? Priority.MEDIUM : priority).ordinal();
+    }
+}
@@ -0,0 +1,216 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.iterator.IdStatusVisitor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Insertion-ordered slot array with a primitive id index on top.
+ * Lookups, inserts and deletes are O(1); deleted slots are left as holes
+ * and squeezed out once they outnumber the live entries. A re-inserted
+ * older id (an undone delete) takes its old hole if it is still there, or
+ * else goes to the end, and the slots are sorted back into id order once,
+ * before the next ordered read; so even ordered reads change the store.
+ * Not thread-safe.
+ */
+public class IndexedTodoStore implements TodoStore {
+    private static final int BYTES_PER_TODO = 170;
+    private static final int MIN_HOLES_TO_COMPACT = 32;
+    private static final Comparator<Todo> BY_ID = Comparator.comparingInt(Todo::getId);
+
+    private Todo[] slots;
+    private int end;  // first unused slot
+    private int live; // non-null slots
+    private int maxId; // highest id ever added since the last clear
+    private boolean unordered; // older ids were appended; sortSlots() before reading in order
+    private final IntIntMap index;
+
+    public IndexedTodoStore() {
+        this(16);
+    }
+
+    public IndexedTodoStore(int initialCapacity) {
+        this.slots = new Todo[Math.max(initialCapacity, 16)];
+        this.index = new IntIntMap(initialCapacity);
+    }
+
+    @Override
+    public Todo add(Todo todo) {
+        int slot = index.get(todo.getId());
+        if (slot >= 0) {
+            slots[slot] = todo;
+            return todo;
+        }
+        if (todo.getId() < maxId) {
+            insertOrdered(todo);
+            return todo;
+        }
+        maxId = todo.getId();
+        if (end == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length << 1);
+        }
+        slots[end] = todo;
+        index.put(todo.getId(), end++);
+        live++;
+        return todo;
+    }
+
+    @Override
+    public Todo get(int id) {
+        int slot = index.get(id);
+        return slot < 0 ? null : slots[slot];
+    }
+
+    @Override
+    public Todo remove(int id) {
+        int slot = index.remove(id);
+        if (slot < 0) return null;
+        Todo removed = slots[slot];
+        slots[slot] = null;
+        live--;
+        if (slot == end - 1) {
+            end--;
+        }
+        int holes = end - live;
+        if (holes > MIN_HOLES_TO_COMPACT && holes > live) {
+            compact();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return live;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, end, null);
+        index.clear();
+        end = 0;
+        live = 0;
+        maxId = 0;
+        unordered = false;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return (long) size() * BYTES_PER_TODO;
+    }
+
+    @Override
+    public List<Todo> toList() {
+        sortSlots();
+        List<Todo> result = new ArrayList<>(live);
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) result.add(slots[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Todo> range(int afterId, int skip, int limit) {
+        sortSlots();
+        List<Todo> result = new ArrayList<>(Math.min(limit, 256));
+        for (int i = firstSlotAfter(afterId); i < end && result.size() < limit; i++) {
+            if (slots[i] == null) continue;
+            if (skip > 0) skip--;
+            else result.add(slots[i]);
+        }
+        return result;
+    }
+
+    // Binary search over id order; a probe landing in a hole moves on to the next live slot
+    private int firstSlotAfter(int afterId) {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int probe = mid;
+            while (probe < high && slots[probe] == null) probe++;
+            if (probe < high && slots[probe].getId() <= afterId) low = probe + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    @Override
+    public int forEachIdStatus(int afterId, int limit, IdStatusVisitor visitor) {
+        sortSlots();
+        int last = afterId;
+        int visited = 0;
+        for (int i = firstSlotAfter(afterId); i < end && visited < limit; i++) {
+            Todo todo = slots[i];
+            if (todo == null) continue;
+            last = todo.getId();
+            visitor.visit(last, todo.getStatus());
+            visited++;
+        }
+        return last;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Todo> action) {
+        sortSlots();
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) action.accept(slots[i]);
+        }
+    }
+
+    @Override
+    public Stream<Todo> stream() {
+        sortSlots();
+        return Arrays.stream(slots, 0, end).filter(Objects::nonNull);
+    }
+
+    // O(log n): no slot moves, so a bulk undo of many deletes stays linear overall
+    private void insertOrdered(Todo todo) {
+        int slot = unordered ? end : firstSlotAfter(todo.getId());
+        if (slot < end && slots[slot] == null) {
+            // the hole between its neighbours, usually the one it left
+        } else if (slot > 0 && slots[slot - 1] == null) {
+            slot--;
+        } else {
+            if (slot < end) unordered = true;
+            if (end == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length << 1);
+            }
+            slot = end++;
+        }
+        slots[slot] = todo;
+        index.put(todo.getId(), slot);
+        live++;
+    }
+
+    // One compaction and sort for however many ids insertOrdered appended out of order
+    private void sortSlots() {
+        if (!unordered) return;
+        compact();
+        Arrays.sort(slots, 0, end, BY_ID);
+        for (int i = 0; i < end; i++) {
+            index.put(slots[i].getId(), i);
+        }
+        unordered = false;
+    }
+
+    private void compact() {
+        int write = 0;
+        for (int read = 0; read < end; read++) {
+            Todo todo = slots[read];
+            if (todo == null) continue;
+            if (write != read) {
+                slots[write] = todo;
+                index.put(todo.getId(), write);
+            }
+            write++;
+        }
+        Arrays.fill(slots, write, end, null);
+        end = write;
+    }
+}
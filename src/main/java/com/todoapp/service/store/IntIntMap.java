@@ -0,0 +1,126 @@
+package com.todoapp.service.store;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int hash map used as the primary key index.
+ * Keys are stored unboxed and deletions use backward shifting, so there
+ * are no tombstones and lookups stay O(1) after heavy delete traffic.
+ * Values must be non-negative; {@link #get(int)} returns -1 for a miss.
+ */
+public final class IntIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values; // value + 1, 0 marks an empty bucket
+    private int mask;
+    private int size;
+    private int threshold;
+
+    public IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntIntMap(int expectedSize) {
+        allocate(tableSizeFor(Math.max(MIN_CAPACITY, expectedSize * 2)));
+    }
+
+    public int get(int key) {
+        int i = bucket(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) return values[i] - 1;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) >= 0;
+    }
+
+    public void put(int key, int value) {
+        if (value < 0) throw new IllegalArgumentException("Value must be non-negative: " + value);
+        int i = bucket(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        if (++size > threshold) rehash(keys.length << 1);
+    }
+
+    public int remove(int key) {
+        int i = bucket(key);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                int old = values[i] - 1;
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    // Moves later entries of the probe chain into the freed bucket so that
+    // every remaining key is still reachable from its home bucket.
+    private void shiftBack(int gap) {
+        int j = gap;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == 0) break;
+            int home = bucket(keys[j]);
+            boolean movable = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+            if (movable) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) continue;
+            int b = bucket(oldKeys[i]);
+            while (values[b] != 0) b = (b + 1) & mask;
+            keys[b] = oldKeys[i];
+            values[b] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity >>> 1;
+    }
+
+    private int bucket(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int n) {
+        int highest = Integer.highestOneBit(n);
+        return highest == n ? n : highest << 1;
+    }
+}
@@ -0,0 +1,119 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Secondary index ordering todos by priority (most urgent first), then id.
+ * Each priority has a pending and a completed bucket keyed by id, so a
+ * mutation costs O(log n) and the top k entries are read in O(k) without
+ * sorting. Maintained by TodoService under the same locks as the store;
+ * readers go lock-free like StatusIndex.
+ */
+public class PriorityIndex {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final class Bucket {
+        final ConcurrentSkipListMap<Integer, Todo> pending = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<Integer, Todo> completed = new ConcurrentSkipListMap<>();
+
+        ConcurrentSkipListMap<Integer, Todo> forStatus(Status status) {
+            return status == Status.COMPLETED ? completed : pending;
+        }
+    }
+
+    private final Bucket[] buckets = new Bucket[PRIORITIES.length];
+
+    public PriorityIndex() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    public void onAdded(Todo todo) {
+        bucket(todo.getPriority()).forStatus(todo.getStatus()).put(todo.getId(), todo);
+    }
+
+    public void onRemoved(Todo todo) {
+        bucket(todo.getPriority()).forStatus(todo.getStatus()).remove(todo.getId());
+    }
+
+    public void onStatusChanged(Todo todo, Status oldStatus) {
+        Bucket bucket = bucket(todo.getPriority());
+        bucket.forStatus(oldStatus).remove(todo.getId());
+        bucket.forStatus(todo.getStatus()).put(todo.getId(), todo);
+    }
+
+    public void onPriorityChanged(Todo todo, Priority oldPriority) {
+        bucket(oldPriority).forStatus(todo.getStatus()).remove(todo.getId());
+        bucket(todo.getPriority()).forStatus(todo.getStatus()).put(todo.getId(), todo);
+    }
+
+    public void clear() {
+        for (Bucket bucket : buckets) {
+            bucket.pending.clear();
+            bucket.completed.clear();
+        }
+    }
+
+    public int getCount(Priority priority) {
+        Bucket bucket = bucket(priority);
+        return bucket.pending.size() + bucket.completed.size();
+    }
+
+    // The k most urgent pending todos: highest priority first, oldest first within a priority
+    public List<Todo> topPending(int k) {
+        return range(true, Priority.HIGH, Integer.MIN_VALUE, 0, k);
+    }
+
+    // The first limit todos ordered by priority, then id, whatever their status
+    public List<Todo> sorted(int limit) {
+        return range(false, Priority.HIGH, Integer.MIN_VALUE, 0, limit);
+    }
+
+    /**
+     * Up to limit todos in index order, starting just after (from, afterId):
+     * ids above afterId within priority from, then every lower priority.
+     * The first skip matches are passed over. Costs O(log n + skip + limit).
+     */
+    public List<Todo> range(boolean pendingOnly, Priority from, int afterId, int skip, int limit) {
+        List<Todo> result = new ArrayList<>(Math.min(limit, 64));
+        for (int p = bucketOrdinal(from); p >= 0 && result.size() < limit; p--) {
+            int after = p == bucketOrdinal(from) ? afterId : Integer.MIN_VALUE;
+            Iterator<Todo> pending = buckets[p].pending.tailMap(after, false).values().iterator();
+            Iterator<Todo> completed = pendingOnly
+                    ? Collections.emptyIterator()
+                    : buckets[p].completed.tailMap(after, false).values().iterator();
+            Todo a = pending.hasNext() ? pending.next() : null;
+            Todo b = completed.hasNext() ? completed.next() : null;
+            while ((a != null || b != null) && result.size() < limit) {
+                Todo next;
+                if (b == null || (a != null && a.getId() < b.getId())) {
+                    next = a;
+                    a = pending.hasNext() ? pending.next() : null;
+                } else {
+                    next = b;
+                    b = completed.hasNext() ? completed.next() : null;
+                }
+                if (skip > 0) skip--;
+                else result.add(next);
+            }
+        }
+        return result;
+    }
+
+    // A missing priority is filed under MEDIUM, matching Priority.parse
+    private Bucket bucket(Priority priority) {
+        return buckets[bucketOrdinal(priority)];
+    }
+
+    private static int bucketOrdinal(Priority priority) {
+        return (priority == null ? Priority.MEDIUM : priority).ordinal();
+    }
+}
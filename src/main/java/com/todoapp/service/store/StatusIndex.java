@@ -0,0 +1,26 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.List;
+
+/**
+ * Secondary index over todo status. TodoService updates it inside the same
+ * locked section as the primary store, so counts are O(1) and filtered
+ * views are returned in insertion order.
+ */
+public interface StatusIndex {
+    void onAdded(Todo todo);
+    void onRemoved(Todo todo);
+    // Called after the todo's status has been changed from oldStatus
+    void onStatusChanged(Todo todo, Status oldStatus);
+    void clear();
+
+    int getCompletedCount();
+    int getPendingCount();
+    int getCount(Status status);
+    List<Todo> getCompleted();
+    List<Todo> getPending();
+    // Up to limit todos of one bucket with an id above afterId, in id order, after skipping skip of them
+    List<Todo> range(boolean completed, int afterId, int skip, int limit);
+}
@@ -0,0 +1,30 @@
+package com.todoapp.service.store;
+
+/**
+ * Lossy deduplication of short strings: a direct-mapped table remembers the
+ * last string seen per hash bucket and hands that instance back for equal
+ * input. Repeated titles and descriptions collapse to one copy without the
+ * unbounded growth or reference counting a full intern table would need.
+ */
+final class StringPool {
+    private static final int MAX_LENGTH = 64;
+
+    private final String[] table;
+    private final int mask;
+
+    StringPool(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size, 16) - 1) << 1;
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    String dedupe(String value) {
+        if (value == null || value.length() > MAX_LENGTH) return value;
+        int h = value.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        String cached = table[slot];
+        if (value.equals(cached)) return cached;
+        table[slot] = value;
+        return value;
+    }
+}
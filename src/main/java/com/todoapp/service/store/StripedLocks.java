@@ -0,0 +1,43 @@
+package com.todoapp.service.store;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks selected by todo id, so writers touching different
+ * todos rarely contend. Whole-store operations take every stripe in
+ * index order, which keeps them deadlock-free against each other.
+ */
+public final class StripedLocks {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock forId(int id) {
+        int h = id * 0x9E3779B9;
+        return locks[(h ^ (h >>> 16)) & mask];
+    }
+
+    public void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    public void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,31 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Priority;
+
+// Aggregates over a todo and all of its descendants
+public final class TaskRollup {
+    private final int total;
+    private final int completed;
+    private final Priority highestPriority;
+
+    public TaskRollup(int total, int completed, Priority highestPriority) {
+        this.total = total;
+        this.completed = completed;
+        this.highestPriority = highestPriority;
+    }
+
+    // The todo itself included
+    public int getTotal() { return total; }
+    public int getCompleted() { return completed; }
+    public int getPending() { return total - completed; }
+    public Priority getHighestPriority() { return highestPriority; }
+
+    public double getPercentComplete() {
+        return total == 0 ? 0 : 100.0 * completed / total;
+    }
+
+    @Override
+    public String toString() {
+        return completed + "/" + total + " done, highest " + highestPriority;
+    }
+}
@@ -0,0 +1,33 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.iterator.IdStatusVisitor;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Primary storage behind TodoService: id-keyed lookups plus insertion-ordered traversal
+public interface TodoStore {
+    // Returns the instance the store now holds for this id: the argument itself, or a view onto it
+    Todo add(Todo todo);
+    Todo get(int id);
+    Todo remove(int id);
+    int size();
+    void clear();
+
+    List<Todo> toList();
+    // Up to limit todos with an id above afterId, in id order, after skipping the first skip of them
+    List<Todo> range(int afterId, int skip, int limit);
+    // Visits id and status of up to limit todos after afterId; returns the last id visited, or afterId if none
+    int forEachIdStatus(int afterId, int limit, IdStatusVisitor visitor);
+    void forEach(Consumer<? super Todo> action);
+    Stream<Todo> stream();
+
+    // Approximate retained heap, from per-todo costs measured by StoreFootprint with short titles
+    long estimatedBytes();
+
+    // Whether reads are safe while another thread mutates the store
+    default boolean isThreadSafe() {
+        return false;
+    }
+}
@@ -5,7 +5,6 @@ import com.todoapp.model.Todo;
 public class DescriptionSearch implements SearchStrategy {
     @Override
     public boolean matches(Todo todo, String query) {
-        if (todo.getDescription() == null) return false;
-        return todo.getDescription().toLowerCase().contains(query.toLowerCase());
+        return TextMatch.containsIgnoreCase(todo.getDescription(), query);
     }
 }
@@ -0,0 +1,40 @@
+package com.todoapp.service.strategy;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.search.SearchField;
+
+/**
+ * Strategy that TodoService answers from its inverted search index instead
+ * of scanning every todo. Results are ranked (title hits before description
+ * hits, whole words before partial ones) and capped at {@code limit}.
+ * Used on its own, {@link #matches} gives the same answer as the scanning
+ * strategies.
+ */
+public class IndexedSearch implements SearchStrategy {
+    private final SearchField field;
+    private final int limit;
+
+    public IndexedSearch() {
+        this(SearchField.ANY, Integer.MAX_VALUE);
+    }
+
+    public IndexedSearch(SearchField field, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        this.field = field;
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean matches(Todo todo, String query) {
+        switch (field) {
+            case TITLE: return TextMatch.containsIgnoreCase(todo.getTitle(), query);
+            case DESCRIPTION: return TextMatch.containsIgnoreCase(todo.getDescription(), query);
+            default:
+                return TextMatch.containsIgnoreCase(todo.getTitle(), query)
+                        || TextMatch.containsIgnoreCase(todo.getDescription(), query);
+        }
+    }
+
+    public SearchField getField() { return field; }
+    public int getLimit() { return limit; }
+}
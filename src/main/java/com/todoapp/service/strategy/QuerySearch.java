@@ -0,0 +1,17 @@
+package com.todoapp.service.strategy;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.query.QueryParser;
+
+/**
+ * Strategy that reads the search text as a query in the language of
+ * {@link QueryParser}, e.g. {@code status:pending title:"report" -desc:draft}.
+ * Each distinct query is compiled once and cached. TodoService starts from
+ * the status index when the query pins a status.
+ */
+public class QuerySearch implements SearchStrategy {
+    @Override
+    public boolean matches(Todo todo, String query) {
+        return QueryParser.compile(query).test(todo);
+    }
+}
@@ -0,0 +1,16 @@
+package com.todoapp.service.strategy;
+
+// Case-insensitive substring check that compares in place instead of lower-casing copies
+public final class TextMatch {
+    private TextMatch() {}
+
+    public static boolean containsIgnoreCase(String text, String query) {
+        if (text == null || query == null) return false;
+        int length = query.length();
+        int last = text.length() - length;
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, query, 0, length)) return true;
+        }
+        return false;
+    }
+}
@@ -5,7 +5,6 @@ import com.todoapp.model.Todo;
 public class TitleSearch implements SearchStrategy {
     @Override
     public boolean matches(Todo todo, String query) {
-        if (todo.getTitle() == null) return false;
-        return todo.getTitle().toLowerCase().contains(query.toLowerCase());
+        return TextMatch.containsIgnoreCase(todo.getTitle(), query);
     }
 }
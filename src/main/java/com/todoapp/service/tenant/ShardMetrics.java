@@ -0,0 +1,75 @@
+package com.todoapp.service.tenant;
+
+import com.todoapp.service.TodoService;
+import com.todoapp.service.observer.Observer;
+import com.todoapp.service.observer.TodoEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+// Point-in-time figures for one tenant's shard
+public final class ShardMetrics {
+    private final String tenant;
+    private final int todos;
+    private final int completed;
+    private final long estimatedBytes;
+    private final long adds;
+    private final long removes;
+    private final long changes;
+    private final long queries;
+
+    ShardMetrics(String tenant, TodoService service, Recorder recorder) {
+        this.tenant = tenant;
+        this.todos = service.getTotalCount();
+        this.completed = service.getCompletedCount();
+        this.estimatedBytes = service.getEstimatedBytes();
+        this.adds = recorder.adds.sum();
+        this.removes = recorder.removes.sum();
+        this.changes = recorder.changes.sum();
+        this.queries = recorder.queries.sum();
+    }
+
+    public String getTenant() { return tenant; }
+    public int getTodos() { return todos; }
+    public int getCompleted() { return completed; }
+    public long getEstimatedBytes() { return estimatedBytes; }
+    public long getAdds() { return adds; }
+    public long getRemoves() { return removes; }
+    // Status, priority, text and parent changes
+    public long getChanges() { return changes; }
+    // Cross-shard queries served through the registry
+    public long getQueries() { return queries; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d todos (%d done), ~%d KB, %d adds, %d removes, %d changes, %d queries",
+                tenant, todos, completed, estimatedBytes / 1024, adds, removes, changes, queries);
+    }
+
+    // Counts a shard's operations from its event stream; batches are unpacked
+    static final class Recorder implements Observer {
+        final LongAdder adds = new LongAdder();
+        final LongAdder removes = new LongAdder();
+        final LongAdder changes = new LongAdder();
+        final LongAdder queries = new LongAdder();
+
+        @Override
+        public void update(String message) {}
+
+        @Override
+        public void onEvent(TodoEvent event) {
+            Deque<TodoEvent> pending = new ArrayDeque<>();
+            pending.push(event);
+            while (!pending.isEmpty()) {
+                TodoEvent next = pending.pop();
+                switch (next.getType()) {
+                    case ADDED: adds.increment(); break;
+                    case REMOVED: removes.increment(); break;
+                    case CLEARED: break;
+                    case BATCH: next.getEvents().forEach(pending::push); break;
+                    default: changes.increment(); break;
+                }
+            }
+        }
+    }
+}
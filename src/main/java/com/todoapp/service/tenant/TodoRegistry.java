@@ -0,0 +1,176 @@
+package com.todoapp.service.tenant;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.strategy.QuerySearch;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant-aware registry of TodoServices. Each tenant (a user, a workspace,
+ * a shared list) gets its own shard: a separate service with its own
+ * store, locks and indexes, so tenants never contend with or scan each
+ * other. Shards are created on first use. Queries across tenants fan out
+ * to every shard in parallel on a fork/join pool.
+ */
+public class TodoRegistry {
+    public static final String DEFAULT_TENANT = "default";
+
+    // Ids double as directory names for persistent shards
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final class Shard {
+        final TodoService service;
+        final ShardMetrics.Recorder recorder = new ShardMetrics.Recorder();
+
+        Shard(TodoService service) {
+            this.service = service;
+            service.registerObserver(recorder);
+        }
+    }
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private final Function<String, TodoService> factory;
+    private final ForkJoinPool pool;
+
+    // In-memory concurrent shards
+    public TodoRegistry() {
+        this(tenant -> TodoService.createConcurrent(), ForkJoinPool.commonPool());
+    }
+
+    public TodoRegistry(Function<String, TodoService> factory, ForkJoinPool pool) {
+        if (factory == null || pool == null) throw new IllegalArgumentException("Factory and pool are required");
+        this.factory = factory;
+        this.pool = pool;
+    }
+
+    // Initialization-on-demand holder, as for TodoService.getInstance()
+    private static class SharedHolder {
+        private static final TodoRegistry SHARED = createShared();
+
+        private static TodoRegistry createShared() {
+            TodoRegistry registry = new TodoRegistry();
+            registry.shards.put(DEFAULT_TENANT, new Shard(TodoService.getInstance()));
+            return registry;
+        }
+    }
+
+    /**
+     * The process-wide registry. Its default tenant is TodoService.getInstance(),
+     * so the UI, the facade and the commands keep working unchanged.
+     */
+    public static TodoRegistry shared() {
+        return SharedHolder.SHARED;
+    }
+
+    // One persistent shard per tenant, each in its own sub-directory of baseDirectory
+    public static TodoRegistry persistent(Path baseDirectory) {
+        return new TodoRegistry(tenant -> {
+            try {
+                return TodoService.createPersistent(baseDirectory.resolve(tenant));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open shard for tenant " + tenant, e);
+            }
+        }, ForkJoinPool.commonPool());
+    }
+
+    public TodoService forTenant(String tenant) {
+        if (tenant == null || !TENANT_ID.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenant);
+        }
+        return shards.computeIfAbsent(tenant, id -> new Shard(factory.apply(id))).service;
+    }
+
+    public TodoService defaultTenant() {
+        return forTenant(DEFAULT_TENANT);
+    }
+
+    public Set<String> tenants() {
+        return new TreeSet<>(shards.keySet());
+    }
+
+    // Drops the shard and closes its storage, if any; returns false for an unknown tenant
+    public boolean removeTenant(String tenant) {
+        Shard shard = tenant == null ? null : shards.remove(tenant);
+        if (shard == null) return false;
+        shard.service.removeObserver(shard.recorder);
+        try {
+            shard.service.closeStorage();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close shard for tenant " + tenant, e);
+        }
+        return true;
+    }
+
+    // --- Cross-shard queries ---
+
+    // Matches per tenant, tenants in name order, each list in id order
+    public Map<String, List<Todo>> query(Predicate<? super Todo> filter) {
+        return acrossShards(shard -> {
+            shard.recorder.queries.increment();
+            return shard.service.query(filter);
+        });
+    }
+
+    // Runs a query-language search (see QuerySearch) on every shard
+    public Map<String, List<Todo>> search(String query) {
+        return acrossShards(shard -> {
+            shard.recorder.queries.increment();
+            return shard.service.searchTodos(query, new QuerySearch());
+        });
+    }
+
+    public int getTotalCount() {
+        return shards.values().stream().mapToInt(shard -> shard.service.getTotalCount()).sum();
+    }
+
+    // One entry per tenant, in name order
+    public List<ShardMetrics> metrics() {
+        List<ShardMetrics> metrics = new ArrayList<>();
+        for (Map.Entry<String, Shard> entry : new TreeMap<>(shards).entrySet()) {
+            Shard shard = entry.getValue();
+            metrics.add(new ShardMetrics(entry.getKey(), shard.service, shard.recorder));
+        }
+        return metrics;
+    }
+
+    private <T> Map<String, T> acrossShards(Function<Shard, T> work) {
+        List<String> tenants = new ArrayList<>();
+        List<Callable<T>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Shard> entry : shards.entrySet()) {
+            Shard shard = entry.getValue();
+            tenants.add(entry.getKey());
+            tasks.add(() -> work.apply(shard));
+        }
+        List<Future<T>> futures = pool.invokeAll(tasks);
+        Map<String, T> results = new TreeMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.put(tenants.get(i), futures.get(i).get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw new IllegalStateException("Query failed on tenant " + tenants.get(i), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while querying tenants", e);
+            }
+        }
+        return results;
+    }
+}
@@ -3,15 +3,22 @@ package com.todoapp.ui;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.List;
 import com.todoapp.model.Todo;
 import com.todoapp.service.TodoService;
 import com.todoapp.service.observer.Observer; 
+import com.todoapp.service.observer.TodoEvent;
 import com.todoapp.ui.facade.TodoFacade;     
 import com.todoapp.ui.command.TodoInvoker;   
 import com.todoapp.service.command.AddTodoCommand;
 import com.todoapp.service.command.DeleteTodoCommand;
 import com.todoapp.service.command.ToggleStatusCommand; // Make sure you created this!
+import com.todoapp.ui.list.TodoCellRenderer;
+import com.todoapp.ui.list.TodoListModel;
 
 public class TodoUI extends JFrame implements Observer {
 
@@ -19,7 +26,9 @@ public class TodoUI extends JFrame implements Observer {
     private TodoFacade todoFacade;     
     private TodoInvoker todoInvoker;   
 
-    private JPanel todoContainer;
+    private TodoListModel listModel;
+    private TodoCellRenderer cellRenderer;
+    private JList<Todo> todoList;
     private JTextField inputField;
     private String currentFilter = "ALL"; // ALL, PENDING, COMPLETED
 
@@ -30,6 +39,8 @@ public class TodoUI extends JFrame implements Observer {
     private final Color BG_COLOR = new Color(245, 245, 245);
     private final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
     private final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 20);
+    private static final int BATCH_REFRESH_THRESHOLD = 256;
+    private static final Cursor HAND_CURSOR = Cursor.getPredefinedCursor(Cursor.HAND_CURSOR);
 
     public TodoUI() {
         this.todoService = TodoService.getInstance();
@@ -70,11 +81,25 @@ public class TodoUI extends JFrame implements Observer {
         add(headerPanel, BorderLayout.NORTH);
 
         // --- Main List Section ---
-        todoContainer = new JPanel();
-        todoContainer.setLayout(new BoxLayout(todoContainer, BoxLayout.Y_AXIS));
-        todoContainer.setBackground(Color.WHITE);
+        // JList only paints the rows inside the viewport, reusing one renderer
+        listModel = new TodoListModel();
+        cellRenderer = new TodoCellRenderer();
+        todoList = new JList<>(listModel);
+        todoList.setCellRenderer(cellRenderer);
+        todoList.setFixedCellHeight(TodoCellRenderer.ROW_HEIGHT);
+        todoList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        todoList.setBackground(Color.WHITE);
+
+        MouseAdapter listMouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) { handleListClick(e); }
+            @Override
+            public void mouseMoved(MouseEvent e) { updateCursor(e); }
+        };
+        todoList.addMouseListener(listMouse);
+        todoList.addMouseMotionListener(listMouse);
         
-        JScrollPane scrollPane = new JScrollPane(todoContainer);
+        JScrollPane scrollPane = new JScrollPane(todoList);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
         add(scrollPane, BorderLayout.CENTER);
@@ -113,8 +138,22 @@ public class TodoUI extends JFrame implements Observer {
         footerPanel.add(addButton, BorderLayout.EAST);
         add(footerPanel, BorderLayout.SOUTH);
 
+        // Ctrl+Z / Ctrl+Y step through the command history
+        bindKey(KeyEvent.VK_Z, "undo", () -> todoInvoker.undo());
+        bindKey(KeyEvent.VK_Y, "redo", () -> todoInvoker.redo());
+
         refreshList();
     }
+
+    private void bindKey(int keyCode, String name, Runnable action) {
+        JRootPane root = getRootPane();
+        int mask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyCode, mask), name);
+        root.getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) { action.run(); }
+        });
+    }
     
     private JButton createFilterButton(String text, String filterType) {
         JButton btn = new JButton(text);
@@ -136,9 +175,49 @@ public class TodoUI extends JFrame implements Observer {
         refreshList();
     }
 
+    // Applies the change directly to the list model instead of re-querying everything
+    @Override
+    public void onEvent(TodoEvent event) {
+        switch (event.getType()) {
+            case ADDED:
+            case STATUS_CHANGED:
+                if (matchesFilter(event.getTodo())) listModel.insert(event.getTodo());
+                else listModel.remove(event.getTodoId());
+                break;
+            case UPDATED:
+            case PRIORITY_CHANGED:
+            case MOVED:
+                listModel.refresh(event.getTodo());
+                break;
+            case REMOVED:
+                listModel.remove(event.getTodoId());
+                break;
+            case CLEARED:
+                listModel.clear();
+                break;
+            case BATCH:
+                // Large batches are cheaper to merge in one pass than to replay row by row
+                if (event.getEvents().size() > BATCH_REFRESH_THRESHOLD) {
+                    refreshList();
+                    break;
+                }
+                for (TodoEvent change : event.getEvents()) {
+                    onEvent(change);
+                }
+                break;
+            default:
+                refreshList();
+        }
+    }
+
+    private boolean matchesFilter(Todo todo) {
+        boolean done = todo.isCompleted();
+        if ("PENDING".equals(currentFilter)) return !done;
+        if ("COMPLETED".equals(currentFilter)) return done;
+        return true;
+    }
+
     private void refreshList() {
-        todoContainer.removeAll();
-        
         // 1. Get List based on Facade/Filter
         List<Todo> todos;
         if ("PENDING".equals(currentFilter)) {
@@ -149,66 +228,31 @@ public class TodoUI extends JFrame implements Observer {
             todos = todoFacade.getAll();
         }
 
-        // 2. Build UI Cards
-        for (Todo todo : todos) {
-            JPanel itemPanel = new JPanel(new BorderLayout());
-            itemPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 60));
-            itemPanel.setBackground(Color.WHITE);
-            itemPanel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(230, 230, 230)),
-                new EmptyBorder(10, 15, 10, 15)
-            ));
-
-            // Checkbox for "Done"
-            JCheckBox doneBox = new JCheckBox();
-            doneBox.setBackground(Color.WHITE);
-            doneBox.setSelected("COMPLETED".equals(todo.getStatus()));
-            doneBox.setCursor(new Cursor(Cursor.HAND_CURSOR));
-            
-            // Action: Toggle Status
-            doneBox.addActionListener(e -> {
-                ToggleStatusCommand cmd = new ToggleStatusCommand(todoService, todo.getId());
-                todoInvoker.execute(cmd);
-            });
-
-            // Title Label
-            JLabel titleLbl = new JLabel(todo.getTitle());
-            titleLbl.setFont(MAIN_FONT);
-            
-            if (doneBox.isSelected()) {
-                titleLbl.setForeground(Color.GRAY);
-                titleLbl.setText("<html><strike>" + todo.getTitle() + "</strike></html>");
-            } else {
-                titleLbl.setForeground(Color.DARK_GRAY);
-            }
-
-            // Right Side Panel (Priority + Delete)
-            JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-            rightPanel.setBackground(Color.WHITE);
-
-            // Delete Button
-            JButton deleteBtn = new JButton("×");
-            deleteBtn.setFont(new Font("Arial", Font.BOLD, 20));
-            deleteBtn.setForeground(DANGER_COLOR);
-            deleteBtn.setBorder(null);
-            deleteBtn.setContentAreaFilled(false);
-            deleteBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
-
-            deleteBtn.addActionListener(e -> {
-                DeleteTodoCommand cmd = new DeleteTodoCommand(todoService, todo.getId());
-                todoInvoker.execute(cmd);
-            });
+        // 2. Merge into the model; only changed rows fire events and repaint
+        listModel.setTodos(todos);
+    }
 
-            rightPanel.add(deleteBtn);
+    private void handleListClick(MouseEvent e) {
+        int index = todoList.locationToIndex(e.getPoint());
+        if (index < 0) return;
+        Todo todo = listModel.getElementAt(index);
 
-            itemPanel.add(doneBox, BorderLayout.WEST);
-            itemPanel.add(titleLbl, BorderLayout.CENTER);
-            itemPanel.add(rightPanel, BorderLayout.EAST);
-            
-            todoContainer.add(itemPanel);
+        switch (cellRenderer.hitTest(todoList, index, e.getPoint())) {
+            case TOGGLE:
+                todoInvoker.execute(new ToggleStatusCommand(todoService, todo.getId()));
+                break;
+            case DELETE:
+                todoInvoker.execute(new DeleteTodoCommand(todoService, todo.getId()));
+                break;
+            default:
+                break;
         }
-        
-        todoContainer.revalidate();
-        todoContainer.repaint();
+    }
+
+    private void updateCursor(MouseEvent e) {
+        int index = todoList.locationToIndex(e.getPoint());
+        boolean onAction = index >= 0
+                && cellRenderer.hitTest(todoList, index, e.getPoint()) != TodoCellRenderer.Hit.NONE;
+        todoList.setCursor(onAction ? HAND_CURSOR : Cursor.getDefaultCursor());
     }
 }
@@ -1,14 +1,91 @@
 package com.todoapp.ui.command;
 
+import com.todoapp.service.TodoService;
+import com.todoapp.service.command.BatchCommand;
 import com.todoapp.service.command.Command;
-import java.util.ArrayList;
+import com.todoapp.service.command.CompositeCommand;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Executes commands and keeps a bounded undo/redo history in a ring buffer.
+ * Slots [0, cursor) are undoable, [cursor, size) are redoable; once the ring
+ * is full the oldest command is overwritten.
+ */
 public class TodoInvoker {
-    private List<Command> commandHistory = new ArrayList<>();
+    public static final int DEFAULT_HISTORY_SIZE = 100;
+
+    private final Command[] history;
+    private int head;   // ring index of the oldest entry
+    private int size;   // entries held, undone ones included
+    private int cursor; // entries currently applied
+
+    public TodoInvoker() {
+        this(DEFAULT_HISTORY_SIZE);
+    }
+
+    public TodoInvoker(int historySize) {
+        if (historySize <= 0) throw new IllegalArgumentException("History size must be positive");
+        this.history = new Command[historySize];
+    }
 
     public void execute(Command command) {
-        commandHistory.add(command);
         command.execute();
+        record(command);
+    }
+
+    // Runs the commands as one unit: a single undo reverts all of them
+    public void executeGroup(List<? extends Command> commands) {
+        if (commands.isEmpty()) return;
+        execute(new CompositeCommand(commands));
+    }
+
+    // Like executeGroup, but applied under one service-wide lock with a single change event
+    public void executeBatch(TodoService service, List<? extends Command> commands) {
+        if (commands.isEmpty()) return;
+        execute(new BatchCommand(service, commands));
+    }
+
+    public boolean undo() {
+        if (cursor == 0) return false;
+        Command command = history[slot(cursor - 1)];
+        command.undo();
+        cursor--;
+        return true;
+    }
+
+    public boolean redo() {
+        if (cursor == size) return false;
+        Command command = history[slot(cursor)];
+        command.execute();
+        cursor++;
+        return true;
+    }
+
+    public boolean canUndo() { return cursor > 0; }
+    public boolean canRedo() { return cursor < size; }
+    public int getHistorySize() { return size; }
+
+    public void clearHistory() {
+        Arrays.fill(history, null);
+        head = size = cursor = 0;
+    }
+
+    private void record(Command command) {
+        // A new command drops whatever could have been redone
+        for (int i = cursor; i < size; i++) history[slot(i)] = null;
+        size = cursor;
+        if (size == history.length) {
+            history[head] = null;
+            head = (head + 1) % history.length;
+            size--;
+        }
+        history[slot(size)] = command;
+        size++;
+        cursor = size;
+    }
+
+    private int slot(int i) {
+        return (head + i) % history.length;
     }
 }
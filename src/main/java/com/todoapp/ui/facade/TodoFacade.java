@@ -2,24 +2,96 @@ package com.todoapp.ui.facade;
 
 import com.todoapp.service.TodoService;
 import com.todoapp.model.Todo;
+import com.todoapp.service.query.Page;
+import com.todoapp.service.strategy.QuerySearch;
+import com.todoapp.service.strategy.TitleSearch;
 import java.util.List;
 
 public class TodoFacade {
     private TodoService todoService;
 
     public TodoFacade() {
-        this.todoService = TodoService.getInstance();
+        this(TodoService.getInstance());
+    }
+
+    public TodoFacade(TodoService todoService) {
+        this.todoService = todoService;
     }
 
     public List<Todo> getAll() {
         return todoService.getAllTodos();
     }
 
+    // Offset pages suit jumping to page n; cursor pages stay stable while todos are added or removed
+    public List<Todo> getAll(int offset, int limit) {
+        return todoService.getAllTodos(offset, limit);
+    }
+
+    public Page<Todo> getAllPage(String cursor, int limit) {
+        return todoService.getAllTodosPage(cursor, limit);
+    }
+
     public List<Todo> getPending() {
         return todoService.getPendingTodos();
     }
 
+    public List<Todo> getPending(int offset, int limit) {
+        return todoService.getPendingTodos(offset, limit);
+    }
+
+    public Page<Todo> getPendingPage(String cursor, int limit) {
+        return todoService.getPendingTodosPage(cursor, limit);
+    }
+
     public List<Todo> getCompleted() {
         return todoService.getCompletedTodos();
     }
+
+    public List<Todo> getCompleted(int offset, int limit) {
+        return todoService.getCompletedTodos(offset, limit);
+    }
+
+    public Page<Todo> getCompletedPage(String cursor, int limit) {
+        return todoService.getCompletedTodosPage(cursor, limit);
+    }
+
+    // Highest priority first, then oldest first; read from the maintained priority index
+    public List<Todo> getByPriority() {
+        return todoService.getTodosByPriority(Integer.MAX_VALUE);
+    }
+
+    public List<Todo> getByPriority(int limit) {
+        return todoService.getTodosByPriority(limit);
+    }
+
+    public List<Todo> getByPriority(int offset, int limit) {
+        return todoService.getTodosByPriority(offset, limit);
+    }
+
+    public Page<Todo> getByPriorityPage(String cursor, int limit) {
+        return todoService.getTodosByPriorityPage(cursor, limit);
+    }
+
+    // Query language search, e.g. status:pending priority:high title:"report" -desc:draft
+    public List<Todo> find(String query) {
+        return todoService.searchTodos(query, new QuerySearch());
+    }
+
+    public List<Todo> find(String query, int limit) {
+        return todoService.searchTodos(query, new QuerySearch(), limit);
+    }
+
+    // Title search, paged the same way as the lists
+    public List<Todo> search(String keyword, int offset, int limit) {
+        return todoService.searchTodos(keyword, new TitleSearch(), offset, limit);
+    }
+
+    public Page<Todo> searchPage(String keyword, String cursor, int limit) {
+        return todoService.searchTodosPage(keyword, new TitleSearch(), cursor, limit);
+    }
+
+    // The k pending todos that need attention first
+    public List<Todo> getMostUrgent(int k) {
+        return todoService.getTopPendingTodos(k);
+    }
 }
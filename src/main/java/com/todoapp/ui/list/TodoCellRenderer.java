@@ -0,0 +1,81 @@
+package com.todoapp.ui.list;
+
+import com.todoapp.model.Todo;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.font.TextAttribute;
+import java.util.Map;
+import javax.swing.BorderFactory;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+
+/**
+ * One reusable row component for the todo JList. The same checkbox and
+ * labels are re-filled for every visible row, so painting never allocates
+ * widgets, fonts or borders.
+ */
+public class TodoCellRenderer extends JPanel implements ListCellRenderer<Todo> {
+
+    public enum Hit { TOGGLE, DELETE, NONE }
+
+    public static final int ROW_HEIGHT = 50;
+
+    private static final Color DANGER_COLOR = new Color(220, 53, 69);
+    private static final Color SELECTED_BG = new Color(240, 244, 255);
+    private static final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    private static final Font DONE_FONT = MAIN_FONT.deriveFont(Map.of(TextAttribute.STRIKETHROUGH, TextAttribute.STRIKETHROUGH_ON));
+    private static final Font DELETE_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Border ROW_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(230, 230, 230)),
+            new EmptyBorder(10, 15, 10, 15));
+
+    private final JCheckBox doneBox = new JCheckBox();
+    private final JLabel titleLbl = new JLabel();
+    private final JLabel deleteLbl = new JLabel("×");
+
+    public TodoCellRenderer() {
+        super(new BorderLayout(5, 0));
+        setBorder(ROW_BORDER);
+        doneBox.setOpaque(false);
+        titleLbl.setFont(MAIN_FONT);
+        deleteLbl.setFont(DELETE_FONT);
+        deleteLbl.setForeground(DANGER_COLOR);
+        add(doneBox, BorderLayout.WEST);
+        add(titleLbl, BorderLayout.CENTER);
+        add(deleteLbl, BorderLayout.EAST);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Todo> list, Todo todo, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        boolean done = todo.isCompleted();
+        doneBox.setSelected(done);
+        titleLbl.setText(todo.getTitle());
+        titleLbl.setFont(done ? DONE_FONT : MAIN_FONT);
+        titleLbl.setForeground(done ? Color.GRAY : Color.DARK_GRAY);
+        setBackground(isSelected ? SELECTED_BG : Color.WHITE);
+        return this;
+    }
+
+    // Works out whether a click landed on the checkbox or the delete mark of a row
+    public Hit hitTest(JList<Todo> list, int index, Point point) {
+        Rectangle cell = list.getCellBounds(index, index);
+        if (cell == null || !cell.contains(point)) return Hit.NONE;
+        getListCellRendererComponent(list, list.getModel().getElementAt(index), index, false, false);
+        setBounds(cell);
+        doLayout();
+        Point local = new Point(point.x - cell.x, point.y - cell.y);
+        if (doneBox.getBounds().contains(local)) return Hit.TOGGLE;
+        if (deleteLbl.getBounds().contains(local)) return Hit.DELETE;
+        return Hit.NONE;
+    }
+}
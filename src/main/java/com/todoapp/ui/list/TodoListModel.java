@@ -0,0 +1,130 @@
+package com.todoapp.ui.list;
+
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.swing.AbstractListModel;
+
+/**
+ * List model for the todo JList. New contents are merged against the rows
+ * already shown (both are ordered by id), so a refresh fires only the
+ * insert, remove and change events for rows that actually differ instead
+ * of rebuilding the whole list.
+ */
+public class TodoListModel extends AbstractListModel<Todo> {
+
+    // What a row looked like when it was last published, so changes can be detected
+    private static final class Row {
+        final Todo todo;
+        final String title;
+        final Status status;
+
+        Row(Todo todo) {
+            this.todo = todo;
+            this.title = todo.getTitle();
+            this.status = todo.getStatus();
+        }
+
+        boolean isStale(Todo current) {
+            return todo != current
+                    || !Objects.equals(title, current.getTitle())
+                    || status != current.getStatus();
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Todo getElementAt(int index) {
+        return rows.get(index).todo;
+    }
+
+    public void setTodos(List<Todo> todos) {
+        int i = 0;
+        int j = 0;
+        while (i < rows.size() || j < todos.size()) {
+            if (j == todos.size() || (i < rows.size() && idAt(i) < todos.get(j).getId())) {
+                int end = i;
+                while (end < rows.size() && (j == todos.size() || idAt(end) < todos.get(j).getId())) end++;
+                rows.subList(i, end).clear();
+                fireIntervalRemoved(this, i, end - 1);
+            } else if (i == rows.size() || idAt(i) > todos.get(j).getId()) {
+                int start = j;
+                while (j < todos.size() && (i == rows.size() || todos.get(j).getId() < idAt(i))) j++;
+                List<Row> added = new ArrayList<>(j - start);
+                for (int k = start; k < j; k++) added.add(new Row(todos.get(k)));
+                rows.addAll(i, added);
+                fireIntervalAdded(this, i, i + added.size() - 1);
+                i += added.size();
+            } else {
+                Todo current = todos.get(j);
+                if (rows.get(i).isStale(current)) {
+                    rows.set(i, new Row(current));
+                    fireContentsChanged(this, i, i);
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    // --- Single-row deltas, used when the service reports exactly what changed ---
+
+    public void insert(Todo todo) {
+        int pos = indexOf(todo.getId());
+        if (pos >= 0) {
+            rows.set(pos, new Row(todo));
+            fireContentsChanged(this, pos, pos);
+            return;
+        }
+        pos = -pos - 1;
+        rows.add(pos, new Row(todo));
+        fireIntervalAdded(this, pos, pos);
+    }
+
+    public void remove(int id) {
+        int pos = indexOf(id);
+        if (pos < 0) return;
+        rows.remove(pos);
+        fireIntervalRemoved(this, pos, pos);
+    }
+
+    public void refresh(Todo todo) {
+        int pos = indexOf(todo.getId());
+        if (pos < 0) return;
+        rows.set(pos, new Row(todo));
+        fireContentsChanged(this, pos, pos);
+    }
+
+    public void clear() {
+        if (rows.isEmpty()) return;
+        int last = rows.size() - 1;
+        rows.clear();
+        fireIntervalRemoved(this, 0, last);
+    }
+
+    // Binary search by id; returns -(insertion point) - 1 when absent
+    private int indexOf(int id) {
+        int low = 0;
+        int high = rows.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = idAt(mid);
+            if (midId < id) low = mid + 1;
+            else if (midId > id) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    private int idAt(int index) {
+        return rows.get(index).todo.getId();
+    }
+}
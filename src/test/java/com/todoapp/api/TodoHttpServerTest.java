@@ -0,0 +1,203 @@
+package com.todoapp.api;
+
+import com.todoapp.service.TodoService;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoHttpServerTest {
+
+    private TodoService service;
+    private TodoHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = TodoService.createConcurrent();
+        server = TodoHttpServer.start(service, 0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Todos can be created, read, updated, toggled and deleted")
+    void testCrud() throws Exception {
+        HttpResponse<String> created = send("POST", "/todos", "{\"title\":\"Write report\",\"description\":\"Q3\",\"priority\":\"high\"}");
+        assertEquals(201, created.statusCode());
+        JSONObject todo = new JSONObject(created.body());
+        int id = todo.getInt("id");
+        assertEquals("Write report", todo.getString("title"));
+        assertEquals("HIGH", todo.getString("priority"));
+
+        assertEquals("Q3", new JSONObject(send("GET", "/todos/" + id, null).body()).getString("description"));
+
+        HttpResponse<String> updated = send("PUT", "/todos/" + id, "{\"title\":\"Write final report\",\"status\":\"completed\"}");
+        assertEquals(200, updated.statusCode());
+        assertEquals("Write final report", new JSONObject(updated.body()).getString("title"));
+        assertEquals("Q3", new JSONObject(updated.body()).getString("description"));
+        assertTrue(service.findTodoById(id).get().isCompleted());
+
+        assertEquals("PENDING", new JSONObject(send("POST", "/todos/" + id + "/toggle", "").body()).getString("status"));
+
+        assertEquals(204, send("DELETE", "/todos/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/todos/" + id, null).statusCode());
+        assertEquals(404, send("DELETE", "/todos/" + id, null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Lists page by cursor or offset and search uses the query language")
+    void testPagingAndSearch() throws Exception {
+        for (int i = 1; i <= 25; i++) service.addTodo((i % 5 == 0 ? "Report " : "Task ") + i, "");
+        service.completeTodo(5);
+
+        int seen = 0;
+        String cursor = null;
+        do {
+            String path = "/todos?limit=10" + (cursor == null ? "" : "&cursor=" + cursor);
+            JSONObject page = new JSONObject(send("GET", path, null).body());
+            seen += page.getJSONArray("items").length();
+            cursor = page.isNull("nextCursor") ? null : page.getString("nextCursor");
+            assertEquals(cursor != null, page.getBoolean("hasMore"));
+        } while (cursor != null);
+        assertEquals(25, seen);
+
+        JSONArray offsetPage = new JSONObject(send("GET", "/todos?status=pending&offset=20&limit=10", null).body()).getJSONArray("items");
+        assertEquals(4, offsetPage.length());
+
+        JSONArray reports = new JSONObject(send("GET", "/search?q=status%3Apending+report", null).body()).getJSONArray("items");
+        assertEquals(4, reports.length());
+        assertEquals(10, reports.getJSONObject(0).getInt("id"));
+
+        assertEquals(24, new JSONObject(send("GET", "/stats", null).body()).getInt("pending"));
+    }
+
+    @Test
+    @DisplayName("Bad requests are answered with JSON errors")
+    void testErrors() throws Exception {
+        assertEquals(400, send("POST", "/todos", "{\"title\":\"  \"}").statusCode());
+        assertEquals(400, send("POST", "/todos", "not json").statusCode());
+        assertEquals(400, send("GET", "/todos?limit=0", null).statusCode());
+        assertEquals(400, send("GET", "/todos?cursor=abc", null).statusCode());
+        assertEquals(400, send("GET", "/search?q=priority%3Acritical", null).statusCode());
+        assertEquals(404, send("GET", "/nowhere", null).statusCode());
+        HttpResponse<String> notAllowed = send("DELETE", "/todos", null);
+        assertEquals(405, notAllowed.statusCode());
+        assertTrue(new JSONObject(notAllowed.body()).getString("error").contains("DELETE"));
+    }
+
+    @Test
+    @DisplayName("Several requests share one keep-alive connection")
+    void testKeepAlive() throws Exception {
+        service.addTodo("Task", "");
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 3; i++) {
+                out.write("GET /todos/1 HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                assertEquals("HTTP/1.1 200 OK", in.readLine());
+                int length = -1;
+                for (String line = in.readLine(); !line.isEmpty(); line = in.readLine()) {
+                    if (line.toLowerCase().startsWith("content-length:")) length = Integer.parseInt(line.substring(15).trim());
+                }
+                char[] body = new char[length];
+                int read = 0;
+                while (read < length) read += in.read(body, read, length - read);
+                assertEquals("Task", new JSONObject(new String(body)).getString("title"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent writers and pagers never see a torn page")
+    void testConcurrentReadsAndWrites() throws Exception {
+        // The compact store is not thread-safe on its own, so its pages rely on the service's locks
+        try (TodoHttpServer compact = TodoHttpServer.start(TodoService.createCompact(), 0)) {
+            for (TodoHttpServer target : List.of(server, compact)) {
+                ExecutorService pool = Executors.newFixedThreadPool(4);
+                try {
+                    List<Future<?>> work = new ArrayList<>();
+                    for (int w = 0; w < 2; w++) {
+                        work.add(pool.submit(() -> {
+                            for (int i = 0; i < 100; i++) {
+                                int id = new JSONObject(send(target, "POST", "/todos", "{\"title\":\"Task " + i + "\",\"priority\":\"high\"}").body()).getInt("id");
+                                assertEquals(200, send(target, "PUT", "/todos/" + id, "{\"status\":\"completed\"}").statusCode());
+                                if (i % 3 == 0) assertEquals(204, send(target, "DELETE", "/todos/" + id, null).statusCode());
+                            }
+                            return null;
+                        }));
+                    }
+                    for (int r = 0; r < 2; r++) {
+                        work.add(pool.submit(() -> {
+                            for (int i = 0; i < 100; i++) {
+                                String path = i % 2 == 0 ? "/todos?limit=20" : "/todos?status=completed&offset=0&limit=20";
+                                HttpResponse<String> page = send(target, "GET", path, null);
+                                assertEquals(200, page.statusCode(), page.body());
+                                JSONArray items = new JSONObject(page.body()).getJSONArray("items");
+                                for (int k = 1; k < items.length(); k++) {
+                                    assertTrue(items.getJSONObject(k - 1).getInt("id") < items.getJSONObject(k).getInt("id"));
+                                }
+                            }
+                            return null;
+                        }));
+                    }
+                    for (Future<?> future : work) future.get();
+                } finally {
+                    pool.shutdown();
+                }
+                JSONObject stats = new JSONObject(send(target, "GET", "/stats", null).body());
+                assertEquals(132, stats.getInt("total"));
+                assertEquals(132, stats.getInt("completed"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A rejected update changes no field")
+    void testUpdateIsAllOrNothing() throws Exception {
+        int id = service.addTodo("Task", "").getId();
+        assertEquals(400, send("PUT", "/todos/" + id, "{\"title\":\"Renamed\",\"priority\":\"high\",\"parentId\":99}").statusCode());
+        assertEquals(400, send("PUT", "/todos/" + id, "{\"title\":\"Renamed\",\"priority\":\"urgentest\"}").statusCode());
+        assertEquals(400, send("POST", "/todos", "{\"title\":\"Child\",\"parentId\":99}").statusCode());
+        assertEquals("Task", service.findTodoById(id).get().getTitle());
+        assertEquals(1, service.getTotalCount());
+
+        HttpResponse<String> error = send("PUT", "/todos/" + id, "{\"status\":\"error\"}");
+        assertEquals("ERROR", new JSONObject(error.body()).getString("status"));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        return send(server, method, path, body);
+    }
+
+    private HttpResponse<String> send(TodoHttpServer target, String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + target.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
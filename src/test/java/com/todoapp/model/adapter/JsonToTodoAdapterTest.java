@@ -0,0 +1,34 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonToTodoAdapterTest {
+
+    @Test
+    @DisplayName("Conversions should print only when the adapter is verbose")
+    void testConsoleOutputIsOptIn() {
+        Todo todo = new Todo(7, "Write report", "Quarterly", "PENDING", "HIGH");
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            JsonToTodoAdapter quiet = new JsonToTodoAdapter();
+            assertEquals("Write report", quiet.convertToTodo(quiet.convertToJson(todo)).getTitle());
+            assertEquals(0, captured.size());
+
+            JsonToTodoAdapter verbose = new JsonToTodoAdapter(true);
+            assertEquals("Write report", verbose.convertToTodo(verbose.convertToJson(todo)).getTitle());
+            assertEquals(2, captured.toString(StandardCharsets.UTF_8).lines().count());
+        } finally {
+            System.setOut(original);
+        }
+    }
+}
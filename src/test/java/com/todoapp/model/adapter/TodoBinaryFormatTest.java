@@ -0,0 +1,212 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.model.memento.TodoMemento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoBinaryFormatTest {
+
+    private static List<Todo> sampleTodos(int count) {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Todo todo = new Todo(i, "Task " + i, i % 4 == 0 ? "" : "Follow up with the team",
+                    i % 3 == 0 ? Status.COMPLETED : Status.PENDING, Priority.values()[i % 3]);
+            if (i % 10 != 1) todo.setParentId(i - i % 10 + 1);
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    private static void assertSameTodo(Todo expected, Todo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getParentId(), actual.getParentId());
+    }
+
+    @Test
+    @DisplayName("Todos, including unusual values, should read back unchanged")
+    void testRoundTrip() throws IOException {
+        List<Todo> todos = sampleTodos(1_000);
+        todos.add(new Todo(-7, "Caf\u00e9 \u20ac \ud83d\ude00 \ud83d", null, (Status) null, (Priority) null));
+        todos.add(new Todo(0, "", "Line one\nline two", Status.ERROR, Priority.HIGH));
+        todos.add(new Todo(Integer.MAX_VALUE, null, "x", Status.PENDING, Priority.LOW));
+
+        List<Todo> read = new TodoBinaryReader(ByteBuffer.wrap(TodoBinaryWriter.toBytes(todos))).readAllTodos();
+
+        assertEquals(todos.size(), read.size());
+        for (int i = 0; i < todos.size() - 3; i++) assertSameTodo(todos.get(i), read.get(i));
+        // Unpaired surrogates become '?', as with String.getBytes
+        assertEquals("Caf\u00e9 \u20ac \ud83d\ude00 ?", read.get(todos.size() - 3).getTitle());
+        assertEquals(Status.PENDING, read.get(todos.size() - 3).getStatus());
+        assertEquals(Priority.MEDIUM, read.get(todos.size() - 3).getPriority());
+        assertSameTodo(todos.get(todos.size() - 2), read.get(todos.size() - 2));
+        assertSameTodo(todos.get(todos.size() - 1), read.get(todos.size() - 1));
+    }
+
+    @Test
+    @DisplayName("A missing status or priority should read as the JSON defaults")
+    void testMissingEnumsDefault() throws IOException {
+        Todo todo = new Todo(4, "Plain", "", (Status) null, (Priority) null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TodoBinaryWriter writer = TodoBinaryWriter.open(bytes)) {
+            writer.write(todo);
+            writer.write(new TodoMemento(4, "Plain", "", (Status) null, (Priority) null));
+        }
+        TodoBinaryReader reader = new TodoBinaryReader(ByteBuffer.wrap(bytes.toByteArray()));
+        Todo read = reader.readTodo();
+        TodoMemento memento = reader.readMemento();
+
+        Todo viaJson = TodoJsonCodec.decode(TodoJsonCodec.encode(todo));
+        assertEquals(Status.PENDING, read.getStatus());
+        assertEquals(Priority.MEDIUM, read.getPriority());
+        assertEquals(viaJson.getStatus(), read.getStatus());
+        assertEquals(viaJson.getPriority(), read.getPriority());
+        assertEquals(Status.PENDING, memento.getStatus());
+        assertEquals(Priority.MEDIUM, memento.getPriority());
+    }
+
+    @Test
+    @DisplayName("Dumps should stream through a FileChannel and read from mapped or direct buffers")
+    void testChannelsAndBuffers(@TempDir Path dir) throws IOException {
+        List<Todo> todos = sampleTodos(20_000);
+        char[] large = new char[200_000]; // bigger than the read buffer
+        Arrays.fill(large, 'x');
+        todos.add(new Todo(20_001, "Large", new String(large), Status.PENDING, Priority.LOW));
+        Path file = dir.resolve("todos.tdb");
+        try (TodoBinaryWriter writer = TodoBinaryWriter.open(file)) {
+            assertEquals(todos.size(), writer.writeAll(todos));
+        }
+
+        List<Todo> streamed;
+        try (TodoBinaryReader reader = TodoBinaryReader.open(file)) {
+            streamed = reader.readAllTodos();
+        }
+        List<Todo> mapped;
+        try (FileChannel channel = FileChannel.open(file)) {
+            mapped = new TodoBinaryReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).readAllTodos();
+        }
+        byte[] bytes = TodoBinaryWriter.toBytes(todos);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        List<Todo> fromDirect = new TodoBinaryReader(direct).readAllTodos();
+
+        for (List<Todo> read : List.of(streamed, mapped, fromDirect)) {
+            assertEquals(todos.size(), read.size());
+            for (int i = 0; i < todos.size(); i++) assertSameTodo(todos.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Mementos should round-trip and a kind mismatch should be reported")
+    void testMementos() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TodoBinaryWriter writer = TodoBinaryWriter.open(bytes)) {
+            writer.write(new TodoMemento(3, "Draft", "v1", Status.PENDING, Priority.LOW));
+            writer.write(new TodoMemento(3, "Final", null, Status.COMPLETED, Priority.HIGH));
+            writer.write(new Todo(4, "Todo", "", Status.PENDING, Priority.MEDIUM));
+        }
+        TodoBinaryReader reader = new TodoBinaryReader(ByteBuffer.wrap(bytes.toByteArray()));
+        TodoMemento first = reader.readMemento();
+        assertEquals("Draft", first.getTitle());
+        assertEquals(Priority.LOW, first.getPriority());
+        TodoMemento second = reader.readMemento();
+        assertEquals("Final", second.getTitle());
+        assertNull(second.getDescription());
+        assertEquals(Status.COMPLETED, second.getStatus());
+        assertThrows(IOException.class, reader::readMemento);
+    }
+
+    @Test
+    @DisplayName("Readers should skip record kinds and fields added by newer writers")
+    void testForwardCompatibility() throws IOException {
+        BinaryFormat.Sink out = new BinaryFormat.Sink(64);
+        BinaryFormat.Sink block = new BinaryFormat.Sink(64);
+        out.putBytes(BinaryFormat.MAGIC);
+        out.putByte(BinaryFormat.VERSION);
+        // A future status, a reordered dictionary and an unknown header field
+        block.putStringField(BinaryFormat.HEADER_STATUS, "ARCHIVED");
+        block.putStringField(BinaryFormat.HEADER_STATUS, "COMPLETED");
+        block.putStringField(BinaryFormat.HEADER_PRIORITY, "HIGH");
+        block.putVarintField(9, 123);
+        out.putVarint(block.size);
+        out.put(block);
+
+        block.clear();
+        block.putStringField(42, "ignored");
+        out.putVarint(77); // unknown record kind
+        out.putVarint(block.size);
+        out.put(block);
+
+        block.clear();
+        block.putZigZagField(BinaryFormat.FIELD_ID, 5);
+        block.putVarintField(20, 99); // unknown varint field
+        block.putStringField(BinaryFormat.FIELD_TITLE, "Kept");
+        block.putStringField(21, "unknown bytes field");
+        block.putVarintField(BinaryFormat.FIELD_STATUS, 1);
+        block.putVarintField(BinaryFormat.FIELD_PRIORITY, 0);
+        out.putVarint(BinaryFormat.TODO);
+        out.putVarint(block.size);
+        out.put(block);
+
+        block.clear();
+        block.putVarintField(BinaryFormat.FIELD_STATUS, 0);
+        out.putVarint(BinaryFormat.TODO);
+        out.putVarint(block.size);
+        out.put(block);
+        out.putVarint(BinaryFormat.END);
+
+        TodoBinaryReader reader = new TodoBinaryReader(ByteBuffer.wrap(out.data, 0, out.size));
+        Todo todo = reader.readTodo();
+        assertEquals(5, todo.getId());
+        assertEquals("Kept", todo.getTitle());
+        assertEquals(Status.COMPLETED, todo.getStatus());
+        assertEquals(Priority.HIGH, todo.getPriority());
+        assertEquals(Status.PENDING, reader.readTodo().getStatus()); // unknown name reads as the default
+        assertNull(reader.readTodo());
+        assertEquals(1, reader.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("Corrupt, truncated and future-version input should fail")
+    void testInvalidInput() {
+        byte[] dump = TodoBinaryWriter.toBytes(sampleTodos(10));
+        assertThrows(IOException.class, () -> new TodoBinaryReader(ByteBuffer.wrap("{\"id\":1}".getBytes(StandardCharsets.UTF_8))));
+        byte[] future = dump.clone();
+        future[3] = (byte) (BinaryFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> new TodoBinaryReader(ByteBuffer.wrap(future)));
+        assertThrows(IOException.class, () -> new TodoBinaryReader(ByteBuffer.wrap(dump, 0, dump.length - 1)).readAllTodos());
+        assertThrows(IOException.class, () -> new TodoBinaryReader(ByteBuffer.wrap(dump, 0, dump.length - 5)).readAllTodos());
+    }
+
+    @Test
+    @DisplayName("Binary dumps should be much smaller than the JSON equivalent")
+    void testSmallerThanJson() throws IOException {
+        List<Todo> todos = sampleTodos(10_000);
+        StringWriter json = new StringWriter();
+        try (TodoJsonWriter writer = new TodoJsonWriter(json, JsonFormat.NDJSON)) {
+            writer.writeAll(todos);
+        }
+        int jsonBytes = json.toString().getBytes(StandardCharsets.UTF_8).length;
+        int binaryBytes = TodoBinaryWriter.toBytes(todos).length;
+        assertTrue(binaryBytes * 2 < jsonBytes, binaryBytes + " binary bytes vs " + jsonBytes + " JSON bytes");
+    }
+}
@@ -0,0 +1,107 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoJsonCodecTest {
+
+    // Characters around every escaping rule of JSONObject.quote
+    private static final char[] ALPHABET = {'a', 'Z', ' ', '"', '\\', '/', '<', '\b', '\t', '\n', '\f', '\r',
+            '\u0001', '\u001f', '\u007f', '\u0080', '\u009f', '\u00a0', '\u00e9', '\u1fff', '\u2000', '\u2028',
+            '\u20ac', '\u20ff', '\u2100', '\ud83d', '\ude00', '\uffff'};
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) text.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        return text.toString();
+    }
+
+    private static void assertSameTodo(Todo expected, Todo actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+    }
+
+    @Test
+    @DisplayName("Encoding should match JSONObject.toString byte for byte")
+    void testEncodeMatchesJsonObject() {
+        Random random = new Random(42);
+        StringBuilder reused = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            Todo todo = new Todo(random.nextInt(), randomText(random), randomText(random), Status.PENDING, Priority.LOW);
+            if (i % 7 == 0) todo.setDescription(null);
+            if (i % 11 == 0) todo.setStatus((Status) null);
+            if (i % 13 == 0) todo.setPriority((Priority) null);
+            if (i % 17 == 0) todo.setTitle(null);
+            String expected = JsonToTodoAdapter.toJson(todo).toString();
+            assertEquals(expected, TodoJsonCodec.encode(todo));
+            reused.setLength(0);
+            assertEquals(expected, TodoJsonCodec.encode(todo, reused).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Encoded todos should decode on the fast path unchanged")
+    void testRoundTrip() {
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            Todo todo = new Todo(random.nextInt(), randomText(random), randomText(random),
+                    i % 2 == 0 ? Status.COMPLETED : Status.PENDING, Priority.values()[i % 3]);
+            String json = TodoJsonCodec.encode(todo);
+            Todo fast = TodoJsonCodec.tryDecode(json);
+            assertNotNull(fast, json);
+            assertSameTodo(todo, fast);
+            assertSameTodo(JsonToTodoAdapter.fromJson(new JSONObject(json)), fast);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            " { \"title\" : \"Plain\" } ",
+            "{\"title\":\"Escapes \\u00e9\\/\\\"\",\"id\":-12,\"status\":\"completed\",\"priority\":\"urgent\"}",
+            "{\"title\":\"Unknown values\",\"status\":\"bogus\",\"priority\":\"\",\"type\":\"todo\"}",
+            // Shapes the scanner hands to org.json
+            "{\"title\":\"Extra key\",\"tags\":[\"a\"]}",
+            "{\"title\":\"String id\",\"id\":\"5\"}",
+            "{\"title\":\"Fraction\",\"id\":5.9}",
+            "{\"title\":\"Null description\",\"description\":null}",
+            "{\"title\":\"Numeric description\",\"description\":12}",
+            "{title:'Lenient'}",
+            "{\"title\":\"Trailing\"} junk"
+    })
+    @DisplayName("Decoding should agree with JsonToTodoAdapter.fromJson")
+    void testDecodeMatchesFromJson(String json) {
+        assertSameTodo(JsonToTodoAdapter.fromJson(new JSONObject(json)), TodoJsonCodec.decode(json));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "{}", "{\"id\":1}", "{\"title\":5}", "{\"title\":\"a\",\"title\":\"b\"}", "{\"title\":\"a\"", "[1]"})
+    @DisplayName("Invalid records should fail as org.json does")
+    void testDecodeErrors(String json) {
+        assertNull(TodoJsonCodec.tryDecode(json));
+        assertThrows(JSONException.class, () -> TodoJsonCodec.decode(json));
+    }
+
+    @Test
+    @DisplayName("Ids outside the int range are not taken by the fast path")
+    void testIntegerBounds() {
+        assertEquals(Integer.MIN_VALUE, TodoJsonCodec.tryDecode("{\"id\":-2147483648,\"title\":\"t\"}").getId());
+        assertEquals(Integer.MAX_VALUE, TodoJsonCodec.tryDecode("{\"id\":2147483647,\"title\":\"t\"}").getId());
+        assertNull(TodoJsonCodec.tryDecode("{\"id\":2147483648,\"title\":\"t\"}"));
+        assertNull(TodoJsonCodec.tryDecode("{\"id\":007,\"title\":\"t\"}"));
+    }
+}
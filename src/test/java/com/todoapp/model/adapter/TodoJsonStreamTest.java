@@ -0,0 +1,114 @@
+package com.todoapp.model.adapter;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoJsonStreamTest {
+
+    private static List<Todo> readAll(String json, JsonErrorPolicy policy) {
+        List<Todo> todos = new ArrayList<>();
+        new TodoJsonReader(new StringReader(json), policy).forEachRemaining(todos::add);
+        return todos;
+    }
+
+    @ParameterizedTest
+    @EnumSource(JsonFormat.class)
+    @DisplayName("Written todos should read back unchanged")
+    void testRoundTrip(JsonFormat format) throws IOException {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            todos.add(new Todo(i, "Task \"" + i + "\"", "Line one\nline two", i % 3 == 0 ? "COMPLETED" : "PENDING", "HIGH"));
+        }
+
+        StringWriter out = new StringWriter();
+        try (TodoJsonWriter writer = new TodoJsonWriter(out, format)) {
+            assertEquals(500, writer.writeAll(todos));
+        }
+        List<Todo> read = readAll(out.toString(), JsonErrorPolicy.FAIL_FAST);
+
+        assertEquals(todos.size(), read.size());
+        for (int i = 0; i < todos.size(); i++) {
+            assertEquals(todos.get(i).getId(), read.get(i).getId());
+            assertEquals(todos.get(i).getTitle(), read.get(i).getTitle());
+            assertEquals(todos.get(i).getDescription(), read.get(i).getDescription());
+            assertEquals(todos.get(i).getStatus(), read.get(i).getStatus());
+            assertEquals(todos.get(i).getPriority(), read.get(i).getPriority());
+        }
+    }
+
+    @Test
+    @DisplayName("Empty inputs should produce no todos")
+    void testEmptyInputs() {
+        assertTrue(readAll("", JsonErrorPolicy.FAIL_FAST).isEmpty());
+        assertTrue(readAll("  [ ]  ", JsonErrorPolicy.FAIL_FAST).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Skip policy should drop bad NDJSON lines and keep reading")
+    void testSkipPolicy() {
+        String ndjson = "{\"id\":1,\"title\":\"Good\"}\n"
+                + "{\"id\":2,\"description\":\"no title\"}\n"
+                + "{not json at all\n"
+                + "{\"id\":4,\"title\":\"Also good\",\"status\":\"COMPLETED\"}\n";
+
+        TodoJsonReader reader = new TodoJsonReader(new StringReader(ndjson), JsonErrorPolicy.SKIP);
+        List<Todo> todos = new ArrayList<>();
+        reader.forEachRemaining(todos::add);
+
+        assertEquals(2, todos.size());
+        assertEquals("Also good", todos.get(1).getTitle());
+        assertEquals(4, reader.getRecordCount());
+        assertEquals(2, reader.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("Fallback policy should emit the adapter's error task")
+    void testFallbackPolicy() {
+        List<Todo> todos = readAll("[{\"id\":1,\"title\":\"Ok\"},{\"id\":2}]", JsonErrorPolicy.FALLBACK);
+        assertEquals(2, todos.size());
+        assertEquals("Error Task", todos.get(1).getTitle());
+        assertEquals(Status.ERROR, todos.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Fail-fast policy should report the failing record")
+    void testFailFastPolicy() {
+        JsonImportException error = assertThrows(JsonImportException.class,
+                () -> readAll("[{\"title\":\"a\"},{\"title\":\"b\"},{\"id\":3}]", JsonErrorPolicy.FAIL_FAST));
+        assertEquals(2, error.getRecord());
+    }
+
+    @Test
+    @DisplayName("Status and priority should parse leniently and write back canonical names")
+    void testLenientEnums() throws IOException {
+        String json = "[{\"id\":1,\"title\":\"a\",\"status\":\" done \",\"priority\":\"urgent\"},"
+                + "{\"id\":2,\"title\":\"b\",\"status\":\"someday\",\"priority\":\"???\"},"
+                + "{\"id\":3,\"title\":\"c\",\"status\":\"COMPLETED\",\"priority\":\"LOW\"}]";
+        List<Todo> todos = readAll(json, JsonErrorPolicy.FAIL_FAST);
+
+        assertEquals(Status.COMPLETED, todos.get(0).getStatus());
+        assertEquals(Priority.HIGH, todos.get(0).getPriority());
+        assertEquals(Status.PENDING, todos.get(1).getStatus());
+        assertEquals(Priority.MEDIUM, todos.get(1).getPriority());
+
+        StringWriter out = new StringWriter();
+        try (TodoJsonWriter writer = new TodoJsonWriter(out, JsonFormat.NDJSON)) {
+            writer.write(todos.get(2));
+        }
+        assertTrue(out.toString().contains("\"status\":\"COMPLETED\""));
+        assertTrue(out.toString().contains("\"priority\":\"LOW\""));
+    }
+}
@@ -0,0 +1,89 @@
+package com.todoapp.model.memento;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCareTakerTest {
+
+    private static TodoMemento state(int n) {
+        return new TodoMemento(1, "Title " + n, "Desc", n % 2 == 0 ? "PENDING" : "COMPLETED", "HIGH");
+    }
+
+    private static void assertSame(TodoMemento expected, TodoMemento actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+    }
+
+    @Test
+    @DisplayName("Undo and redo should walk back and forth through saved states")
+    void testUndoRedo() {
+        TodoCareTaker careTaker = new TodoCareTaker();
+        for (int i = 0; i < 5; i++) careTaker.saveState(state(i));
+
+        for (int i = 3; i >= 0; i--) assertSame(state(i), careTaker.undo());
+        assertFalse(careTaker.canUndo());
+        assertNull(careTaker.undo());
+
+        for (int i = 1; i < 5; i++) assertSame(state(i), careTaker.redo());
+        assertFalse(careTaker.canRedo());
+    }
+
+    @Test
+    @DisplayName("Saving a new state should discard redo history")
+    void testSaveClearsRedo() {
+        TodoCareTaker careTaker = new TodoCareTaker();
+        careTaker.saveState(state(0));
+        careTaker.saveState(state(1));
+        careTaker.undo();
+        assertTrue(careTaker.canRedo());
+
+        careTaker.saveState(new TodoMemento(2, null, "Other", "PENDING", "LOW"));
+        assertFalse(careTaker.canRedo());
+        assertSame(state(0), careTaker.undo());
+    }
+
+    @Test
+    @DisplayName("History should be capped by entry count, evicting the oldest")
+    void testEntryCap() {
+        TodoCareTaker careTaker = new TodoCareTaker(3, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) careTaker.saveState(state(i));
+
+        assertEquals(3, careTaker.getHistorySize());
+        for (int i = 8; i >= 6; i--) assertSame(state(i), careTaker.undo());
+        assertFalse(careTaker.canUndo());
+    }
+
+    @Test
+    @DisplayName("History should stay within the byte budget")
+    void testByteCap() {
+        TodoCareTaker careTaker = new TodoCareTaker(Integer.MAX_VALUE, 4096);
+        for (int i = 0; i < 1000; i++) careTaker.saveState(state(i));
+
+        assertTrue(careTaker.getHistoryBytes() <= 4096);
+        assertTrue(careTaker.getHistorySize() > 0);
+    }
+
+    @Test
+    @DisplayName("Evicted history should spill to disk and still be undoable")
+    void testSpill(@TempDir Path dir) throws IOException {
+        try (TodoCareTaker careTaker = new TodoCareTaker(4, Long.MAX_VALUE, dir.resolve("undo.spill"))) {
+            for (int i = 0; i < 50; i++) careTaker.saveState(state(i));
+            assertEquals(4, careTaker.getHistorySize());
+            assertEquals(45, careTaker.getSpilledCount());
+
+            for (int i = 48; i >= 0; i--) assertSame(state(i), careTaker.undo());
+            assertFalse(careTaker.canUndo());
+            for (int i = 1; i < 50; i++) assertSame(state(i), careTaker.redo());
+        }
+    }
+}
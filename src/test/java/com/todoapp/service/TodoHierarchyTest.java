@@ -0,0 +1,225 @@
+package com.todoapp.service;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Todo;
+import com.todoapp.service.store.TaskRollup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoHierarchyTest {
+
+    private final TodoService service = TodoService.createConcurrent();
+
+    private static List<Integer> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Rollups should follow adds, status and priority changes along the ancestor path")
+    void testRollups() {
+        Todo project = service.addTodo("Project", "");
+        Todo design = service.addTodo("Design", "", project.getId());
+        Todo build = service.addTodo("Build", "", project.getId());
+        Todo sketch = service.addTodo("Sketch", "", design.getId());
+
+        assertEquals(List.of(design.getId(), build.getId()), ids(service.getChildren(project.getId())));
+        assertEquals(design.getId(), sketch.getParentId());
+        TaskRollup rollup = service.getRollup(project.getId()).get();
+        assertEquals(4, rollup.getTotal());
+        assertEquals(0, rollup.getCompleted());
+        assertEquals(Priority.MEDIUM, rollup.getHighestPriority());
+
+        service.completeTodo(sketch.getId());
+        service.setPriority(sketch.getId(), Priority.HIGH);
+        rollup = service.getRollup(project.getId()).get();
+        assertEquals(1, rollup.getCompleted());
+        assertEquals(25.0, rollup.getPercentComplete());
+        assertEquals(Priority.HIGH, rollup.getHighestPriority());
+        assertEquals(Priority.MEDIUM, service.getRollup(build.getId()).get().getHighestPriority());
+
+        service.setPriority(sketch.getId(), Priority.LOW);
+        assertEquals(Priority.MEDIUM, service.getRollup(project.getId()).get().getHighestPriority());
+        assertFalse(service.getRollup(9999).isPresent());
+    }
+
+    @Test
+    @DisplayName("Moves should carry subtrees and reject cycles")
+    void testMove() {
+        Todo a = service.addTodo("A", "");
+        Todo b = service.addTodo("B", "", a.getId());
+        Todo c = service.addTodo("C", "", b.getId());
+        Todo other = service.addTodo("Other", "");
+        service.completeTodo(c.getId());
+
+        assertThrows(IllegalArgumentException.class, () -> service.moveTodo(a.getId(), c.getId()));
+        assertThrows(IllegalArgumentException.class, () -> service.moveTodo(a.getId(), a.getId()));
+        assertThrows(IllegalArgumentException.class, () -> service.moveTodo(b.getId(), 9999));
+        assertThrows(IllegalArgumentException.class, () -> service.addTodo("X", "", 9999));
+        assertEquals(3, service.getRollup(a.getId()).get().getTotal());
+
+        assertTrue(service.moveTodo(b.getId(), other.getId()));
+        assertEquals(1, service.getRollup(a.getId()).get().getTotal());
+        assertEquals(3, service.getRollup(other.getId()).get().getTotal());
+        assertEquals(1, service.getRollup(other.getId()).get().getCompleted());
+
+        assertTrue(service.moveTodo(b.getId(), 0));
+        assertEquals(0, service.findTodoById(b.getId()).get().getParentId());
+        assertEquals(1, service.getRollup(other.getId()).get().getTotal());
+        assertFalse(service.moveTodo(9999, 0));
+    }
+
+    @Test
+    @DisplayName("Deleting a parent should promote its children; deleteSubtree removes them")
+    void testDelete() {
+        Todo root = service.addTodo("Root", "");
+        Todo mid = service.addTodo("Mid", "", root.getId());
+        Todo leaf1 = service.addTodo("Leaf 1", "", mid.getId());
+        Todo leaf2 = service.addTodo("Leaf 2", "", mid.getId());
+        service.addTodo("Leaf 3", "", leaf2.getId());
+
+        service.deleteTodo(mid.getId());
+        assertEquals(root.getId(), leaf1.getParentId());
+        assertEquals(List.of(leaf1.getId(), leaf2.getId()), ids(service.getChildren(root.getId())));
+        assertEquals(4, service.getRollup(root.getId()).get().getTotal());
+
+        assertEquals(4, service.deleteSubtree(root.getId()));
+        assertEquals(0, service.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Deep chains should work without recursion")
+    void testDeepChain() throws Exception {
+        // A small stack makes any recursive walk overflow at these depths, which keeps them cheap
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(null, () -> {
+            try {
+                walkDeepChains(2_000, 5_000);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        }, "deep-chain", 256 * 1024);
+        thread.start();
+        thread.join();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+    }
+
+    private void walkDeepChains(int depth, int compositeDepth) {
+        Todo top = service.addTodo("Level 0", "");
+        int parent = top.getId();
+        for (int i = 1; i < depth; i++) {
+            parent = service.addTodo("Level " + i, "", parent).getId();
+        }
+        service.completeTodo(parent);
+        TaskRollup rollup = service.getRollup(top.getId()).get();
+        assertEquals(depth, rollup.getTotal());
+        assertEquals(1, rollup.getCompleted());
+
+        Todo deep = new Todo(1, "Composite", "", "PENDING");
+        Todo at = deep;
+        for (int i = 0; i < compositeDepth; i++) {
+            Todo child = new Todo(i + 2, "Sub", "", "PENDING");
+            at.addSubTask(child);
+            at = child;
+        }
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            assertDoesNotThrow(deep::displayDetails);
+        } finally {
+            System.setOut(out);
+        }
+
+        assertEquals(depth, service.deleteSubtree(top.getId()));
+        assertEquals(0, service.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Cached rollups should match a full walk after random changes")
+    void testRandomized() {
+        Random random = new Random(11);
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < 300; i++) {
+            int size = service.getTotalCount();
+            int parent = size == 0 || random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(i);
+            if (parent != 0 && !service.findTodoById(parent).isPresent()) parent = 0;
+            service.addTodo("T" + i, "", parent);
+            int id = 1 + random.nextInt(i + 1);
+            switch (random.nextInt(5)) {
+                case 0: service.completeTodo(id); break;
+                case 1: service.setPriority(id, priorities[random.nextInt(priorities.length)]); break;
+                case 2: service.deleteTodo(id); break;
+                case 3:
+                    try {
+                        service.moveTodo(id, random.nextBoolean() ? 0 : 1 + random.nextInt(i + 1));
+                    } catch (IllegalArgumentException expected) {
+                        // cycle or missing parent
+                    }
+                    break;
+                default: break;
+            }
+        }
+        assertRollupsMatchWalk();
+    }
+
+    @Test
+    @DisplayName("Deleting parents while their children change should keep links and rollups exact")
+    void testConcurrentDeletes() throws Exception {
+        for (int group = 0; group < 50; group++) {
+            int top = service.addTodo("Top " + group, "").getId();
+            int mid = service.addTodo("Mid " + group, "", top).getId();
+            for (int leaf = 0; leaf < 4; leaf++) service.addTodo("Leaf " + leaf, "", mid);
+        }
+        Thread deleter = new Thread(() -> {
+            for (int group = 0; group < 50; group++) service.deleteTodo(group * 6 + 2);
+        });
+        Thread writer = new Thread(() -> {
+            Priority[] priorities = Priority.values();
+            for (int id = 1; id <= 300; id++) {
+                service.setPriority(id, priorities[id % priorities.length]);
+                service.toggleTodo(id);
+            }
+        });
+        deleter.start();
+        writer.start();
+        deleter.join();
+        writer.join();
+
+        assertEquals(250, service.getTotalCount());
+        assertEquals(4, service.getChildren(1).size());
+        assertRollupsMatchWalk();
+    }
+
+    private void assertRollupsMatchWalk() {
+        for (Todo todo : service.getAllTodos()) {
+            int total = 0, completed = 0;
+            Priority highest = Priority.LOW;
+            Deque<Todo> stack = new ArrayDeque<>();
+            stack.push(todo);
+            while (!stack.isEmpty()) {
+                Todo at = stack.pop();
+                total++;
+                if (at.isCompleted()) completed++;
+                if (at.getPriority().compareTo(highest) > 0) highest = at.getPriority();
+                service.getChildren(at.getId()).forEach(stack::push);
+            }
+            TaskRollup rollup = service.getRollup(todo.getId()).get();
+            assertEquals(total, rollup.getTotal(), "total of " + todo.getId());
+            assertEquals(completed, rollup.getCompleted(), "completed of " + todo.getId());
+            assertEquals(highest, rollup.getHighestPriority(), "priority of " + todo.getId());
+            if (todo.getParentId() != 0) {
+                assertTrue(ids(service.getChildren(todo.getParentId())).contains(todo.getId()));
+            }
+        }
+    }
+}
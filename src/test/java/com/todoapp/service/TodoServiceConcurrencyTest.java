@@ -0,0 +1,141 @@
+package com.todoapp.service;
+
+import com.todoapp.model.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TODOS_PER_THREAD = 5_000;
+
+    private <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent adds should never lose todos or duplicate ids")
+    void testConcurrentAddsAreUnique() throws Exception {
+        TodoService service = TodoService.createConcurrent();
+
+        List<List<Todo>> added = runConcurrently(THREADS, () -> {
+            List<Todo> mine = new ArrayList<>();
+            for (int i = 0; i < TODOS_PER_THREAD; i++) {
+                mine.add(service.addTodo("Task " + i, "stress"));
+            }
+            return mine;
+        });
+
+        Set<Integer> ids = new HashSet<>();
+        for (List<Todo> batch : added) {
+            for (Todo todo : batch) {
+                assertTrue(ids.add(todo.getId()), "Duplicate id " + todo.getId());
+            }
+        }
+        assertEquals(THREADS * TODOS_PER_THREAD, ids.size());
+        assertEquals(THREADS * TODOS_PER_THREAD, service.getTotalCount());
+        assertEquals(THREADS * TODOS_PER_THREAD, service.getAllTodos().size());
+        for (int id : ids) {
+            assertTrue(service.findTodoById(id).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent completes and deletes should all be applied")
+    void testConcurrentStatusChangesAndDeletes() throws Exception {
+        TodoService service = TodoService.createConcurrent();
+        int total = THREADS * TODOS_PER_THREAD;
+        for (int i = 0; i < total; i++) {
+            service.addTodo("Task " + i, "");
+        }
+
+        AtomicInteger worker = new AtomicInteger();
+        List<Integer> deletedPerThread = runConcurrently(THREADS, () -> {
+            int me = worker.getAndIncrement();
+            int deleted = 0;
+            // Each thread owns every THREADS-th id: completes even ids, deletes odd ones
+            for (int id = me + 1; id <= total; id += THREADS) {
+                if (id % 2 == 0) {
+                    assertTrue(service.completeTodo(id));
+                } else if (service.deleteTodo(id)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+
+        int deleted = deletedPerThread.stream().mapToInt(Integer::intValue).sum();
+        assertEquals(total / 2, deleted);
+        assertEquals(total / 2, service.getTotalCount());
+        assertEquals(total / 2, service.getCompletedCount());
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Readers should keep working while writers mutate the store")
+    void testReadersDuringWrites() throws Exception {
+        TodoService service = TodoService.createConcurrent();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger writers = new AtomicInteger();
+
+        List<Integer> results = runConcurrently(THREADS, () -> {
+            if (writers.getAndIncrement() % 2 == 0) {
+                for (int i = 0; i < TODOS_PER_THREAD; i++) {
+                    Todo todo = service.addTodo("Task " + i, "");
+                    if (i % 3 == 0) service.deleteTodo(todo.getId());
+                    else if (i % 3 == 1) service.completeTodo(todo.getId());
+                }
+                writing.set(false);
+                return 0;
+            }
+            int reads = 0;
+            while (writing.get()) {
+                int previousId = 0;
+                for (Todo todo : service.getAllTodos()) {
+                    assertTrue(todo.getId() > previousId, "Ids out of order");
+                    previousId = todo.getId();
+                }
+                service.getPendingTodos();
+                reads++;
+            }
+            return reads;
+        });
+
+        assertEquals(THREADS, results.size());
+        int expected = (THREADS / 2) * (TODOS_PER_THREAD - (TODOS_PER_THREAD + 2) / 3);
+        assertEquals(expected, service.getTotalCount());
+    }
+}
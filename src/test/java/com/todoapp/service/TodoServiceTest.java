@@ -1,6 +1,12 @@
 package com.todoapp.service;
 
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
 import com.todoapp.model.Todo;
+import com.todoapp.service.observer.Observer;
+import com.todoapp.service.observer.TodoEvent;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.IndexedSearch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,8 +19,10 @@ import org.junit.jupiter.params.provider.MethodSource;
 // import org.mockito.Spy; // No longer needed on the field
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -148,6 +156,45 @@ class TodoServiceTest {
         );
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"buy", "BREAD", "ll", "go", "k ", "ou", "m", "from store", "xyz"})
+    @DisplayName("Indexed search should match the same todos as a scan")
+    void testIndexedSearchMatchesScan(String term) {
+        todoService.addTodo("Buy milk", "From store");
+        todoService.addTodo("Buy bread", "Fresh bread");
+        todoService.addTodo("Call mom", "Weekly call");
+        todoService.addTodo("Bake", "Buy flour first");
+        todoService.deleteTodo(4);
+        todoService.addTodo("Go", "");
+        todoService.updateTodo(3, "Call dad", "Weekly call");
+
+        List<Integer> scanned = todoService.searchTodos(term, new IndexedSearch()::matches).stream()
+                .map(Todo::getId).sorted().collect(Collectors.toList());
+        List<Integer> indexed = todoService.searchTodos(term, new IndexedSearch()).stream()
+                .map(Todo::getId).sorted().collect(Collectors.toList());
+
+        assertEquals(scanned, indexed);
+    }
+
+    @Test
+    @DisplayName("Indexed search should rank title hits first and honour the limit")
+    void testIndexedSearchRanking() {
+        todoService.addTodo("Groceries", "buy milk");
+        todoService.addTodo("Buyer meeting", "");
+        todoService.addTodo("Buy milk", "");
+        todoService.addTodo("Plan", "nothing to see");
+
+        List<Todo> ranked = todoService.searchTodos("buy", new IndexedSearch());
+        assertEquals(List.of(3, 2, 1), ranked.stream().map(Todo::getId).collect(Collectors.toList()));
+
+        List<Todo> top = todoService.searchTodos("buy", new IndexedSearch(SearchField.ANY, 1));
+        assertEquals(1, top.size());
+        assertEquals("Buy milk", top.get(0).getTitle());
+
+        List<Todo> descriptionOnly = todoService.searchTodos("milk", new IndexedSearch(SearchField.DESCRIPTION, 10));
+        assertEquals(List.of(1), descriptionOnly.stream().map(Todo::getId).collect(Collectors.toList()));
+    }
+
     @Test
     @DisplayName("Should delete todo")
     void testDeleteTodo() {
@@ -161,6 +208,47 @@ class TodoServiceTest {
         verify(todoService).deleteTodo(todoId);
     }
 
+    @Test
+    @DisplayName("Should keep insertion order and id lookups after many deletes")
+    void testInsertionOrderAfterDeletes() {
+        for (int i = 0; i < 200; i++) {
+            todoService.addTodo("Task " + i, "");
+        }
+        for (int id = 1; id <= 200; id += 2) {
+            assertTrue(todoService.deleteTodo(id));
+        }
+
+        List<Todo> all = todoService.getAllTodos();
+        assertEquals(100, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(2 * (i + 1), all.get(i).getId());
+        }
+        assertFalse(todoService.findTodoById(199).isPresent());
+        assertEquals("Task 199", todoService.findTodoById(200).get().getTitle());
+        assertFalse(todoService.deleteTodo(1));
+    }
+
+    @Test
+    @DisplayName("Should restore a deleted todo back into id order")
+    void testRestoreTodo() {
+        for (int i = 1; i <= 100; i++) {
+            todoService.addTodo("Task " + i, "");
+        }
+        Todo removed = todoService.findTodoById(40).get();
+        for (int id = 1; id <= 60; id++) {
+            todoService.deleteTodo(id);
+        }
+
+        assertTrue(todoService.restoreTodo(removed));
+        assertFalse(todoService.restoreTodo(removed));
+        List<Todo> all = todoService.getAllTodos();
+        assertEquals(41, all.size());
+        assertEquals(40, all.get(0).getId());
+        assertEquals(61, all.get(1).getId());
+        assertEquals("Task 40", todoService.findTodoById(40).get().getTitle());
+        assertEquals(101, todoService.addTodo("Next", "").getId());
+    }
+
     @Test
     @DisplayName("Should get todo counts correctly")
     void testGetCounts() {
@@ -179,6 +267,89 @@ class TodoServiceTest {
         verify(todoService).completeTodo(1);
     }
 
+    @Test
+    @DisplayName("Should keep status counts in sync across toggles and deletes")
+    void testStatusCountsStayInSync() {
+        Todo first = todoService.addTodo("Task 1", "");
+        Todo second = todoService.addTodo("Task 2", "");
+        todoService.addTodo("Task 3", "");
+
+        todoService.completeTodo(first.getId());
+        todoService.completeTodo(first.getId());
+        todoService.completeTodo(second.getId());
+        todoService.uncompleteTodo(second.getId());
+        todoService.deleteTodo(first.getId());
+
+        assertEquals(0, todoService.getCompletedCount());
+        assertEquals(2, todoService.getPendingCount());
+        assertEquals(2, todoService.getCountByStatus("PENDING"));
+        assertEquals(0, todoService.getCountByStatus("COMPLETED"));
+        assertEquals(List.of(2, 3), todoService.getPendingTodos().stream().map(Todo::getId).collect(Collectors.toList()));
+        assertTrue(todoService.getCompletedTodos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should publish typed events for every mutation")
+    void testTypedEvents() {
+        List<TodoEvent> events = new ArrayList<>();
+        Observer observer = new Observer() {
+            @Override
+            public void update(String message) { }
+            @Override
+            public void onEvent(TodoEvent event) { events.add(event); }
+        };
+        todoService.registerObserver(observer);
+        try {
+            Todo todo = todoService.addTodo("Write report", "");
+            todoService.completeTodo(todo.getId());
+            todoService.uncompleteTodo(todo.getId());
+            todoService.uncompleteTodo(todo.getId());
+            todoService.updateTodo(todo.getId(), "Write final report", "Due Friday");
+            todoService.deleteTodo(todo.getId());
+        } finally {
+            todoService.removeObserver(observer);
+        }
+
+        assertEquals(List.of(TodoEvent.Type.ADDED, TodoEvent.Type.STATUS_CHANGED, TodoEvent.Type.STATUS_CHANGED,
+                        TodoEvent.Type.UPDATED, TodoEvent.Type.REMOVED),
+                events.stream().map(TodoEvent::getType).collect(Collectors.toList()));
+        assertEquals(Status.COMPLETED, events.get(2).getPreviousStatus());
+        assertEquals("Write final report", events.get(3).getTodo().getTitle());
+        assertEquals("Deleted ID: 1", events.get(4).getMessage());
+    }
+
+    @Test
+    @DisplayName("Event messages should describe the change as published, not the todo as it is now")
+    void testEventsCaptureValues() {
+        List<TodoEvent> events = new ArrayList<>();
+        Observer observer = new Observer() {
+            @Override
+            public void update(String message) { }
+            @Override
+            public void onEvent(TodoEvent event) { events.add(event); }
+        };
+        todoService.registerObserver(observer);
+        try {
+            Todo parent = todoService.addTodo("Parent", "");
+            Todo todo = todoService.addTodo("Task", "");
+            todoService.completeTodo(todo.getId());
+            todoService.uncompleteTodo(todo.getId());
+            todoService.setStatus(todo.getId(), Status.ERROR);
+            todoService.setPriority(todo.getId(), Priority.HIGH);
+            todoService.setPriority(todo.getId(), Priority.LOW);
+            todoService.moveTodo(todo.getId(), parent.getId());
+            todoService.moveTodo(todo.getId(), 0);
+        } finally {
+            todoService.removeObserver(observer);
+        }
+
+        assertEquals(List.of("Added: Parent", "Added: Task", "Completed ID: 2", "Reopened ID: 2", "Failed ID: 2",
+                        "Priority HIGH ID: 2", "Priority LOW ID: 2", "Moved ID: 2 under 1", "Moved ID: 2 under 0"),
+                events.stream().map(TodoEvent::getMessage).collect(Collectors.toList()));
+        assertEquals(Status.COMPLETED, events.get(2).getStatus());
+        assertEquals(Status.ERROR, events.get(2).getTodo().getStatus());
+    }
+
     @Test
     @DisplayName("Should find todo by ID")
     void testFindTodoById() {
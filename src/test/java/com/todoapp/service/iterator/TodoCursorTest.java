@@ -0,0 +1,133 @@
+package com.todoapp.service.iterator;
+
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCursorTest {
+
+    static Stream<TodoService> services() {
+        TodoService shared = TodoService.getInstance();
+        shared.clearAllTodos();
+        return Stream.of(shared, TodoService.createConcurrent(), TodoService.createCompact());
+    }
+
+    private static void fill(TodoService service, int count) {
+        for (int i = 1; i <= count; i++) service.addTodo("Task " + i, "");
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    @DisplayName("Iterator should yield typed todos in id order across chunks")
+    void testIteratesInOrder(TodoService service) {
+        fill(service, 1000);
+        for (int id = 3; id <= 1000; id += 3) service.deleteTodo(id);
+
+        List<Integer> seen = new ArrayList<>();
+        Iterator<Todo> it = service.getIterator();
+        while (it.hasNext()) seen.add(it.next().getId());
+        assertNull(it.next());
+
+        List<Integer> expected = service.getAllTodos().stream().map(Todo::getId).collect(Collectors.toList());
+        assertEquals(expected, seen);
+        assertEquals(expected, service.streamTodos().map(Todo::getId).collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    @DisplayName("Mutations during a walk should neither break it nor repeat todos")
+    void testSurvivesMutation(TodoService service) {
+        fill(service, 2000);
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Todo> it = service.getIterator();
+        int step = 0;
+        while (it.hasNext()) {
+            int id = it.next().getId();
+            assertTrue(seen.add(id), "repeated " + id);
+            if (++step % 100 == 0) {
+                service.deleteTodo(id + 300); // ahead of the cursor
+                service.deleteTodo(id - 50);  // behind it
+                service.addTodo("Late " + step, "");
+            }
+        }
+        for (int id = 1; id <= 2000; id++) {
+            if (service.findTodoById(id).isPresent()) assertTrue(seen.contains(id), "missed " + id);
+        }
+        assertTrue(seen.stream().allMatch(id -> id <= 2000), "todos added after creation are not visited");
+    }
+
+    @Test
+    @DisplayName("Parallel stream should split the id range and see each todo once")
+    void testParallelSplit() {
+        TodoService service = TodoService.createConcurrent();
+        fill(service, 5000);
+        for (int id = 1; id <= 5000; id += 7) service.completeTodo(id);
+
+        List<Integer> ids = StreamSupport.stream(service.spliterator(), true)
+                .map(Todo::getId).collect(Collectors.toList());
+        assertEquals(5000, ids.size());
+        assertEquals(5000, new HashSet<>(ids).size());
+        assertEquals(service.getAllTodos().stream().map(Todo::getId).collect(Collectors.toList()), ids); // encounter order kept
+        assertNotNull(service.spliterator().trySplit());
+    }
+
+    @Test
+    @DisplayName("Parallel stream should divide the live ids, not the whole int range")
+    void testSplitsLiveIds() {
+        TodoService service = TodoService.createConcurrent();
+        fill(service, 10_000);
+        Spliterator<Todo> cursor = service.spliterator();
+        assertEquals(10_000, cursor.estimateSize());
+
+        // The splitting policy of parallel streams: split while the estimate is above size / (4 * parallelism)
+        long threshold = Math.max(1, cursor.estimateSize() / (4L * ForkJoinPool.getCommonPoolParallelism()));
+        List<Integer> partSizes = new ArrayList<>();
+        split(cursor, threshold, partSizes);
+        assertEquals(10_000, partSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(partSizes.stream().filter(n -> n > 0).count() > 1, "parts: " + partSizes);
+    }
+
+    private static void split(Spliterator<Todo> part, long threshold, List<Integer> partSizes) {
+        Spliterator<Todo> prefix;
+        while (part.estimateSize() > threshold && (prefix = part.trySplit()) != null) {
+            split(prefix, threshold, partSizes);
+        }
+        int[] count = new int[1];
+        part.forEachRemaining(todo -> count[0]++);
+        partSizes.add(count[0]);
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    @DisplayName("Id/status scan should match the todos")
+    void testIdStatusScan(TodoService service) {
+        fill(service, 700);
+        for (int id = 1; id <= 700; id += 5) service.completeTodo(id);
+        service.deleteTodo(2);
+
+        List<Integer> ids = new ArrayList<>();
+        int[] completed = new int[1];
+        service.forEachIdStatus((id, status) -> {
+            ids.add(id);
+            if (status == Status.COMPLETED) completed[0]++;
+        });
+        assertEquals(service.getAllTodos().stream().map(Todo::getId).collect(Collectors.toList()), ids);
+        assertEquals(service.getCompletedCount(), completed[0]);
+    }
+}
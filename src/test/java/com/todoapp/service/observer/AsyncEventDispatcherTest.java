@@ -0,0 +1,183 @@
+package com.todoapp.service.observer;
+
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncEventDispatcherTest {
+
+    private AsyncEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    // Counts individual changes, unpacking batches, and records how many deliveries it saw
+    private static class CountingObserver implements Observer {
+        final AtomicInteger changes = new AtomicInteger();
+        final AtomicInteger deliveries = new AtomicInteger();
+        final CountDownLatch done;
+        final long delayMillis;
+
+        CountingObserver(int expected, long delayMillis) {
+            this.done = new CountDownLatch(expected);
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void update(String message) { }
+
+        @Override
+        public void onEvent(TodoEvent event) {
+            deliveries.incrementAndGet();
+            int count = event.getType() == TodoEvent.Type.BATCH ? event.getEvents().size() : 1;
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            changes.addAndGet(count);
+            for (int i = 0; i < count; i++) done.countDown();
+        }
+    }
+
+    // A Swing-side observer: the dispatcher must call it on the EDT
+    private static class SwingObserver extends JComponent implements Observer {
+        final CountingObserver counter;
+        final AtomicBoolean offEdt = new AtomicBoolean();
+
+        SwingObserver(int expected, long delayMillis) {
+            this.counter = new CountingObserver(expected, delayMillis);
+        }
+
+        @Override
+        public void update(String message) { }
+
+        @Override
+        public void onEvent(TodoEvent event) {
+            if (!SwingUtilities.isEventDispatchThread()) offEdt.set(true);
+            counter.onEvent(event);
+        }
+    }
+
+    @Test
+    @DisplayName("A burst of adds should be coalesced into a few batched deliveries")
+    void testBurstIsCoalesced() throws Exception {
+        dispatcher = new AsyncEventDispatcher(20_000, 20_000, 50);
+        TodoService service = TodoService.createConcurrent();
+        service.setEventDispatcher(dispatcher);
+        CountingObserver observer = new CountingObserver(10_000, 0);
+        service.registerObserver(observer);
+
+        for (int i = 0; i < 10_000; i++) {
+            service.addTodo("Task " + i, "");
+        }
+
+        assertTrue(observer.done.await(10, TimeUnit.SECONDS));
+        assertEquals(10_000, observer.changes.get());
+        assertTrue(observer.deliveries.get() < 100, "Expected coalescing, got " + observer.deliveries.get());
+
+        // The delivered counter is bumped just after onEvent returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.getMetrics().get(0).getDelivered() < 10_000 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        DispatchMetrics metrics = dispatcher.getMetrics().get(0);
+        assertEquals(10_000, metrics.getPublished());
+        assertEquals(10_000, metrics.getDelivered());
+        assertEquals(observer.deliveries.get(), metrics.getBatches());
+    }
+
+    @Test
+    @DisplayName("A slow observer should not run on the mutating thread")
+    void testSlowObserverDoesNotDelayWriters() throws Exception {
+        dispatcher = new AsyncEventDispatcher(1_000, 1, 0);
+        TodoService service = TodoService.createConcurrent();
+        service.setEventDispatcher(dispatcher);
+        CountingObserver slow = new CountingObserver(20, 50);
+        service.registerObserver(slow);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            service.addTodo("Task " + i, "");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 500, "Writers waited " + elapsedMillis + "ms for the observer");
+        assertTrue(slow.done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("A full queue should block publishers and be reported as backpressure")
+    void testBackpressureIsReported() throws Exception {
+        dispatcher = new AsyncEventDispatcher(2, 1, 0);
+        CountingObserver slow = new CountingObserver(10, 20);
+        TodoService service = TodoService.createConcurrent();
+        service.setEventDispatcher(dispatcher);
+        service.registerObserver(slow);
+
+        for (int i = 0; i < 10; i++) {
+            service.addTodo("Task " + i, "");
+        }
+
+        assertTrue(slow.done.await(10, TimeUnit.SECONDS));
+        DispatchMetrics metrics = dispatcher.getMetrics().get(0);
+        assertTrue(metrics.getBlockedPublishes() > 0);
+        assertEquals(0, metrics.getFailures());
+    }
+
+    @Test
+    @DisplayName("A busy EDT should push back on publishers, including ones on the EDT")
+    void testSwingObserverBackpressure() throws Exception {
+        dispatcher = new AsyncEventDispatcher(2, 1, 0);
+        TodoService service = TodoService.createConcurrent();
+        service.setEventDispatcher(dispatcher);
+        CountDownLatch release = new CountDownLatch(1);
+        SwingObserver observer = new SwingObserver(20, 0) {
+            @Override
+            public void onEvent(TodoEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event);
+            }
+        };
+        service.registerObserver(observer);
+
+        // One event on the stuck EDT and two queued; handing events to invokeLater would let all ten through
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) service.addTodo("Task " + i, "");
+        });
+        writer.start();
+        writer.join(300);
+        assertTrue(writer.isAlive());
+        assertTrue(dispatcher.getMetrics().get(0).getBlockedPublishes() > 0);
+        release.countDown();
+        writer.join(10_000);
+        assertFalse(writer.isAlive());
+
+        // The same burst from the EDT must not deadlock against the worker waiting on it
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 10; i++) service.addTodo("Edt task " + i, "");
+        });
+
+        assertTrue(observer.counter.done.await(10, TimeUnit.SECONDS));
+        assertEquals(20, observer.counter.changes.get());
+        assertFalse(observer.offEdt.get());
+    }
+}
@@ -0,0 +1,203 @@
+package com.todoapp.service.persistence;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.observer.Observer;
+import com.todoapp.service.observer.TodoEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageEngineTest {
+
+    @TempDir
+    Path dir;
+
+    private static final StorageOptions NO_AUTO_SNAPSHOT = new StorageOptions(16, 20, 0);
+
+    private static List<String> describe(TodoService service) {
+        return service.getAllTodos().stream()
+                .map(t -> t.getId() + "|" + t.getTitle() + "|" + t.getDescription() + "|" + t.getStatus())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Mutations should survive a restart through journal replay")
+    void testJournalReplay() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        Todo milk = service.addTodo("Buy milk", "Semi-skimmed");
+        Todo call = service.addTodo("Call mom", "");
+        service.addTodo("Exercise", "Run");
+        service.completeTodo(milk.getId());
+        service.updateTodo(call.getId(), "Call mom and dad", "Sunday");
+        service.setPriority(call.getId(), Priority.HIGH);
+        service.deleteTodo(3);
+        List<String> before = describe(service);
+        service.closeStorage();
+
+        TodoService reopened = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(before, describe(reopened));
+        assertEquals(Priority.HIGH, reopened.findTodoById(call.getId()).get().getPriority());
+        assertEquals(1, reopened.getCompletedCount());
+        assertEquals(4, reopened.addTodo("Next", "").getId());
+        reopened.closeStorage();
+    }
+
+    @Test
+    @DisplayName("A checkpoint should replace old journals with a snapshot")
+    void testCheckpoint() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        for (int i = 0; i < 100; i++) {
+            service.addTodo("Task " + i, "");
+        }
+        service.checkpoint();
+        service.completeTodo(10);
+        service.deleteTodo(20);
+        List<String> before = describe(service);
+        service.closeStorage();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            List<String> names = files.map(p -> p.getFileName().toString()).sorted().collect(Collectors.toList());
+            assertEquals(List.of("journal-0000000002.log", "snapshot-0000000002.dat"), names);
+        }
+
+        TodoService reopened = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(before, describe(reopened));
+        reopened.closeStorage();
+    }
+
+    @Test
+    @DisplayName("A torn record at the end of the journal should be dropped on recovery")
+    void testTornTail() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        service.addTodo("Keep me", "");
+        service.addTodo("Lose me", "");
+        service.closeStorage();
+
+        Path journal = dir.resolve("journal-0000000001.log");
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        TodoService reopened = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(List.of("1|Keep me||PENDING"), describe(reopened));
+        reopened.addTodo("After crash", "");
+        reopened.closeStorage();
+
+        TodoService again = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(2, again.getTotalCount());
+        again.closeStorage();
+    }
+
+    @Test
+    @DisplayName("Clearing should reset state and ids after recovery")
+    void testClearIsReplayed() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, new StorageOptions(1, 20, 5));
+        for (int i = 0; i < 12; i++) {
+            service.addTodo("Task " + i, "");
+        }
+        service.clearAllTodos();
+        service.addTodo("Fresh start", "");
+        service.closeStorage();
+
+        TodoService reopened = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(List.of("1|Fresh start||PENDING"), describe(reopened));
+        assertEquals(2, reopened.addTodo("Second", "").getId());
+        reopened.closeStorage();
+    }
+
+    @Test
+    @DisplayName("Parent links should survive journal replay and snapshots")
+    void testHierarchyIsPersisted() throws IOException {
+        TodoService service = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        Todo project = service.addTodo("Project", "");
+        Todo task = service.addTodo("Task", "", project.getId());
+        Todo step = service.addTodo("Step", "", task.getId());
+        Todo later = service.addTodo("Later", "");
+        service.moveTodo(project.getId(), later.getId()); // parent with a higher id than its child
+        service.completeTodo(step.getId());
+        service.closeStorage();
+
+        TodoService replayed = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(later.getId(), replayed.findTodoById(project.getId()).get().getParentId());
+        assertEquals(4, replayed.getRollup(later.getId()).get().getTotal());
+        assertEquals(1, replayed.getRollup(later.getId()).get().getCompleted());
+        replayed.deleteTodo(task.getId()); // step moves up to project
+        replayed.checkpoint();
+        replayed.closeStorage();
+
+        TodoService restored = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(project.getId(), restored.findTodoById(step.getId()).get().getParentId());
+        assertEquals(3, restored.getRollup(later.getId()).get().getTotal());
+        restored.closeStorage();
+    }
+
+    @Test
+    @DisplayName("A failed snapshot should be reported while the journal keeps working")
+    void testCheckpointFailureIsObservable() throws Exception {
+        // A directory where the snapshot is staged makes writing it fail
+        Files.createDirectories(dir.resolve("snapshot-0000000002.dat.tmp"));
+        TodoService service = TodoService.createPersistent(dir, new StorageOptions(16, 20, 10));
+        BlockingQueue<String> messages = new ArrayBlockingQueue<>(16);
+        service.registerObserver(new Observer() {
+            @Override
+            public void update(String message) {
+                messages.offer(message);
+            }
+
+            @Override
+            public void onEvent(TodoEvent event) { }
+        });
+        for (int i = 0; i < 10; i++) {
+            service.addTodo("Task " + i, "");
+        }
+
+        String message = messages.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertTrue(message.startsWith("✗ Storage failed"), message);
+        assertTrue(service.getStorageFailure().isPresent());
+        service.addTodo("After the failure", "");
+        service.closeStorage();
+
+        TodoService reopened = TodoService.createPersistent(dir, NO_AUTO_SNAPSHOT);
+        assertEquals(11, reopened.getTotalCount());
+        reopened.closeStorage();
+    }
+
+    @Test
+    @DisplayName("A journal write failure should keep the record buffered instead of throwing")
+    void testJournalFailureKeepsRecord() throws Exception {
+        StorageEngine engine = new StorageEngine(dir, new StorageOptions(1, 20, 0));
+        engine.recover();
+        BlockingQueue<IOException> failures = new ArrayBlockingQueue<>(16);
+        engine.setFailureListener(failures::offer);
+        engine.start(() -> { });
+        Field journal = StorageEngine.class.getDeclaredField("journal");
+        journal.setAccessible(true);
+        ((FileChannel) journal.get(engine)).close();
+
+        // The caller has already applied the change in memory, so this must not throw
+        assertDoesNotThrow(() -> engine.record(TodoEvent.added(new Todo(1, "Task", "", "PENDING"))));
+        assertDoesNotThrow(() -> engine.record(TodoEvent.added(new Todo(2, "Task", "", "PENDING"))));
+        assertNotNull(failures.poll(10, TimeUnit.SECONDS));
+        assertTrue(engine.getLastFailure().isPresent());
+        assertThrows(IOException.class, engine::flush);
+        assertTrue(failures.isEmpty(), "A run of failures should be reported once");
+    }
+}
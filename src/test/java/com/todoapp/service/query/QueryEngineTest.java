@@ -0,0 +1,107 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.observer.Observer;
+import com.todoapp.service.observer.TodoEvent;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.TitleSearch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.todoapp.service.query.TodoPredicates.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryEngineTest {
+
+    private ForkJoinPool pool;
+    private TodoService service;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        service = TodoService.createConcurrent();
+        service.setQueryEngine(new QueryEngine(pool, 0)); // always parallel
+        for (int i = 1; i <= 20_000; i++) {
+            service.addTodo((i % 10 == 0 ? "Report " : "Task ") + i, i % 3 == 0 ? "draft" : "");
+        }
+        for (int id = 1; id <= 20_000; id += 4) service.completeTodo(id);
+        for (int id = 1; id <= 20_000; id += 3) service.setPriority(id, Priority.HIGH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private List<Integer> sequential(Predicate<Todo> filter) {
+        return service.getAllTodos().stream().filter(filter).map(Todo::getId).collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Parallel scan should match a sequential filter, in id order")
+    void testParallelSelect() {
+        Predicate<Todo> filter = allOf(text("report", SearchField.TITLE), status(Status.PENDING), priority(Priority.HIGH));
+        List<Integer> expected = sequential(filter);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, ids(service.query(filter)));
+        assertEquals(sequential(text("draft", SearchField.ANY).negate()), ids(service.query(text("draft", SearchField.ANY).negate())));
+        assertEquals(ids(service.searchTodos("report", new TitleSearch(), 10)), ids(service.searchTodos("report", new TitleSearch())).subList(0, 10));
+    }
+
+    @Test
+    @DisplayName("Bulk operations should change every match and publish one batch")
+    void testParallelBulk() {
+        List<TodoEvent> events = new ArrayList<>();
+        service.registerObserver(new Observer() {
+            @Override public void update(String message) {}
+            @Override public void onEvent(TodoEvent event) { events.add(event); }
+        });
+
+        int drafts = sequential(text("draft", SearchField.DESCRIPTION)).size();
+        assertEquals(drafts, service.deleteWhere(text("draft", SearchField.DESCRIPTION)));
+        assertTrue(service.query(text("draft", SearchField.DESCRIPTION)).isEmpty());
+        assertEquals(20_000 - drafts, service.getTotalCount());
+
+        int pendingHigh = sequential(allOf(status(Status.PENDING), priority(Priority.HIGH))).size();
+        assertEquals(pendingHigh, service.completeWhere(allOf(status(Status.PENDING), priority(Priority.HIGH))));
+        assertEquals(0, service.query(allOf(status(Status.PENDING), priority(Priority.HIGH))).size());
+        assertEquals(service.getCompletedCount(), service.query(status(Status.COMPLETED)).size());
+
+        int low = service.setPriorityWhere(status(Status.COMPLETED), Priority.LOW);
+        assertEquals(service.getCompletedCount(), low);
+        assertEquals(low, service.getCountByPriority(Priority.LOW));
+
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getType() == TodoEvent.Type.BATCH));
+        assertEquals(drafts, events.get(0).getEvents().size());
+    }
+
+    @Test
+    @DisplayName("Small stores should stay on the calling thread")
+    void testBelowThreshold() {
+        TodoService small = TodoService.createCompact();
+        small.setQueryEngine(new QueryEngine(pool, 1_000));
+        for (int i = 1; i <= 50; i++) small.addTodo("Task " + i, "");
+        String caller = Thread.currentThread().getName();
+        List<String> threads = new ArrayList<>();
+        small.query(t -> threads.add(Thread.currentThread().getName()));
+        assertTrue(threads.stream().allMatch(caller::equals));
+        assertEquals(50, small.completeWhere(t -> true));
+        assertThrows(IllegalArgumentException.class, () -> new QueryEngine(pool, -1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.todoapp.service.query;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.strategy.QuerySearch;
+import com.todoapp.ui.facade.TodoFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryParserTest {
+
+    private static Todo todo(String title, String description, Status status, Priority priority) {
+        return new Todo(1, title, description, status, priority);
+    }
+
+    @Test
+    @DisplayName("Should compile to a tree with cheap predicates first")
+    void testCompiledShape() {
+        TodoMatcher matcher = QueryParser.parse("title:\"report\" -desc:draft status:pending priority:high");
+        assertEquals("(status:pending priority:high title:\"report\" -description:\"draft\")", matcher.toString());
+        assertEquals(Status.PENDING, matcher.requiredStatus());
+
+        assertEquals("(any:\"budget\" OR (status:completed any:\"invoice\"))",
+                QueryParser.parse("budget OR invoice status:completed").toString());
+        assertEquals("*", QueryParser.parse("   ").toString());
+        assertNull(QueryParser.parse("invoice OR status:completed").requiredStatus());
+    }
+
+    @Test
+    @DisplayName("Should evaluate fields, phrases, negation and OR")
+    void testMatching() {
+        Todo report = todo("Weekly Report", "final version", Status.PENDING, Priority.HIGH);
+        Todo draft = todo("Quarterly report", "Draft only", Status.PENDING, Priority.HIGH);
+        Todo done = todo("Weekly report", "", Status.COMPLETED, Priority.LOW);
+
+        TodoMatcher matcher = QueryParser.parse("status:pending priority:high title:\"report\" -desc:draft");
+        assertTrue(matcher.test(report));
+        assertFalse(matcher.test(draft));
+        assertFalse(matcher.test(done));
+
+        assertTrue(QueryParser.parse("\"weekly report\"").test(done));
+        assertFalse(QueryParser.parse("title:\"weekly  report\"").test(done));
+        assertTrue(QueryParser.parse("priority:low OR desc:draft").test(draft));
+        assertFalse(QueryParser.parse("-report").test(report));
+        assertTrue(QueryParser.parse("STATUS:Completed").test(done));
+    }
+
+    @Test
+    @DisplayName("Field names should not depend on the default locale")
+    void testTurkishLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            TodoMatcher matcher = QueryParser.parse("TITLE:invoice PRIORITY:high");
+            assertEquals("(priority:high title:\"invoice\")", matcher.toString());
+            for (String term : List.of("TITLE:budget", "Status:Completed", "PRIORITY:low")) {
+                String text = QueryParser.parse(term).toString();
+                assertEquals(text, QueryParser.parse(text).toString());
+            }
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"status:someday", "priority:critical", "owner:me", "title:", "title:\"open", "OR report", "report OR", "-", "title:\"\""})
+    @DisplayName("Should reject malformed queries")
+    void testErrors(String query) {
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse(query));
+    }
+
+    @Test
+    @DisplayName("Should cache compiled matchers per query string")
+    void testCache() {
+        String query = "status:pending title:cache-" + System.nanoTime();
+        assertSame(QueryParser.compile(query), QueryParser.compile(query));
+        assertNotSame(QueryParser.parse(query), QueryParser.parse(query));
+    }
+
+    @Test
+    @DisplayName("Should plug into searchTodos for every store")
+    void testSearchTodos() {
+        for (TodoService service : List.of(TodoService.createConcurrent(), TodoService.createCompact())) {
+            for (int i = 1; i <= 600; i++) {
+                service.addTodo((i % 4 == 0 ? "Report " : "Task ") + i, i % 6 == 0 ? "draft" : "final");
+            }
+            for (int id = 1; id <= 600; id += 3) service.completeTodo(id);
+            for (int id = 2; id <= 600; id += 2) service.setPriority(id, Priority.HIGH);
+
+            String query = "status:pending priority:high title:report -desc:draft";
+            TodoMatcher matcher = QueryParser.compile(query);
+            List<Integer> expected = service.getAllTodos().stream().filter(matcher)
+                    .map(Todo::getId).collect(Collectors.toList());
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, ids(service.searchTodos(query, new QuerySearch())));
+            assertEquals(expected.subList(0, 5), ids(service.searchTodos(query, new QuerySearch(), 5)));
+            assertEquals(expected, ids(new TodoFacade(service).find(query)));
+
+            List<Integer> anyStatus = service.getAllTodos().stream().filter(QueryParser.compile("report OR desc:draft"))
+                    .map(Todo::getId).collect(Collectors.toList());
+            assertEquals(anyStatus, ids(service.searchTodos("report OR desc:draft", new QuerySearch())));
+        }
+    }
+
+    private static List<Integer> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).collect(Collectors.toList());
+    }
+}
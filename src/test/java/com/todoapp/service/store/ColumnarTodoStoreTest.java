@@ -0,0 +1,131 @@
+package com.todoapp.service.store;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTodoStoreTest {
+
+    @Test
+    @DisplayName("Views should read and write through to the columns")
+    void testViewsWriteThrough() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        Todo view = store.add(new Todo(1, "Title", "Desc", "PENDING", "HIGH"));
+
+        view.setTitle("Renamed");
+        view.setStatus("COMPLETED");
+        Todo again = store.get(1);
+        assertEquals("Renamed", again.getTitle());
+        assertEquals(Status.COMPLETED, again.getStatus());
+        assertTrue(again.isCompleted());
+        assertEquals(Priority.HIGH, again.getPriority());
+        assertFalse(again.hasSubTasks());
+
+        again.addSubTask(new Todo(99, "Child", "", "PENDING"));
+        assertEquals(1, store.get(1).getSubTasks().size());
+    }
+
+    @Test
+    @DisplayName("Removed todos should come back as detached copies")
+    void testRemoveDetaches() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        Todo view = store.add(new Todo(1, "Title", "Desc", "PENDING", "LOW"));
+        store.add(new Todo(2, "Other", "", "PENDING", "LOW"));
+
+        Todo removed = store.remove(1);
+        assertEquals("Title", removed.getTitle());
+        assertEquals("Title", view.getTitle());
+        assertNull(store.get(1));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Views should follow their row through compaction and outlive its removal")
+    void testViewsAcrossCompaction() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        for (int id = 1; id <= 300; id++) store.add(new Todo(id, "Task " + id, "", "PENDING", "LOW"));
+        Todo kept = store.get(300);
+        Todo gone = store.get(5);
+        for (int id = 1; id <= 200; id++) store.remove(id); // compacts, moving row 300 down
+
+        kept.setStatus(Status.COMPLETED);
+        assertEquals(Status.COMPLETED, store.get(300).getStatus());
+        assertEquals("Task 300", kept.getTitle());
+        assertEquals("Task 5", gone.getTitle());
+        gone.setTitle("Detached");
+        assertEquals("Detached", gone.getTitle());
+        assertNull(store.get(5));
+    }
+
+    @Test
+    @DisplayName("Order should hold across compaction and re-inserted ids")
+    void testOrderAndCompaction() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        for (int id = 1; id <= 500; id++) store.add(new Todo(id, "Task " + id, "", "PENDING"));
+        Todo kept = store.get(450);
+        for (int id = 1; id <= 400; id++) store.remove(id);
+        store.add(new Todo(7, "Back", "", "COMPLETED"));
+
+        List<Integer> ids = store.toList().stream().map(Todo::getId).collect(Collectors.toList());
+        assertEquals(101, ids.size());
+        assertEquals(7, ids.get(0));
+        assertEquals(401, ids.get(1));
+        assertEquals("Task 450", kept.getTitle());
+        assertEquals("Back", store.get(7).getTitle());
+    }
+
+    @Test
+    @DisplayName("Older ids re-inserted in any order should read back in id order")
+    void testReinsertOrder() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        for (int id = 1; id <= 200; id++) store.add(new Todo(id, "Task " + id, "", "PENDING"));
+        Todo view = store.get(150);
+        for (int id = 1; id <= 150; id++) store.remove(id);
+        // Compaction left no holes, so these all go to the end until the next ordered read
+        for (int id = 150; id >= 1; id--) store.add(new Todo(id, "Back " + id, "", id % 2 == 0 ? "COMPLETED" : "PENDING"));
+
+        List<Integer> ids = store.range(0, 0, Integer.MAX_VALUE).stream().map(Todo::getId).collect(Collectors.toList());
+        assertEquals(IntStream.rangeClosed(1, 200).boxed().collect(Collectors.toList()), ids);
+        assertEquals("Back 150", view.getTitle());
+        assertTrue(store.get(2).isCompleted());
+        assertEquals(List.of(2, 4, 6), store.statusIndex().range(true, 0, 0, 3).stream().map(Todo::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Repeated strings should share one instance")
+    void testDeduplication() {
+        ColumnarTodoStore store = new ColumnarTodoStore();
+        store.add(new Todo(1, new String("Same"), "", "PENDING"));
+        store.add(new Todo(2, new String("Same"), "", "PENDING"));
+        assertSame(store.get(1).getTitle(), store.get(2).getTitle());
+    }
+
+    @Test
+    @DisplayName("A compact service should behave like the default one")
+    void testCompactService() {
+        TodoService service = TodoService.createCompact();
+        for (int i = 1; i <= 10; i++) service.addTodo("Task " + i, "Desc");
+        service.completeTodo(3);
+        service.completeTodo(4);
+        service.deleteTodo(4);
+        service.updateTodo(5, "Changed", "");
+
+        assertEquals(9, service.getTotalCount());
+        assertEquals(1, service.getCompletedCount());
+        assertEquals(8, service.getPendingCount());
+        assertEquals(1, service.getCountByStatus("COMPLETED"));
+        assertEquals(3, service.getCompletedTodos().get(0).getId());
+        assertEquals(8, service.getPendingTodos().size());
+        assertEquals("Changed", service.findTodoById(5).get().getTitle());
+        assertEquals(1, service.searchTodos("changed").size());
+    }
+}
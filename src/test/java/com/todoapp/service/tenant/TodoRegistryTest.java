@@ -0,0 +1,115 @@
+package com.todoapp.service.tenant;
+
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoRegistryTest {
+
+    private ForkJoinPool pool;
+    private TodoRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        registry = new TodoRegistry(tenant -> TodoService.createConcurrent(), pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Tenants get separate shards with their own ids")
+    void testTenantsAreIsolated() {
+        TodoService alice = registry.forTenant("alice");
+        TodoService bob = registry.forTenant("bob");
+        assertSame(alice, registry.forTenant("alice"));
+        assertNotSame(alice, bob);
+
+        alice.addTodo("Alice task", "");
+        bob.addTodo("Bob task", "");
+        bob.addTodo("Bob report", "");
+
+        assertEquals(1, alice.getTotalCount());
+        assertEquals(2, bob.getTotalCount());
+        assertEquals("Alice task", alice.findTodoById(1).get().getTitle());
+        assertEquals("Bob task", bob.findTodoById(1).get().getTitle());
+        assertEquals(3, registry.getTotalCount());
+
+        assertTrue(registry.removeTenant("bob"));
+        assertFalse(registry.removeTenant("bob"));
+        assertEquals(1, registry.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Queries fan out to every shard and group results by tenant")
+    void testCrossShardQuery() {
+        for (String tenant : new String[] {"c", "a", "b"}) {
+            TodoService shard = registry.forTenant(tenant);
+            for (int i = 1; i <= 100; i++) shard.addTodo((i % 10 == 0 ? "Report " : "Task ") + i, "");
+            shard.completeTodo(10);
+        }
+
+        Map<String, List<Todo>> reports = registry.search("status:pending report");
+        assertEquals(List.of("a", "b", "c"), List.copyOf(reports.keySet()));
+        for (List<Todo> matches : reports.values()) {
+            assertEquals(9, matches.size());
+            assertEquals(20, matches.get(0).getId());
+        }
+
+        Map<String, List<Todo>> done = registry.query(Todo::isCompleted);
+        done.values().forEach(matches -> assertEquals(1, matches.size()));
+    }
+
+    @Test
+    @DisplayName("Metrics count each shard's operations and memory")
+    void testMetrics() {
+        TodoService shard = registry.forTenant("team");
+        for (int i = 0; i < 5; i++) shard.addTodo("Task " + i, "");
+        shard.completeTodo(1);
+        shard.deleteTodo(2);
+        registry.query(todo -> true);
+        registry.forTenant("empty");
+
+        List<ShardMetrics> metrics = registry.metrics();
+        assertEquals(2, metrics.size());
+        ShardMetrics empty = metrics.get(0);
+        ShardMetrics team = metrics.get(1);
+        assertEquals("empty", empty.getTenant());
+        assertEquals(0, empty.getEstimatedBytes());
+        assertEquals("team", team.getTenant());
+        assertEquals(4, team.getTodos());
+        assertEquals(1, team.getCompleted());
+        assertEquals(5, team.getAdds());
+        assertEquals(1, team.getRemoves());
+        assertEquals(1, team.getChanges());
+        assertEquals(1, team.getQueries());
+        assertTrue(team.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("The shared registry's default tenant is the application service")
+    void testDefaultTenant() {
+        assertSame(TodoService.getInstance(), TodoRegistry.shared().defaultTenant());
+        assertSame(TodoService.getInstance(), TodoRegistry.shared().forTenant(TodoRegistry.DEFAULT_TENANT));
+    }
+
+    @Test
+    @DisplayName("Tenant ids are validated")
+    void testInvalidTenant() {
+        assertThrows(IllegalArgumentException.class, () -> registry.forTenant(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.forTenant(""));
+        assertThrows(IllegalArgumentException.class, () -> registry.forTenant("../etc"));
+    }
+}
@@ -0,0 +1,268 @@
+package com.todoapp.ui.command;
+
+import com.todoapp.model.Status;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.command.AddTodoCommand;
+import com.todoapp.service.command.BatchCommand;
+import com.todoapp.service.command.Command;
+import com.todoapp.service.command.DeleteTodoCommand;
+import com.todoapp.service.command.ToggleStatusCommand;
+import com.todoapp.service.observer.Observer;
+import com.todoapp.service.observer.TodoEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoInvokerTest {
+
+    private TodoService service;
+    private TodoInvoker invoker;
+
+    @BeforeEach
+    void setUp() {
+        service = TodoService.createConcurrent();
+        invoker = new TodoInvoker();
+    }
+
+    private List<Integer> ids() {
+        return service.getAllTodos().stream().map(Todo::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Undo and redo of add should keep the original id")
+    void testAddUndoRedo() {
+        invoker.execute(new AddTodoCommand(service, "First", ""));
+        invoker.execute(new AddTodoCommand(service, "Second", ""));
+
+        assertTrue(invoker.undo());
+        assertEquals(List.of(1), ids());
+        assertTrue(invoker.redo());
+        assertEquals(List.of(1, 2), ids());
+        assertFalse(invoker.canRedo());
+    }
+
+    @Test
+    @DisplayName("Undoing a delete should restore the todo in its original position")
+    void testDeleteUndo() {
+        for (int i = 1; i <= 3; i++) service.addTodo("Task " + i, "Desc");
+        service.completeTodo(2);
+
+        invoker.execute(new DeleteTodoCommand(service, 2));
+        assertEquals(List.of(1, 3), ids());
+
+        invoker.undo();
+        assertEquals(List.of(1, 2, 3), ids());
+        assertEquals(Status.COMPLETED, service.findTodoById(2).get().getStatus());
+        assertEquals(1, service.getCompletedCount());
+        assertEquals(4, service.addTodo("Next", "").getId());
+    }
+
+    @Test
+    @DisplayName("Undoing a delete should move the orphaned children back")
+    void testDeleteUndoRestoresChildren() {
+        Todo root = service.addTodo("Root", "");
+        Todo mid = service.addTodo("Mid", "", root.getId());
+        Todo leaf1 = service.addTodo("Leaf 1", "", mid.getId());
+        Todo leaf2 = service.addTodo("Leaf 2", "", mid.getId());
+        service.completeTodo(leaf2.getId());
+
+        invoker.execute(new DeleteTodoCommand(service, mid.getId()));
+        assertEquals(root.getId(), leaf1.getParentId());
+        assertEquals(3, service.getRollup(root.getId()).get().getTotal());
+
+        invoker.undo();
+        assertEquals(root.getId(), service.findTodoById(mid.getId()).get().getParentId());
+        assertEquals(List.of(leaf1.getId(), leaf2.getId()),
+                service.getChildren(mid.getId()).stream().map(Todo::getId).collect(Collectors.toList()));
+        assertEquals(List.of(mid.getId()), service.getChildren(root.getId()).stream().map(Todo::getId).collect(Collectors.toList()));
+        assertEquals(4, service.getRollup(root.getId()).get().getTotal());
+        assertEquals(1, service.getRollup(mid.getId()).get().getCompleted());
+
+        invoker.redo();
+        assertEquals(root.getId(), leaf2.getParentId());
+    }
+
+    @Test
+    @DisplayName("Undoing a toggle should restore the previous status")
+    void testToggleUndo() {
+        Todo todo = service.addTodo("Task", "");
+        invoker.execute(new ToggleStatusCommand(service, todo.getId()));
+        assertTrue(todo.isCompleted());
+
+        invoker.undo();
+        assertFalse(todo.isCompleted());
+        invoker.redo();
+        assertTrue(todo.isCompleted());
+    }
+
+    @Test
+    @DisplayName("Undoing a toggle should restore an ERROR status")
+    void testToggleUndoKeepsError() {
+        Todo todo = service.addTodo("Task", "");
+        service.setStatus(todo.getId(), Status.ERROR);
+        invoker.execute(new ToggleStatusCommand(service, todo.getId()));
+        assertEquals(Status.COMPLETED, todo.getStatus());
+
+        invoker.undo();
+        assertEquals(Status.ERROR, todo.getStatus());
+        assertEquals(0, service.getCompletedCount());
+        assertEquals(1, service.getCountByStatus(Status.ERROR));
+    }
+
+    @Test
+    @DisplayName("Toggling should report the status it replaced")
+    void testToggleStatusReportsReplaced() {
+        Todo todo = service.addTodo("Task", "");
+        assertEquals(Status.PENDING, service.toggleStatus(todo.getId()));
+        assertEquals(Status.COMPLETED, service.toggleStatus(todo.getId()));
+        assertNull(service.toggleStatus(999));
+
+        // Undo of a toggle that found nothing leaves the store alone
+        invoker.execute(new ToggleStatusCommand(service, 999));
+        invoker.undo();
+        assertEquals(Status.PENDING, todo.getStatus());
+        assertEquals(1, service.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("A group should undo as one unit")
+    void testGroupUndo() {
+        for (int i = 1; i <= 5; i++) service.addTodo("Task " + i, "");
+        List<Command> group = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) group.add(new DeleteTodoCommand(service, id));
+
+        invoker.executeGroup(group);
+        assertEquals(0, service.getTotalCount());
+        assertEquals(1, invoker.getHistorySize());
+
+        invoker.undo();
+        assertEquals(List.of(1, 2, 3, 4, 5), ids());
+    }
+
+    @Test
+    @DisplayName("Undoing a bulk delete on the default store should restore id order")
+    void testBulkDeleteUndoOnDefaultStore() {
+        TodoService shared = TodoService.getInstance();
+        shared.clearAllTodos();
+        int count = 20_000;
+        List<Command> deletes = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            shared.addTodo("Task " + i, "");
+            // Deleting nine in ten compacts the store, so most restores find no hole to reuse
+            if (i % 10 != 0) deletes.add(new DeleteTodoCommand(shared, i));
+        }
+
+        invoker.executeBatch(shared, deletes);
+        assertEquals(count / 10, shared.getTotalCount());
+        invoker.undo();
+
+        List<Integer> restored = shared.getAllTodos().stream().map(Todo::getId).collect(Collectors.toList());
+        assertEquals(IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList()), restored);
+        assertEquals(List.of(101, 102, 103), shared.getAllTodos(100, 3).stream().map(Todo::getId).collect(Collectors.toList()));
+        assertEquals(count + 1, shared.addTodo("Next", "").getId());
+        shared.clearAllTodos();
+    }
+
+    @Test
+    @DisplayName("A failing group should leave no partial changes")
+    void testGroupAtomic() {
+        List<Command> group = List.of(
+                new AddTodoCommand(service, "Valid", ""),
+                new AddTodoCommand(service, " ", ""));
+
+        assertThrows(IllegalArgumentException.class, () -> invoker.executeGroup(group));
+        assertEquals(0, service.getTotalCount());
+        assertFalse(invoker.canUndo());
+    }
+
+    @Test
+    @DisplayName("History should be bounded, dropping the oldest commands")
+    void testBoundedHistory() {
+        TodoInvoker small = new TodoInvoker(3);
+        for (int i = 0; i < 10; i++) small.execute(new AddTodoCommand(service, "Task " + i, ""));
+
+        assertEquals(3, small.getHistorySize());
+        while (small.undo()) { }
+        assertEquals(7, service.getTotalCount());
+    }
+
+    private List<TodoEvent> recordEvents() {
+        List<TodoEvent> events = new CopyOnWriteArrayList<>();
+        service.registerObserver(new Observer() {
+            @Override
+            public void update(String message) { }
+            @Override
+            public void onEvent(TodoEvent event) { events.add(event); }
+        });
+        return events;
+    }
+
+    @Test
+    @DisplayName("A batch should publish one aggregated event and undo as one")
+    void testBatchSingleEvent() {
+        List<TodoEvent> events = recordEvents();
+        List<Command> adds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) adds.add(new AddTodoCommand(service, "Task " + i, ""));
+
+        invoker.executeBatch(service, adds);
+        assertEquals(100, service.getTotalCount());
+        assertEquals(1, events.size());
+        assertEquals(TodoEvent.Type.BATCH, events.get(0).getType());
+        assertEquals(100, events.get(0).getEvents().size());
+
+        invoker.undo();
+        assertEquals(0, service.getTotalCount());
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    @DisplayName("A failing batch should roll back before anyone sees it")
+    void testBatchAllOrNothing() {
+        service.addTodo("Existing", "");
+        List<TodoEvent> events = recordEvents();
+        List<Command> commands = List.of(
+                new DeleteTodoCommand(service, 1),
+                new AddTodoCommand(service, "Valid", ""),
+                new AddTodoCommand(service, "", ""));
+
+        assertThrows(IllegalArgumentException.class, () -> invoker.executeBatch(service, commands));
+        assertEquals(List.of(1), ids());
+        assertFalse(invoker.canUndo());
+        assertEquals(List.of(), events, "A rolled-back batch has no net effect to publish");
+
+        // Nested in an outer batch, only the failed work's events are dropped
+        service.runBatch(() -> {
+            service.addTodo("Outer", "");
+            assertThrows(IllegalArgumentException.class, () -> new BatchCommand(service, commands).execute());
+        });
+        assertEquals(1, events.size());
+        assertEquals(TodoEvent.Type.ADDED, events.get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Bulk service operations should apply together with one event")
+    void testBulkOperations() {
+        List<TodoEvent> events = recordEvents();
+        List<String> titles = IntStream.range(0, 100_000).mapToObj(i -> "Task " + i).collect(Collectors.toList());
+
+        assertEquals(100_000, service.addTodos(titles).size());
+        List<Integer> even = IntStream.rangeClosed(1, 100_000).filter(id -> id % 2 == 0).boxed().collect(Collectors.toList());
+        assertEquals(50_000, service.completeTodos(even));
+        assertEquals(50_000, service.deleteTodos(even));
+
+        assertEquals(3, events.size());
+        assertEquals(50_000, service.getPendingCount());
+        assertEquals(0, service.getCompletedCount());
+        assertThrows(IllegalArgumentException.class, () -> service.addTodos(List.of("ok", " ")));
+        assertEquals(50_000, service.getTotalCount());
+    }
+}
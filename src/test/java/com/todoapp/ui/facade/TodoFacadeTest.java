@@ -0,0 +1,197 @@
+package com.todoapp.ui.facade;
+
+import com.todoapp.model.Priority;
+import com.todoapp.model.Todo;
+import com.todoapp.service.TodoService;
+import com.todoapp.service.query.Page;
+import com.todoapp.service.search.SearchField;
+import com.todoapp.service.strategy.IndexedSearch;
+import com.todoapp.service.strategy.TitleSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoFacadeTest {
+
+    private TodoService service;
+    private TodoFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        service = TodoService.createConcurrent();
+        facade = new TodoFacade(service);
+    }
+
+    private static List<Integer> ids(List<Todo> todos) {
+        return todos.stream().map(Todo::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Priority view should order by priority, then id")
+    void testByPriority() {
+        for (int i = 1; i <= 6; i++) service.addTodo("Task " + i, "");
+        service.setPriority(2, Priority.HIGH);
+        service.setPriority(5, Priority.HIGH);
+        service.setPriority(3, Priority.LOW);
+        service.completeTodo(5);
+
+        assertEquals(List.of(2, 5, 1, 4, 6, 3), ids(facade.getByPriority()));
+        assertEquals(List.of(2, 5, 1), ids(facade.getByPriority(3)));
+        assertEquals(List.of(2, 1, 4), ids(facade.getMostUrgent(3)));
+        assertEquals(2, service.getCountByPriority(Priority.HIGH));
+    }
+
+    @Test
+    @DisplayName("Index built lazily should stay in step with later mutations")
+    void testIndexMaintained() {
+        Random random = new Random(7);
+        Priority[] priorities = Priority.values();
+        for (int i = 1; i <= 300; i++) service.addTodo("Task " + i, "");
+        facade.getMostUrgent(1); // builds the index
+        for (int i = 0; i < 600; i++) {
+            int id = 1 + random.nextInt(320);
+            switch (random.nextInt(4)) {
+                case 0: service.setPriority(id, priorities[random.nextInt(priorities.length)]); break;
+                case 1: service.completeTodo(id); break;
+                case 2: service.deleteTodo(id); break;
+                default: service.addTodo("New " + i, ""); break;
+            }
+        }
+
+        Comparator<Todo> urgency = Comparator.comparing(Todo::getPriority).reversed().thenComparing(Todo::getId);
+        List<Todo> expected = service.getAllTodos().stream().sorted(urgency).collect(Collectors.toList());
+        assertEquals(ids(expected), ids(facade.getByPriority()));
+        List<Todo> expectedPending = expected.stream().filter(t -> !t.isCompleted()).limit(10).collect(Collectors.toList());
+        assertEquals(ids(expectedPending), ids(facade.getMostUrgent(10)));
+    }
+
+    // One service per store implementation; the shared default instance is emptied first
+    static Stream<TodoService> services() {
+        TodoService shared = TodoService.getInstance();
+        shared.clearAllTodos();
+        return Stream.of(shared, TodoService.createConcurrent(), TodoService.createCompact());
+    }
+
+    private static List<Todo> drain(BiFunction<String, Integer, Page<Todo>> query, int limit) {
+        List<Todo> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Todo> page = query.apply(cursor, limit);
+            assertTrue(page.getItems().size() <= limit);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    @DisplayName("Offset and cursor pages should concatenate to the full views")
+    void testPagesCoverViews(TodoService service) {
+        TodoFacade facade = new TodoFacade(service);
+        for (int i = 1; i <= 95; i++) service.addTodo("Task " + i, i % 3 == 0 ? "report" : "");
+        for (int id = 1; id <= 95; id += 4) service.completeTodo(id);
+        for (int id = 2; id <= 95; id += 10) service.deleteTodo(id); // leave holes in the store
+        for (int id = 5; id <= 95; id += 7) service.setPriority(id, Priority.HIGH);
+
+        assertEquals(ids(facade.getAll()), ids(drain(facade::getAllPage, 10)));
+        assertEquals(ids(facade.getPending()), ids(drain(facade::getPendingPage, 7)));
+        assertEquals(ids(facade.getCompleted()), ids(drain(facade::getCompletedPage, 4)));
+        assertEquals(ids(facade.getByPriority()), ids(drain(facade::getByPriorityPage, 6)));
+        assertEquals(ids(service.searchTodos("task 1")), ids(drain((c, n) -> facade.searchPage("task 1", c, n), 3)));
+
+        List<Todo> all = facade.getAll();
+        assertEquals(ids(all.subList(20, 30)), ids(facade.getAll(20, 10)));
+        assertEquals(ids(all.subList(90 - 9, all.size())), ids(facade.getAll(90 - 9, 50)));
+        assertTrue(facade.getAll(500, 10).isEmpty());
+        assertEquals(ids(facade.getPending().subList(5, 10)), ids(facade.getPending(5, 5)));
+        assertEquals(ids(facade.getByPriority().subList(12, 20)), ids(facade.getByPriority(12, 8)));
+
+        IndexedSearch ranked = new IndexedSearch(SearchField.ANY, Integer.MAX_VALUE);
+        List<Todo> hits = service.searchTodos("report", ranked);
+        assertEquals(ids(hits), ids(drain((c, n) -> service.searchTodosPage("report", ranked, c, n), 5)));
+        assertEquals(ids(hits.subList(3, 8)), ids(service.searchTodos("report", ranked, 3, 5)));
+    }
+
+    @Test
+    @DisplayName("Cursor should resume after concurrent inserts and deletes")
+    void testCursorSurvivesMutations() {
+        for (int i = 1; i <= 30; i++) service.addTodo("Task " + i, "");
+        Page<Todo> first = facade.getAllPage(null, 10);
+        assertEquals(IntStream.rangeClosed(1, 10).boxed().collect(Collectors.toList()), ids(first.getItems()));
+
+        service.deleteTodo(10); // the cursor's own todo
+        service.deleteTodo(11);
+        service.deleteTodo(3);
+        service.addTodo("Late", "");
+
+        Page<Todo> second = facade.getAllPage(first.getNextCursor(), 10);
+        assertEquals(IntStream.rangeClosed(12, 21).boxed().collect(Collectors.toList()), ids(second.getItems()));
+
+        service.setPriority(25, Priority.HIGH);
+        Page<Todo> urgent = facade.getByPriorityPage(null, 1);
+        assertEquals(List.of(25), ids(urgent.getItems()));
+        service.setPriority(4, Priority.HIGH); // sorts before the cursor, so it is not repeated
+        assertEquals(List.of(1, 2, 5), ids(facade.getByPriorityPage(urgent.getNextCursor(), 3).getItems()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("services")
+    @DisplayName("Pages read during concurrent adds and deletes should stay ordered and complete")
+    void testPagingDuringWrites(TodoService service) throws InterruptedException {
+        for (int i = 1; i <= 2_000; i++) service.addTodo("Task " + i, "");
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 3_000 && !done.get(); i++) {
+                Todo added = service.addTodo("Churn " + i, "");
+                if (i % 2 == 0) service.completeTodo(added.getId());
+                service.deleteTodo(added.getId() - 1_000);
+            }
+        });
+        writer.start();
+        try {
+            while (writer.isAlive()) {
+                assertOrdered(service.getAllTodos(0, 3_000));
+                assertOrdered(service.getPendingTodos(100, 500));
+                assertOrdered(service.getAllTodosPage(null, 500).getItems());
+                assertOrdered(service.searchTodos("", new TitleSearch(), 0, 500));
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+    }
+
+    private static void assertOrdered(List<Todo> page) {
+        int last = Integer.MIN_VALUE;
+        for (Todo todo : page) {
+            assertNotNull(todo);
+            assertTrue(todo.getId() > last, "ids out of order");
+            last = todo.getId();
+        }
+    }
+
+    @Test
+    @DisplayName("Bad paging arguments should be rejected")
+    void testPagingArguments() {
+        assertThrows(IllegalArgumentException.class, () -> facade.getAll(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> facade.getAll(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> facade.getAllPage("abc", 10));
+        assertThrows(IllegalArgumentException.class, () -> facade.getByPriorityPage("9:1", 10));
+        assertFalse(facade.getAllPage(null, 10).hasMore());
+    }
+}